@@ -1,5 +1,6 @@
 plugins {
     id("fabric-loom")
+    id("me.champeau.jmh")
 }
 
 version = "${property("mod.version")}+${stonecutter.current.version}"
@@ -58,6 +59,16 @@ loom {
     }
 }
 
+// Microbenchmarks in src/jmh: ./gradlew :26.2:jmh
+// The gc profiler reports gc.alloc.rate.norm (bytes allocated per call)
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+}
+
 java {
     withSourcesJar()
     toolchain {
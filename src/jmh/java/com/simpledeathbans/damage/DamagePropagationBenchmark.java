@@ -0,0 +1,62 @@
+package com.simpledeathbans.damage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ALLOW_DAMAGE listener for damage that is never shared (mobs, or any damage
+ * while Soul Link and Shared Health are off), which runs for every damage event.
+ * Both cases return before the listener's Metric timer starts, so neither is timed.
+ *
+ * - featuresOn = false: the fast path, one read of the active flag.
+ * - featuresOn = true: Soul Link / Shared Health on, damage to a non-player: the flag read
+ *   plus the instanceof ServerPlayer check.
+ *
+ * The entity is null, which takes the same non-player branch as a mob without needing a
+ * bootstrapped world. Neither case reaches the player branch (recipient lookup and
+ * sharing); that path is not covered here.
+ *
+ * Run with ./gradlew :26.2:jmh; the gc profiler's gc.alloc.rate.norm should be ~0 B/op
+ * for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DamagePropagationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean featuresOn;
+
+    private Field active;
+    private boolean previous;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        // refresh() needs a running server; set the flag it computes directly
+        active = DamagePropagationEngine.class.getDeclaredField("active");
+        active.setAccessible(true);
+        previous = active.getBoolean(null);
+        active.setBoolean(null, featuresOn);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws ReflectiveOperationException {
+        active.setBoolean(null, previous);
+    }
+
+    @Benchmark
+    public boolean allowDamage() {
+        return DamagePropagationEngine.onAllowDamage(null, null, 4.0f);
+    }
+}
@@ -1,6 +1,8 @@
 package com.simpledeathbans;
 
+import com.simpledeathbans.audit.AuditLog;
 import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.damage.DamagePropagationEngine;
 import com.simpledeathbans.data.BanDataManager;
 import com.simpledeathbans.data.PlayerDataManager;
 import com.simpledeathbans.data.SoulLinkManager;
@@ -8,20 +10,30 @@ import com.simpledeathbans.event.BlockInteractionHandler;
 import com.simpledeathbans.event.DeathEventHandler;
 import com.simpledeathbans.event.HungerShareHandler;
 import com.simpledeathbans.event.MercyCooldownHandler;
-import com.simpledeathbans.event.SharedHealthHandler;
 import com.simpledeathbans.event.SoulLinkCooldownHandler;
 import com.simpledeathbans.event.SoulLinkEventHandler;
 import com.simpledeathbans.item.ModItems;
+import com.simpledeathbans.leaderboard.LeaderboardManager;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.metrics.MetricsExporter;
+import com.simpledeathbans.metrics.ModMBeans;
+import com.simpledeathbans.metrics.TickWatchdog;
 import com.simpledeathbans.command.ModCommands;
+import com.simpledeathbans.network.ConfigField;
+import com.simpledeathbans.network.ConfigSubscribePayload;
 import com.simpledeathbans.network.ConfigSyncPayload;
+import com.simpledeathbans.network.ConfigSyncTracker;
 import com.simpledeathbans.network.SinglePlayerBanPayload;
 import com.simpledeathbans.ritual.ResurrectionRitualManager;
+import com.simpledeathbans.util.EffectBatcher;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.ChatFormatting;
@@ -38,6 +50,9 @@ public class SimpleDeathBans implements ModInitializer {
     private PlayerDataManager playerDataManager;
     private SoulLinkManager soulLinkManager;
     private ResurrectionRitualManager ritualManager;
+    private LeaderboardManager leaderboardManager;
+    private final ConfigSyncTracker configSyncTracker = new ConfigSyncTracker();
+    private MinecraftServer server;
     
     @Override
     public void onInitialize() {
@@ -67,15 +82,36 @@ public class SimpleDeathBans implements ModInitializer {
             banDataManager.load();
             playerDataManager.load();
             soulLinkManager.load();
+            
+            leaderboardManager = new LeaderboardManager(server);
+            leaderboardManager.rebuild(banDataManager, playerDataManager);
+            
+            this.server = server;
+            onConfigChanged();
+            ModMBeans.register();
+            AuditLog.start(server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT)
+                .resolve("simpledeathbans"), config);
         });
         
         ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
             LOGGER.info("Saving Simple Death Bans data...");
+            // Commit any deaths from the final tick before writing ban data
+            DeathEventHandler.flushPendingBans(server);
+            // Keep the leaderboard sidebar out of the saved scoreboard
+            if (leaderboardManager != null) leaderboardManager.clearSidebar();
             if (banDataManager != null) banDataManager.save();
             if (playerDataManager != null) playerDataManager.save();
             if (soulLinkManager != null) soulLinkManager.save();
         });
         
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            // Write out every queued audit entry (including the final tick's bans)
+            AuditLog.stop();
+            ModMBeans.unregister();
+            this.server = null;
+            onConfigChanged();
+        });
+        
         // Player connection events
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
             ServerPlayer player = handler.getPlayer();
@@ -85,6 +121,11 @@ public class SimpleDeathBans implements ModInitializer {
                 banDataManager.checkAndAnnounceReturn(player, server);
             }
             
+            // Bind the live partner reference (partner may already be online)
+            if (soulLinkManager != null) {
+                soulLinkManager.bindOnline(player);
+            }
+            
             // Assign soul partner on join if enabled
             if (config.enableSoulLink && soulLinkManager != null) {
                 SoulLinkEventHandler.onPlayerJoin(player, soulLinkManager);
@@ -94,7 +135,7 @@ public class SimpleDeathBans implements ModInitializer {
         ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
             // Clean up soul links on disconnect
             if (soulLinkManager != null) {
-                soulLinkManager.onPlayerDisconnect(handler.getPlayer().getUUID());
+                soulLinkManager.onPlayerDisconnect(handler.getPlayer());
             }
             // Cancel ritual if committed player disconnects
             if (ritualManager != null) {
@@ -102,27 +143,67 @@ public class SimpleDeathBans implements ModInitializer {
             }
             // Clean up hunger tracking
             HungerShareHandler.clearPlayer(handler.getPlayer().getUUID());
+            // Forget the config values this client had
+            configSyncTracker.onPlayerDisconnect(handler.getPlayer().getUUID());
+        });
+        
+        // Respawn replaces the ServerPlayer instance - rebind the live partner reference
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> {
+            if (soulLinkManager != null) {
+                soulLinkManager.bindOnline(newPlayer);
+            }
         });
         
         // Server tick events for mercy cooldown
+        // Check the previous tick's mod work against the tick budget
+        ServerTickEvents.START_SERVER_TICK.register(server -> TickWatchdog.onTickStart(server, config));
+        
         ServerTickEvents.END_SERVER_TICK.register(server -> {
             if (playerDataManager != null && config != null) {
+                long start = Metric.start();
                 MercyCooldownHandler.onServerTick(server);
+                Metric.TICK_MERCY.record(start);
             }
             // Check soul link cooldowns for auto-reassignment
             if (soulLinkManager != null && config != null && config.enableSoulLink) {
+                long start = Metric.start();
                 SoulLinkCooldownHandler.onServerTick(server);
+                Metric.TICK_SOUL_LINK.record(start);
+            }
+            // Time out resurrection rituals
+            if (ritualManager != null) {
+                long start = Metric.start();
+                ritualManager.tick(server);
+                Metric.TICK_RITUAL.record(start);
+            }
+            // Send coalesced config pushes
+            if (config != null) {
+                long start = Metric.start();
+                configSyncTracker.tick(server, config);
+                Metric.TICK_CONFIG_SYNC.record(start);
             }
+            // Survival times and the leaderboard sidebar
+            if (leaderboardManager != null) {
+                long start = Metric.start();
+                leaderboardManager.tick(this, server.getTickCount());
+                Metric.TICK_LEADERBOARD.record(start);
+            }
+            // Emit this tick's batched particles and lightning
+            long start = Metric.start();
+            EffectBatcher.flush(server);
+            Metric.TICK_EFFECTS.record(start);
+            // Snapshot state for the metrics exporter (once a second, when enabled)
+            MetricsExporter.tick(this, server.getTickCount());
         });
         
         // Register death event handler
         DeathEventHandler.register();
         
-        // Register soul link damage sharing
+        // Register soul link partner selection
         SoulLinkEventHandler.register();
         
-        // Register server-wide shared health
-        SharedHealthHandler.register();
+        // Register damage propagation for Soul Link and Shared Health
+        DamagePropagationEngine.register();
         
         // Register block interaction tracking for mercy cooldown
         BlockInteractionHandler.register();
@@ -154,6 +235,20 @@ public class SimpleDeathBans implements ModInitializer {
         /*PayloadTypeRegistry.playS2C().register(SinglePlayerBanPayload.ID, SinglePlayerBanPayload.CODEC);
         *///?}
         
+        // Register config screen subscriptions (client to server only)
+        //? if >=26.1 {
+        PayloadTypeRegistry.serverboundPlay().register(ConfigSubscribePayload.ID, ConfigSubscribePayload.CODEC);
+        //?} else {
+        /*PayloadTypeRegistry.playC2S().register(ConfigSubscribePayload.ID, ConfigSubscribePayload.CODEC);
+        *///?}
+        
+        // Clients with a config screen open receive config pushes
+        ServerPlayNetworking.registerGlobalReceiver(ConfigSubscribePayload.ID, (payload, context) -> {
+            ServerPlayer player = context.player();
+            context.server().execute(() ->
+                configSyncTracker.onSubscribe(player, payload.subscribe(), context.server().getTickCount()));
+        });
+        
         // Register server-side handler with permission validation
         ServerPlayNetworking.registerGlobalReceiver(ConfigSyncPayload.ID, (payload, context) -> {
             ServerPlayer player = context.player();
@@ -179,17 +274,14 @@ public class SimpleDeathBans implements ModInitializer {
                 
                 if (isOp) {
                     // Player IS an operator - apply config changes
-                    config.enableDeathBans = payload.enableDeathBans();
-                    config.baseBanMinutes = payload.baseBanMinutes();
-                    config.banMultiplierPercent = payload.banMultiplierPercent();
-                    config.maxBanTier = payload.maxBanTier();
-                    config.exponentialBanMode = payload.exponentialBanMode();
-                    config.enableGhostEcho = payload.enableGhostEcho();
+                    // Only the fields the admin changed are carried; the rest keep their current values
+                    payload.applyTo(config, ConfigField.ENABLE_SOUL_LINK, ConfigField.ENABLE_SHARED_HEALTH);
+                    configSyncTracker.onClientUpdate(player, payload);
                     
                     // MUTUAL EXCLUSIVITY: Handle Soul Link and Shared Health
                     // Compare what the user WANTS vs what is CURRENTLY set
-                    boolean wantsSoulLink = payload.enableSoulLink();
-                    boolean wantsSharedHealth = payload.enableSharedHealth();
+                    boolean wantsSoulLink = payload.getBoolean(ConfigField.ENABLE_SOUL_LINK, config.enableSoulLink);
+                    boolean wantsSharedHealth = payload.getBoolean(ConfigField.ENABLE_SHARED_HEALTH, config.enableSharedHealth);
                     boolean currentSoulLink = config.enableSoulLink;
                     boolean currentSharedHealth = config.enableSharedHealth;
                     
@@ -230,31 +322,8 @@ public class SimpleDeathBans implements ModInitializer {
                         config.enableSharedHealth = wantsSharedHealth;
                     }
                     
-                    config.soulLinkDamageSharePercent = payload.soulLinkDamageSharePercent();
-                    config.soulLinkShareHunger = payload.soulLinkShareHunger();
-                    config.soulLinkRandomPartner = payload.soulLinkRandomPartner();
-                    config.soulLinkTotemSavesPartner = payload.soulLinkTotemSavesPartner();
-                    config.soulLinkSeverCooldownMinutes = payload.soulLinkSeverCooldownMinutes();
-                    config.soulLinkSeverBanTierIncrease = payload.soulLinkSeverBanTierIncrease();
-                    config.soulLinkExPartnerCooldownHours = payload.soulLinkExPartnerCooldownHours();
-                    config.soulLinkRandomReassignCooldownHours = payload.soulLinkRandomReassignCooldownHours();
-                    config.soulLinkRandomAssignCheckIntervalMinutes = payload.soulLinkRandomAssignCheckIntervalMinutes();
-                    config.soulLinkCompassMaxUses = payload.soulLinkCompassMaxUses();
-                    config.soulLinkCompassCooldownMinutes = payload.soulLinkCompassCooldownMinutes();
-                    config.sharedHealthDamagePercent = payload.sharedHealthDamagePercent();
-                    config.sharedHealthShareHunger = payload.sharedHealthShareHunger();
-                    config.sharedHealthTotemSavesAll = payload.sharedHealthTotemSavesAll();
-                    config.enableMercyCooldown = payload.enableMercyCooldown();
-                    config.mercyPlaytimeHours = payload.mercyPlaytimeHours();
-                    config.mercyMovementBlocks = payload.mercyMovementBlocks();
-                    config.mercyBlockInteractions = payload.mercyBlockInteractions();
-                    config.mercyCheckIntervalMinutes = payload.mercyCheckIntervalMinutes();
-                    config.pvpBanMultiplierPercent = payload.pvpBanMultiplierPercent();
-                    config.pveBanMultiplierPercent = payload.pveBanMultiplierPercent();
-                    config.enableResurrectionAltar = payload.enableResurrectionAltar();
-                    config.singlePlayerEnabled = payload.singlePlayerEnabled();
-                    
                     config.save();
+                    onConfigChanged();
                     
                     // Send mutual exclusivity messages to server
                     if (soulLinkOverridden) {
@@ -303,44 +372,9 @@ public class SimpleDeathBans implements ModInitializer {
                         config.enableSharedHealth,
                         config.enableMercyCooldown);
                     
-                    // Broadcast updated config to ALL online players so they see the changes
-                    ConfigSyncPayload broadcastPayload = new ConfigSyncPayload(
-                        config.enableDeathBans,
-                        config.baseBanMinutes,
-                        config.banMultiplierPercent,
-                        config.maxBanTier,
-                        config.exponentialBanMode,
-                        config.enableGhostEcho,
-                        config.enableSoulLink,
-                        config.soulLinkDamageSharePercent,
-                        config.soulLinkShareHunger,
-                        config.soulLinkRandomPartner,
-                        config.soulLinkTotemSavesPartner,
-                        config.soulLinkSeverCooldownMinutes,
-                        config.soulLinkSeverBanTierIncrease,
-                        config.soulLinkExPartnerCooldownHours,
-                        config.soulLinkRandomReassignCooldownHours,
-                        config.soulLinkRandomAssignCheckIntervalMinutes,
-                        config.soulLinkCompassMaxUses,
-                        config.soulLinkCompassCooldownMinutes,
-                        config.enableSharedHealth,
-                        config.sharedHealthDamagePercent,
-                        config.sharedHealthShareHunger,
-                        config.sharedHealthTotemSavesAll,
-                        config.enableMercyCooldown,
-                        config.mercyPlaytimeHours,
-                        config.mercyMovementBlocks,
-                        config.mercyBlockInteractions,
-                        config.mercyCheckIntervalMinutes,
-                        config.pvpBanMultiplierPercent,
-                        config.pveBanMultiplierPercent,
-                        config.enableResurrectionAltar,
-                        config.singlePlayerEnabled
-                    );
-                    
-                    for (ServerPlayer onlinePlayer : context.server().getPlayerList().getPlayers()) {
-                        ServerPlayNetworking.send(onlinePlayer, broadcastPayload);
-                    }
+                    // Push the updated config to operators and open config screens on the next tick
+                    // (each client only receives the fields it doesn't have yet)
+                    configSyncTracker.broadcast();
                     
                     player.sendSystemMessage(
                         Component.literal("✔ Configuration saved successfully.")
@@ -369,16 +403,26 @@ public class SimpleDeathBans implements ModInitializer {
     
     public void reloadConfig() {
         config = ModConfig.load();
+        onConfigChanged();
         LOGGER.info("Config reloaded from file");
     }
     
     public void saveConfig() {
         if (config != null) {
             config.save();
+            onConfigChanged();
             LOGGER.info("Config saved to file");
         }
     }
     
+    /**
+     * Refresh state derived from the config (feature fast-path flags).
+     */
+    public void onConfigChanged() {
+        DamagePropagationEngine.refresh(config, server);
+        MetricsExporter.configure(server != null ? config : null);
+    }
+    
     public BanDataManager getBanDataManager() {
         return banDataManager;
     }
@@ -391,7 +435,15 @@ public class SimpleDeathBans implements ModInitializer {
         return soulLinkManager;
     }
     
+    public ConfigSyncTracker getConfigSyncTracker() {
+        return configSyncTracker;
+    }
+    
     public ResurrectionRitualManager getRitualManager() {
         return ritualManager;
     }
+    
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
 }
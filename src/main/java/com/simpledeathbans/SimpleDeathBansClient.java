@@ -1,5 +1,6 @@
 package com.simpledeathbans;
 
+import com.simpledeathbans.client.ClientConfigSync;
 import com.simpledeathbans.client.SinglePlayerBanHandler;
 import com.simpledeathbans.config.ModConfig;
 import com.simpledeathbans.config.ModMenuIntegration;
@@ -104,6 +105,7 @@ public class SimpleDeathBansClient implements ClientModInitializer {
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
             LOGGER.info("World disconnect detected - resetting in-memory ban state");
             SinglePlayerBanHandler.onWorldLeave();
+            ClientConfigSync.reset();
         });
         
         // Register HUD render callback to draw the ban overlay
@@ -166,41 +168,11 @@ public class SimpleDeathBansClient implements ClientModInitializer {
             context.client().execute(() -> {
                 ModConfig config = SimpleDeathBans.getInstance().getConfig();
                 if (config != null) {
-                    // Update local config with server's values
-                    config.enableDeathBans = payload.enableDeathBans();
-                    config.baseBanMinutes = payload.baseBanMinutes();
-                    config.banMultiplierPercent = payload.banMultiplierPercent();
-                    config.maxBanTier = payload.maxBanTier();
-                    config.exponentialBanMode = payload.exponentialBanMode();
-                    config.enableGhostEcho = payload.enableGhostEcho();
-                    config.enableSoulLink = payload.enableSoulLink();
-                    config.soulLinkDamageSharePercent = payload.soulLinkDamageSharePercent();
-                    config.soulLinkShareHunger = payload.soulLinkShareHunger();
-                    config.soulLinkRandomPartner = payload.soulLinkRandomPartner();
-                    config.soulLinkTotemSavesPartner = payload.soulLinkTotemSavesPartner();
-                    config.soulLinkSeverCooldownMinutes = payload.soulLinkSeverCooldownMinutes();
-                    config.soulLinkSeverBanTierIncrease = payload.soulLinkSeverBanTierIncrease();
-                    config.soulLinkExPartnerCooldownHours = payload.soulLinkExPartnerCooldownHours();
-                    config.soulLinkRandomReassignCooldownHours = payload.soulLinkRandomReassignCooldownHours();
-                    config.soulLinkRandomAssignCheckIntervalMinutes = payload.soulLinkRandomAssignCheckIntervalMinutes();
-                    config.soulLinkCompassMaxUses = payload.soulLinkCompassMaxUses();
-                    config.soulLinkCompassCooldownMinutes = payload.soulLinkCompassCooldownMinutes();
-                    config.enableSharedHealth = payload.enableSharedHealth();
-                    config.sharedHealthDamagePercent = payload.sharedHealthDamagePercent();
-                    config.sharedHealthShareHunger = payload.sharedHealthShareHunger();
-                    config.sharedHealthTotemSavesAll = payload.sharedHealthTotemSavesAll();
-                    config.enableMercyCooldown = payload.enableMercyCooldown();
-                    config.mercyPlaytimeHours = payload.mercyPlaytimeHours();
-                    config.mercyMovementBlocks = payload.mercyMovementBlocks();
-                    config.mercyBlockInteractions = payload.mercyBlockInteractions();
-                    config.mercyCheckIntervalMinutes = payload.mercyCheckIntervalMinutes();
-                    config.pvpBanMultiplierPercent = payload.pvpBanMultiplierPercent();
-                    config.pveBanMultiplierPercent = payload.pveBanMultiplierPercent();
-                    config.enableResurrectionAltar = payload.enableResurrectionAltar();
-                    config.singlePlayerEnabled = payload.singlePlayerEnabled();
+                    // Update local config with server's values (only the changed fields are sent)
+                    int applied = ClientConfigSync.onReceive(payload, config);
                     
-                    LOGGER.info("Received config update from server - enableDeathBans: {}, enableSoulLink: {}, enableSharedHealth: {}",
-                        config.enableDeathBans, config.enableSoulLink, config.enableSharedHealth);
+                    LOGGER.info("Received config update from server (revision {}, {} field(s)) - enableDeathBans: {}, enableSoulLink: {}, enableSharedHealth: {}",
+                        payload.revision(), applied, config.enableDeathBans, config.enableSoulLink, config.enableSharedHealth);
                 }
             });
         });
@@ -0,0 +1,166 @@
+package com.simpledeathbans.audit;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.metrics.Counter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous audit trail of deaths, bans, tier changes, soul links and rituals.
+ *
+ * Callers (normally the server thread) only build a small Entry and offer it to a bounded
+ * queue; a background thread serializes entries as newline-delimited JSON into rotating
+ * segments under <world>/simpledeathbans/audit (see AuditWriter).
+ *
+ * - If the queue is full the entry is dropped and counted (audit.dropped) rather than
+ *   stalling the tick.
+ * - stop() drains everything still queued before closing, so a clean shutdown loses nothing.
+ *
+ * Usage:
+ *   AuditLog.event("ban").with("player", name).with("tier_after", tier).submit();
+ */
+public final class AuditLog {
+
+    private static final int CAPACITY = 16_384;
+    private static final int BATCH_SIZE = 512;
+    private static final long STOP_TIMEOUT_MS = 10_000L;
+
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private static volatile boolean running = false;
+    private static Thread writerThread = null;
+
+    private AuditLog() {
+    }
+
+    /**
+     * One audit record: a type, the time it happened and ordered key/value fields.
+     */
+    public static final class Entry {
+        final long time = System.currentTimeMillis();
+        final String type;
+        final List<Object> fields = new ArrayList<>(16);
+
+        private Entry(String type) {
+            this.type = type;
+        }
+
+        /**
+         * Add a field. Values are written as JSON numbers, booleans, arrays (collections)
+         * or strings (anything else, via toString()).
+         */
+        public Entry with(String key, Object value) {
+            fields.add(key);
+            fields.add(value);
+            return this;
+        }
+
+        public void submit() {
+            if (!running) return;
+            if (!queue.offer(this)) {
+                Counter.AUDIT_DROPPED.increment();
+            }
+        }
+    }
+
+    public static Entry event(String type) {
+        return new Entry(type);
+    }
+
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start the writer for a world. Does nothing if auditing is disabled in the config.
+     */
+    public static synchronized void start(Path dataDir, ModConfig config) {
+        if (running || config == null || !config.auditLogEnabled) return;
+        queue.clear();
+        AuditWriter writer = new AuditWriter(dataDir.resolve("audit"),
+            config.auditLogSegmentMaxMb * 1024L * 1024L,
+            config.auditLogRotateMinutes * 60_000L);
+        running = true;
+        writerThread = new Thread(() -> run(writer), "SimpleDeathBans Audit Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        SimpleDeathBans.LOGGER.info("Audit log enabled ({})", dataDir.resolve("audit"));
+    }
+
+    /**
+     * Stop accepting entries, write out everything queued and close the segment.
+     */
+    public static synchronized void stop() {
+        if (!running) return;
+        running = false;
+        Thread thread = writerThread;
+        writerThread = null;
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            SimpleDeathBans.LOGGER.warn("Audit writer did not finish within {}ms", STOP_TIMEOUT_MS);
+        }
+    }
+
+    private static void run(AuditWriter writer) {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            writer.open();
+        } catch (IOException | RuntimeException e) {
+            SimpleDeathBans.LOGGER.error("Failed to open the audit log; auditing is disabled", e);
+            disable();
+            return;
+        }
+        try {
+            while (running || !queue.isEmpty()) {
+                Entry first = queue.poll(1, TimeUnit.SECONDS);
+                try {
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, BATCH_SIZE - 1);
+                        writer.write(batch);
+                        batch.clear();
+                    }
+                    writer.rotateIfDue();
+                } catch (IOException | RuntimeException e) {
+                    // Part of the batch may already be on disk: drop it rather than write it twice
+                    Counter.AUDIT_DROPPED.add(batch.size());
+                    SimpleDeathBans.LOGGER.error("Failed to write {} audit entries; starting a new segment", batch.size(), e);
+                    if (!writer.reopen()) {
+                        SimpleDeathBans.LOGGER.error("Failed to start a new audit segment; auditing is disabled");
+                        disable();
+                        return;
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Anything still queued (interrupted) is written best-effort
+            queue.drainTo(batch);
+            writer.writeQuietly(batch);
+            writer.close();
+        }
+    }
+
+    /**
+     * Stop accepting entries after the writer failed; whatever was queued is counted as dropped.
+     */
+    private static void disable() {
+        running = false;
+        List<Entry> lost = new ArrayList<>();
+        queue.drainTo(lost);
+        Counter.AUDIT_DROPPED.add(lost.size());
+    }
+}
@@ -0,0 +1,194 @@
+package com.simpledeathbans.audit;
+
+import com.google.gson.stream.JsonWriter;
+import com.simpledeathbans.SimpleDeathBans;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes audit entries as newline-delimited JSON segments (audit-<utc time>.ndjson).
+ *
+ * A segment is closed when it reaches the size limit or the rotation interval, then gzipped
+ * to .ndjson.gz. Uncompressed segments left behind by a crash are gzipped on open().
+ * Only used from the audit writer thread.
+ */
+final class AuditWriter {
+
+    private static final DateTimeFormatter SEGMENT_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String SUFFIX = ".ndjson";
+
+    private final Path dir;
+    private final long maxBytes;
+    private final long rotateMillis;
+
+    private Path segment = null;
+    private OutputStream out = null;
+    private long segmentBytes = 0;
+    private long segmentOpened = 0;
+
+    AuditWriter(Path dir, long maxBytes, long rotateMillis) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.rotateMillis = rotateMillis;
+    }
+
+    void open() throws IOException {
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(dir, "audit-*" + SUFFIX)) {
+            for (Path leftover : leftovers) {
+                compress(leftover);
+            }
+        }
+        openSegment();
+    }
+
+    void write(List<AuditLog.Entry> batch) throws IOException {
+        for (AuditLog.Entry entry : batch) {
+            byte[] line = toJson(entry).getBytes(StandardCharsets.UTF_8);
+            if (segmentBytes > 0 && segmentBytes + line.length > maxBytes) {
+                rotate();
+            }
+            out.write(line);
+            segmentBytes += line.length;
+        }
+        out.flush();
+    }
+
+    /**
+     * Write during shutdown / failure without throwing.
+     */
+    void writeQuietly(List<AuditLog.Entry> batch) {
+        if (batch.isEmpty() || out == null) return;
+        try {
+            write(batch);
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to write {} audit entries", batch.size(), e);
+        }
+    }
+
+    void rotateIfDue() throws IOException {
+        if (segmentBytes > 0 && System.currentTimeMillis() - segmentOpened >= rotateMillis) {
+            rotate();
+        }
+    }
+
+    void close() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to close audit segment {}", segment, e);
+        }
+        out = null;
+        if (segmentBytes > 0) {
+            compress(segment);
+        } else {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException ignored) {
+                // An empty segment is harmless
+            }
+        }
+    }
+
+    /**
+     * Close the current segment (after a failed write) and start a new one.
+     *
+     * @return false if no new segment could be opened
+     */
+    boolean reopen() {
+        close();
+        try {
+            openSegment();
+            return true;
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to open a new audit segment in {}", dir, e);
+            return false;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        long now = System.currentTimeMillis();
+        String name = "audit-" + SEGMENT_TIME.format(Instant.ofEpochMilli(now));
+        Path path = dir.resolve(name + SUFFIX);
+        for (int n = 1; Files.exists(path) || Files.exists(gzipped(path)); n++) {
+            path = dir.resolve(name + "-" + n + SUFFIX);
+        }
+        segment = path;
+        out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        segmentBytes = 0;
+        segmentOpened = now;
+    }
+
+    private static Path gzipped(Path path) {
+        return path.resolveSibling(path.getFileName() + ".gz");
+    }
+
+    private static void compress(Path path) {
+        Path target = gzipped(path);
+        try (InputStream in = Files.newInputStream(path);
+             OutputStream gz = new GZIPOutputStream(Files.newOutputStream(target))) {
+            in.transferTo(gz);
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to compress audit segment {}", path, e);
+            return;
+        }
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.warn("Failed to delete compressed audit segment {}", path, e);
+        }
+    }
+
+    private static String toJson(AuditLog.Entry entry) throws IOException {
+        StringWriter buffer = new StringWriter(128);
+        try (JsonWriter json = new JsonWriter(buffer)) {
+            json.beginObject();
+            json.name("time").value(Instant.ofEpochMilli(entry.time).toString());
+            json.name("type").value(entry.type);
+            List<Object> fields = entry.fields;
+            for (int i = 0; i + 1 < fields.size(); i += 2) {
+                json.name(String.valueOf(fields.get(i)));
+                Object value = fields.get(i + 1);
+                if (value == null) {
+                    json.nullValue();
+                } else if (value instanceof Number number) {
+                    json.value(number);
+                } else if (value instanceof Boolean bool) {
+                    json.value(bool);
+                } else if (value instanceof Collection<?> values) {
+                    json.beginArray();
+                    for (Object element : values) {
+                        json.value(String.valueOf(element));
+                    }
+                    json.endArray();
+                } else {
+                    json.value(value.toString());
+                }
+            }
+            json.endObject();
+        }
+        return buffer.append('\n').toString();
+    }
+}
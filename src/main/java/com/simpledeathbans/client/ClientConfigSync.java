@@ -0,0 +1,85 @@
+package com.simpledeathbans.client;
+
+import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.network.ConfigSubscribePayload;
+import com.simpledeathbans.network.ConfigSyncPayload;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+/**
+ * Client side of config sync: remembers the server's config revision and values so
+ * the config screens only send the fields the admin actually changed.
+ *
+ * The server only pushes config to operators and to clients that opened a config screen
+ * (subscribe()), so other players' clients receive nothing.
+ */
+public final class ClientConfigSync {
+
+    private static long serverRevision = 0;
+    private static int[] serverSnapshot = null;
+
+    private ClientConfigSync() {
+    }
+
+    /**
+     * Ask the server for config pushes while a config screen is open.
+     */
+    public static void subscribe() {
+        if (ClientPlayNetworking.canSend(ConfigSubscribePayload.ID)) {
+            ClientPlayNetworking.send(new ConfigSubscribePayload(true));
+        }
+    }
+
+    /**
+     * Stop config pushes (screen closed). Subscriptions also expire on their own.
+     */
+    public static void unsubscribe() {
+        if (ClientPlayNetworking.canSend(ConfigSubscribePayload.ID)) {
+            ClientPlayNetworking.send(new ConfigSubscribePayload(false));
+        }
+    }
+
+    /**
+     * Send the fields that differ from the server's last known values.
+     * @return false if the server does not accept config sync
+     */
+    public static boolean send(ModConfig config) {
+        if (!ClientPlayNetworking.canSend(ConfigSyncPayload.ID)) {
+            return false;
+        }
+        ConfigSyncPayload payload = ConfigSyncPayload.changes(config, serverSnapshot, serverRevision);
+        // Sent even when empty so the server still confirms the save
+        ClientPlayNetworking.send(payload);
+        if (serverSnapshot != null) {
+            payload.recordInto(serverSnapshot);
+        }
+        return true;
+    }
+
+    /**
+     * Apply an update from the server.
+     * @return the number of fields applied
+     */
+    public static int onReceive(ConfigSyncPayload payload, ModConfig config) {
+        int applied = payload.applyTo(config);
+        serverRevision = payload.revision();
+        if (serverSnapshot == null) {
+            // The first update of a session carries every field
+            serverSnapshot = ConfigSyncPayload.snapshot(config);
+        } else {
+            payload.recordInto(serverSnapshot);
+        }
+        return applied;
+    }
+
+    public static long getServerRevision() {
+        return serverRevision;
+    }
+
+    /**
+     * Forget the server's values (on disconnect).
+     */
+    public static void reset() {
+        serverRevision = 0;
+        serverSnapshot = null;
+    }
+}
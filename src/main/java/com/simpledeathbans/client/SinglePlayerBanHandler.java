@@ -3,6 +3,7 @@ package com.simpledeathbans.client;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.metrics.FlightEvents;
 import net.minecraft.client.Minecraft;
 //? if >=26.1 {
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -113,7 +114,7 @@ public class SinglePlayerBanHandler {
         try {
             Files.createDirectories(path.getParent());
             BanData data = new BanData(banEndTime, banTier, currentWorldName);
-            Files.writeString(path, GSON.toJson(data));
+            FlightEvents.writeString(path, GSON.toJson(data));
             LOGGER.info("Saved single-player ban data to {}", path);
         } catch (IOException e) {
             LOGGER.error("Failed to save single-player ban data", e);
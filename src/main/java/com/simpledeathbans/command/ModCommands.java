@@ -4,9 +4,20 @@ import com.mojang.brigadier.Command;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.data.BanHistory;
+import com.simpledeathbans.data.BanQuery;
+import com.simpledeathbans.data.PlayerFilter;
+import com.simpledeathbans.data.SoulGroup;
 import com.simpledeathbans.data.SoulLinkManager;
+import com.simpledeathbans.leaderboard.LeaderboardManager;
+import com.simpledeathbans.leaderboard.LeaderboardType;
+import com.simpledeathbans.metrics.Counter;
+import com.simpledeathbans.metrics.LatencyHistogram;
+import com.simpledeathbans.metrics.Metric;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.minecraft.commands.arguments.EntityArgument;
 //? if >=1.21.11
@@ -15,11 +26,27 @@ import net.minecraft.server.permissions.Permission;
 import net.minecraft.server.permissions.PermissionLevel;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.ChatFormatting;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Registers all admin commands for the mod.
  * All commands require Operator Level 4.
@@ -30,14 +57,27 @@ import net.minecraft.ChatFormatting;
  * - /simpledeathbans gettier <player> - Gets a player's current ban tier
  * - /simpledeathbans unban <player> - Unbans a player
  * - /simpledeathbans clearbans - Clears all bans
- * - /simpledeathbans listbans - Lists all banned players
+ * - /simpledeathbans bulk settier <filter> <tier> - Sets the tier of every matching player
+ * - /simpledeathbans bulk unban <filter> - Unbans every matching player
+ * - /simpledeathbans bulk decay <amount> - Lowers every stored tier
+ * - /simpledeathbans listbans [page] [options] - Lists banned players (sort=remaining|tier|name, tier>=N, remaining<1h)
+ * - /simpledeathbans history [player] [page] - Shows a player's past bans (or archive totals)
+ * - /simpledeathbans top <deaths|tier|survival> [page] - Shows a leaderboard
  * - /simpledeathbans soullink set <player1> <player2> - Creates a soul link
+ * - /simpledeathbans soullink group <players> - Forms a soul group (coven) of 2-8 players
  * - /simpledeathbans soullink clear <player> - Removes a soul link
  * - /simpledeathbans soullink status <player> - Shows soul link status
+ * - /simpledeathbans stats [reset] - Shows (or resets) hot-path timings and counters
  * - /sdb - Alias for /simpledeathbans
  */
 public class ModCommands {
     
+    private static final int HISTORY_PAGE_SIZE = 8;
+    private static final int TOP_PAGE_SIZE = 10;
+    private static final int LISTBANS_PAGE_SIZE = 10;
+    private static final DateTimeFormatter HISTORY_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+        .withZone(ZoneId.systemDefault());
+    
     public static void register() {
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             // Main command: /simpledeathbans
@@ -60,8 +100,40 @@ public class ModCommands {
                         .executes(ModCommands::unbanPlayerByName)))
                 .then(Commands.literal("clearbans")
                     .executes(ModCommands::clearAllBans))
+                .then(Commands.literal("bulk")
+                    .then(Commands.literal("settier")
+                        .then(Commands.argument("filter_tier", StringArgumentType.greedyString())
+                            .executes(ModCommands::bulkSetTier)))
+                    .then(Commands.literal("unban")
+                        .then(Commands.argument("filter", StringArgumentType.greedyString())
+                            .executes(ModCommands::bulkUnban)))
+                    .then(Commands.literal("decay")
+                        .then(Commands.argument("amount", IntegerArgumentType.integer(1, 100))
+                            .executes(ModCommands::bulkDecay))))
                 .then(Commands.literal("listbans")
-                    .executes(ModCommands::listBans))
+                    .executes(context -> listBans(context, 1, ""))
+                    .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                        .executes(context -> listBans(context, IntegerArgumentType.getInteger(context, "page"), ""))
+                        .then(Commands.argument("options", StringArgumentType.greedyString())
+                            .executes(context -> listBans(context, IntegerArgumentType.getInteger(context, "page"),
+                                StringArgumentType.getString(context, "options")))))
+                    // Options without a page; a leading number still parses as the page above
+                    .then(Commands.argument("options", StringArgumentType.greedyString())
+                        .executes(context -> listBans(context, 1, StringArgumentType.getString(context, "options")))))
+                .then(Commands.literal("history")
+                    .executes(ModCommands::showHistorySummary)
+                    .then(Commands.argument("player", StringArgumentType.word())
+                        .suggests(ModCommands::suggestHistoryNames)
+                        .executes(context -> showHistory(context, 1))
+                        .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                            .executes(context -> showHistory(context, IntegerArgumentType.getInteger(context, "page"))))))
+                .then(Commands.literal("top")
+                    .then(Commands.argument("board", StringArgumentType.word())
+                        .suggests((context, builder) -> SharedSuggestionProvider.suggest(
+                            Arrays.stream(LeaderboardType.values()).map(LeaderboardType::key), builder))
+                        .executes(context -> showTop(context, 1))
+                        .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                            .executes(context -> showTop(context, IntegerArgumentType.getInteger(context, "page"))))))
                 .then(Commands.literal("soullink")
                     .then(Commands.literal("toggle")
                         .executes(ModCommands::toggleSoulLink))
@@ -69,6 +141,9 @@ public class ModCommands {
                         .then(Commands.argument("player1", EntityArgument.player())
                             .then(Commands.argument("player2", EntityArgument.player())
                                 .executes(ModCommands::setSoulLink))))
+                    .then(Commands.literal("group")
+                        .then(Commands.argument("players", EntityArgument.players())
+                            .executes(ModCommands::setSoulGroup)))
                     .then(Commands.literal("clear")
                         .then(Commands.argument("player", EntityArgument.player())
                             .executes(ModCommands::clearSoulLink)))
@@ -79,7 +154,11 @@ public class ModCommands {
                     .then(Commands.literal("toggle")
                         .executes(ModCommands::toggleSharedHealth))
                     .then(Commands.literal("status")
-                        .executes(ModCommands::getSharedHealthStatus)));
+                        .executes(ModCommands::getSharedHealthStatus)))
+                .then(Commands.literal("stats")
+                    .executes(ModCommands::showStats)
+                    .then(Commands.literal("reset")
+                        .executes(ModCommands::resetStats)));
             
             dispatcher.register(mainCommand);
             
@@ -253,31 +332,124 @@ public class ModCommands {
         return Command.SINGLE_SUCCESS;
     }
     
-    private static int listBans(CommandContext<CommandSourceStack> context) {
+    private static int bulkSetTier(CommandContext<CommandSourceStack> context) {
+        BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
+        if (banManager == null) {
+            context.getSource().sendFailure(Component.literal("Ban manager not initialized"));
+            return 0;
+        }
+        
+        // Greedy "<filter...> <tier>": the tier is the last word
+        String input = StringArgumentType.getString(context, "filter_tier").trim();
+        int split = input.lastIndexOf(' ');
+        int tier;
+        PlayerFilter filter;
+        try {
+            tier = Integer.parseInt(input.substring(split + 1));
+            if (tier < 0 || tier > 100) {
+                context.getSource().sendFailure(Component.literal("Tier must be between 0 and 100"));
+                return 0;
+            }
+            filter = PlayerFilter.parse(split < 0 ? "" : input.substring(0, split));
+        } catch (NumberFormatException e) {
+            context.getSource().sendFailure(Component.literal("Usage: /sdb bulk settier <filter> <tier>"));
+            return 0;
+        } catch (IllegalArgumentException e) {
+            context.getSource().sendFailure(Component.literal(e.getMessage()));
+            return 0;
+        }
+        
+        BanDataManager.BulkResult result = banManager.bulkSetTier(filter, tier);
+        sendBulkResult(context, String.format("Set %d players to tier %d", result.changed(), tier), result);
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static int bulkUnban(CommandContext<CommandSourceStack> context) {
+        BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
+        if (banManager == null) {
+            context.getSource().sendFailure(Component.literal("Ban manager not initialized"));
+            return 0;
+        }
+        
+        PlayerFilter filter;
+        try {
+            filter = PlayerFilter.parse(StringArgumentType.getString(context, "filter"));
+        } catch (IllegalArgumentException e) {
+            context.getSource().sendFailure(Component.literal(e.getMessage()));
+            return 0;
+        }
+        
+        BanDataManager.BulkResult result = banManager.bulkUnban(filter);
+        sendBulkResult(context, String.format("Unbanned %d players", result.changed()), result);
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static int bulkDecay(CommandContext<CommandSourceStack> context) {
+        BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
+        if (banManager == null) {
+            context.getSource().sendFailure(Component.literal("Ban manager not initialized"));
+            return 0;
+        }
+        
+        int amount = IntegerArgumentType.getInteger(context, "amount");
+        BanDataManager.BulkResult result = banManager.decayTiers(amount);
+        sendBulkResult(context, String.format("Lowered %d tiers by %d", result.changed(), amount), result);
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static void sendBulkResult(CommandContext<CommandSourceStack> context, String summary,
+                                       BanDataManager.BulkResult result) {
+        String info = String.format("%s (%d matched, %.1f ms)", summary, result.matched(),
+            result.elapsedNanos() / 1_000_000.0);
+        context.getSource().sendSuccess(
+            () -> Component.literal(info)
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GREEN)),
+            true
+        );
+    }
+    
+    private static int listBans(CommandContext<CommandSourceStack> context, int page, String options) {
         BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
         if (banManager == null) {
             context.getSource().sendFailure(Component.literal("Ban manager not initialized"));
             return 0;
         }
         
-        var bannedPlayers = banManager.getAllBannedPlayers();
+        BanQuery query;
+        try {
+            query = BanQuery.parse(options);
+        } catch (IllegalArgumentException e) {
+            context.getSource().sendFailure(Component.literal(e.getMessage()));
+            return 0;
+        }
+        
+        BanDataManager.BanPage result = banManager.getBanPage(query, page - 1, LISTBANS_PAGE_SIZE);
         
-        if (bannedPlayers.isEmpty()) {
+        if (result.entries().isEmpty()) {
+            if (page > 1) {
+                String pages = result.totalPages() > 0 ? " (" + result.totalPages() + " pages)" : "";
+                context.getSource().sendFailure(Component.literal("Page " + page + " does not exist" + pages));
+                return 0;
+            }
+            String message = query.hasTierFilter() || query.hasRemainingFilter()
+                ? "No bans match those filters."
+                : "No players are currently banned.";
             context.getSource().sendSuccess(
-                () -> Component.literal("No players are currently banned.")
+                () -> Component.literal(message)
                     .withStyle(Style.EMPTY.withColor(ChatFormatting.YELLOW)),
                 false
             );
             return Command.SINGLE_SUCCESS;
         }
         
+        String position = result.totalPages() > 0 ? page + "/" + result.totalPages() : String.valueOf(page);
         context.getSource().sendSuccess(
-            () -> Component.literal("=== Banned Players ===")
+            () -> Component.literal("=== Banned Players (page " + position + ", by " + query.sort().key() + ") ===")
                 .withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD)),
             false
         );
         
-        for (BanDataManager.BanEntry entry : bannedPlayers) {
+        for (BanDataManager.BanEntry entry : result.entries()) {
             String info = String.format("• %s - Tier %d - %s remaining", 
                 entry.playerName(), 
                 entry.banTier(), 
@@ -289,9 +461,194 @@ public class ModCommands {
             );
         }
         
+        // Clickable page navigation, keeping the same options
+        if (page > 1 || result.hasNext()) {
+            MutableComponent navigation = Component.empty();
+            if (page > 1) {
+                navigation.append(pageLink("[< Prev]", page - 1, options));
+            }
+            if (page > 1 && result.hasNext()) {
+                navigation.append(Component.literal(" "));
+            }
+            if (result.hasNext()) {
+                navigation.append(pageLink("[Next >]", page + 1, options));
+            }
+            context.getSource().sendSuccess(() -> navigation, false);
+        }
+        
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static Component pageLink(String label, int page, String options) {
+        String command = ("/sdb listbans " + page + " " + options).trim();
+        return Component.literal(label).withStyle(Style.EMPTY
+            .withColor(ChatFormatting.AQUA)
+            .withClickEvent(new ClickEvent.RunCommand(command))
+            .withHoverEvent(new HoverEvent.ShowText(Component.literal("Page " + page))));
+    }
+    
+    private static CompletableFuture<Suggestions> suggestHistoryNames(CommandContext<CommandSourceStack> context,
+                                                                      SuggestionsBuilder builder) {
+        BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
+        if (banManager == null) return builder.buildFuture();
+        return SharedSuggestionProvider.suggest(banManager.getHistory().getPlayerNames(), builder);
+    }
+    
+    private static int showHistorySummary(CommandContext<CommandSourceStack> context) {
+        BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
+        if (banManager == null) {
+            context.getSource().sendFailure(Component.literal("Ban manager not initialized"));
+            return 0;
+        }
+        
+        BanHistory.ArchiveSummary summary = banManager.getHistory().getArchiveSummary();
+        context.getSource().sendSuccess(
+            () -> Component.literal("=== Ban History ===")
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD)),
+            false
+        );
+        
+        String totals = String.format("%d bans (%d PvP) across %d players, %s banned in total",
+            summary.bans(), summary.pvpBans(), summary.players(), formatMinutes(summary.totalMinutes()));
+        context.getSource().sendSuccess(
+            () -> Component.literal(totals)
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GRAY)),
+            false
+        );
+        
+        for (Map.Entry<Integer, Long> tier : summary.bansByTier().entrySet()) {
+            String info = String.format("• Tier %d: %d bans", tier.getKey(), tier.getValue());
+            context.getSource().sendSuccess(
+                () -> Component.literal(info)
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.AQUA)),
+                false
+            );
+        }
+        
         return Command.SINGLE_SUCCESS;
     }
     
+    private static int showHistory(CommandContext<CommandSourceStack> context, int page) {
+        String playerName = StringArgumentType.getString(context, "player");
+        
+        BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
+        if (banManager == null) {
+            context.getSource().sendFailure(Component.literal("Ban manager not initialized"));
+            return 0;
+        }
+        
+        BanHistory history = banManager.getHistory();
+        Optional<BanHistory.PlayerSummary> found = history.findPlayer(playerName).flatMap(history::getSummary);
+        if (found.isEmpty()) {
+            context.getSource().sendSuccess(
+                () -> Component.literal(playerName + " has never been banned")
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.YELLOW)),
+                false
+            );
+            return Command.SINGLE_SUCCESS;
+        }
+        
+        BanHistory.PlayerSummary summary = found.get();
+        int pages = (summary.bans() + HISTORY_PAGE_SIZE - 1) / HISTORY_PAGE_SIZE;
+        if (page > pages) {
+            context.getSource().sendFailure(Component.literal("Page " + page + " does not exist (" + pages + " pages)"));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(
+            () -> Component.literal("=== Ban History: " + summary.playerName() + " (page " + page + "/" + pages + ") ===")
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD)),
+            false
+        );
+        
+        String totals = String.format("%d bans (%d PvP), %s banned in total, highest tier %d",
+            summary.bans(), summary.pvpBans(), formatMinutes(summary.totalMinutes()), summary.highestTier());
+        context.getSource().sendSuccess(
+            () -> Component.literal(totals)
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.AQUA)),
+            false
+        );
+        
+        for (BanHistory.Record record : history.getPage(summary.playerId(), page - 1, HISTORY_PAGE_SIZE)) {
+            String info = String.format("• %s - Tier %d - %s%s",
+                HISTORY_TIME.format(Instant.ofEpochMilli(record.banStartTime())),
+                record.tier(),
+                formatMinutes(record.banMinutes()),
+                record.pvp() ? " - PvP" : "");
+            context.getSource().sendSuccess(
+                () -> Component.literal(info)
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.GRAY)),
+                false
+            );
+        }
+        
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static int showTop(CommandContext<CommandSourceStack> context, int page) {
+        String board = StringArgumentType.getString(context, "board");
+        LeaderboardType type = LeaderboardType.byKey(board);
+        if (type == null) {
+            context.getSource().sendFailure(Component.literal("Unknown leaderboard: " + board + " (deaths, tier, survival)"));
+            return 0;
+        }
+        
+        LeaderboardManager leaderboards = SimpleDeathBans.getInstance().getLeaderboardManager();
+        if (leaderboards == null) {
+            context.getSource().sendFailure(Component.literal("Leaderboards not initialized"));
+            return 0;
+        }
+        
+        int pages = Math.max(1, (leaderboards.size(type) + TOP_PAGE_SIZE - 1) / TOP_PAGE_SIZE);
+        if (page > pages) {
+            context.getSource().sendFailure(Component.literal("Page " + page + " does not exist (" + pages + " pages)"));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(
+            () -> Component.literal("=== " + type.title() + " (page " + page + "/" + pages + ") ===")
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD)),
+            false
+        );
+        
+        List<LeaderboardManager.Entry> entries = leaderboards.getPage(type, page - 1, TOP_PAGE_SIZE);
+        if (entries.isEmpty()) {
+            context.getSource().sendSuccess(
+                () -> Component.literal("Nobody is on this leaderboard yet.")
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.YELLOW)),
+                false
+            );
+        }
+        for (LeaderboardManager.Entry entry : entries) {
+            String info = String.format("#%d %s - %s", entry.rank(), entry.playerName(), formatScore(type, entry.score()));
+            context.getSource().sendSuccess(
+                () -> Component.literal(info)
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.GRAY)),
+                false
+            );
+        }
+        
+        // Show the caller's own position when they are a player
+        ServerPlayer self = context.getSource().getPlayer();
+        if (self != null) {
+            leaderboards.getRank(type, self.getUUID()).ifPresent(own -> context.getSource().sendSuccess(
+                () -> Component.literal("Your rank: #" + own.rank() + " (" + formatScore(type, own.score()) + ")")
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.AQUA)),
+                false
+            ));
+        }
+        
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static String formatScore(LeaderboardType type, long score) {
+        return switch (type) {
+            case DEATHS -> score + (score == 1 ? " death" : " deaths");
+            case TIER -> "Tier " + score;
+            case SURVIVAL -> formatMinutes(score / 1200L);
+        };
+    }
+    
     private static int setSoulLink(CommandContext<CommandSourceStack> context) {
         try {
             ServerPlayer player1 = EntityArgument.getPlayer(context, "player1");
@@ -321,6 +678,43 @@ public class ModCommands {
         }
     }
     
+    private static int setSoulGroup(CommandContext<CommandSourceStack> context) {
+        try {
+            Collection<ServerPlayer> players = EntityArgument.getPlayers(context, "players");
+            
+            SoulLinkManager soulLinkManager = SimpleDeathBans.getInstance().getSoulLinkManager();
+            if (soulLinkManager == null) {
+                context.getSource().sendFailure(Component.literal("Soul link manager not initialized"));
+                return 0;
+            }
+            
+            List<UUID> members = new ArrayList<>(players.size());
+            List<String> names = new ArrayList<>(players.size());
+            for (ServerPlayer player : players) {
+                members.add(player.getUUID());
+                names.add(player.getName().getString());
+            }
+            
+            if (!soulLinkManager.setGroup(members)) {
+                context.getSource().sendFailure(Component.literal(
+                    "A soul group needs between 2 and " + SoulGroup.MAX_SIZE + " players (got " + members.size() + ")"));
+                return 0;
+            }
+            
+            String memberList = String.join(", ", names);
+            context.getSource().sendSuccess(
+                () -> Component.translatable("simpledeathbans.command.soullink.group", members.size(), memberList)
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.GREEN)),
+                true
+            );
+            
+            return Command.SINGLE_SUCCESS;
+        } catch (Exception e) {
+            context.getSource().sendFailure(Component.literal("Error: " + e.getMessage()));
+            return 0;
+        }
+    }
+    
     private static int clearSoulLink(CommandContext<CommandSourceStack> context) {
         try {
             ServerPlayer player = EntityArgument.getPlayer(context, "player");
@@ -416,12 +810,17 @@ public class ModCommands {
             }
             
             String playerName = player.getName().getString();
-            var partnerOpt = soulLinkManager.getPartner(player.getUUID());
-            
-            if (partnerOpt.isPresent()) {
-                var partnerUuid = partnerOpt.get();
-                ServerPlayer partner = context.getSource().getServer().getPlayerList().getPlayer(partnerUuid);
-                String partnerName = partner != null ? partner.getName().getString() : "Unknown (Offline)";
+            var groupOpt = soulLinkManager.getGroup(player.getUUID());
+            
+            if (groupOpt.isPresent()) {
+                // Every other member of the pair / coven
+                List<String> names = new ArrayList<>();
+                for (UUID memberUuid : groupOpt.get().members()) {
+                    if (memberUuid.equals(player.getUUID())) continue;
+                    ServerPlayer member = context.getSource().getServer().getPlayerList().getPlayer(memberUuid);
+                    names.add(member != null ? member.getName().getString() : "Unknown (Offline)");
+                }
+                String partnerName = String.join(", ", names);
                 
                 context.getSource().sendSuccess(
                     () -> Component.translatable("simpledeathbans.command.soullink.status", playerName, partnerName)
@@ -521,4 +920,82 @@ public class ModCommands {
         
         return Command.SINGLE_SUCCESS;
     }
+    
+    private static int showStats(CommandContext<CommandSourceStack> context) {
+        context.getSource().sendSuccess(
+            () -> Component.literal("=== SimpleDeathBans Stats ===")
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD)),
+            false
+        );
+        
+        boolean any = false;
+        for (Metric metric : Metric.values()) {
+            LatencyHistogram.Snapshot snapshot = metric.snapshot();
+            if (snapshot.count() == 0) continue;
+            any = true;
+            String info = String.format("• %s n=%d avg=%s p50=%s p90=%s p99=%s max=%s",
+                metric.key(),
+                snapshot.count(),
+                formatNanos((long) snapshot.meanNanos()),
+                formatNanos(snapshot.percentile(50)),
+                formatNanos(snapshot.percentile(90)),
+                formatNanos(snapshot.percentile(99)),
+                formatNanos(snapshot.maxNanos()));
+            context.getSource().sendSuccess(
+                () -> Component.literal(info)
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.GRAY)),
+                false
+            );
+        }
+        if (!any) {
+            context.getSource().sendSuccess(
+                () -> Component.literal("No timings recorded yet.")
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.YELLOW)),
+                false
+            );
+        }
+        
+        for (Counter counter : Counter.values()) {
+            String info = String.format("• %s = %d", counter.key(), counter.get());
+            context.getSource().sendSuccess(
+                () -> Component.literal(info)
+                    .withStyle(Style.EMPTY.withColor(ChatFormatting.AQUA)),
+                false
+            );
+        }
+        
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    private static int resetStats(CommandContext<CommandSourceStack> context) {
+        Metric.resetAll();
+        context.getSource().sendSuccess(
+            () -> Component.literal("SimpleDeathBans stats have been reset.")
+                .withStyle(Style.EMPTY.withColor(ChatFormatting.GREEN)),
+            true
+        );
+        return Command.SINGLE_SUCCESS;
+    }
+    
+    /**
+     * Format a number of minutes as days, hours and minutes.
+     */
+    private static String formatMinutes(long totalMinutes) {
+        long days = totalMinutes / (24 * 60);
+        long hours = totalMinutes / 60 % 24;
+        long minutes = totalMinutes % 60;
+        if (days > 0) return String.format("%dd %dh %dm", days, hours, minutes);
+        if (hours > 0) return String.format("%dh %dm", hours, minutes);
+        return minutes + "m";
+    }
+    
+    /**
+     * Format a duration in nanoseconds with a readable unit (ns, µs, ms, s).
+     */
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000L) return nanos + "ns";
+        if (nanos < 1_000_000L) return String.format("%.1fµs", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L) return String.format("%.1fms", nanos / 1_000_000.0);
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
 }
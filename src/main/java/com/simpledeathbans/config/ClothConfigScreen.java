@@ -2,11 +2,10 @@ package com.simpledeathbans.config;
 
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.SimpleDeathBansClient;
-import com.simpledeathbans.network.ConfigSyncPayload;
+import com.simpledeathbans.client.ClientConfigSync;
 import me.shedaniel.clothconfig2.api.ConfigBuilder;
 import me.shedaniel.clothconfig2.api.ConfigCategory;
 import me.shedaniel.clothconfig2.api.ConfigEntryBuilder;
-import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 //? if >=1.21.11
@@ -48,6 +47,9 @@ public class ClothConfigScreen {
         }
         boolean canEdit = isSingleplayer || isOperator;
         
+        // Receive config changes made by other admins while the screen is open
+        ClientConfigSync.subscribe();
+        
         ConfigBuilder builder = ConfigBuilder.create()
                 .setParentScreen(parent)
                 .setTitle(Component.translatable("config.simpledeathbans.title"))
@@ -60,40 +62,7 @@ public class ClothConfigScreen {
                 LOGGER.info("Config saved via Cloth Config screen");
                 
                 // Send config to server for validation and sync
-                if (ClientPlayNetworking.canSend(ConfigSyncPayload.ID)) {
-                    ClientPlayNetworking.send(new ConfigSyncPayload(
-                        config.enableDeathBans,
-                        config.baseBanMinutes,
-                        config.banMultiplierPercent,
-                        config.maxBanTier,
-                        config.exponentialBanMode,
-                        config.enableGhostEcho,
-                        config.enableSoulLink,
-                        config.soulLinkDamageSharePercent,
-                        config.soulLinkShareHunger,
-                        config.soulLinkRandomPartner,
-                        config.soulLinkTotemSavesPartner,
-                        config.soulLinkSeverCooldownMinutes,
-                        config.soulLinkSeverBanTierIncrease,
-                        config.soulLinkExPartnerCooldownHours,
-                        config.soulLinkRandomReassignCooldownHours,
-                        config.soulLinkRandomAssignCheckIntervalMinutes,
-                        config.soulLinkCompassMaxUses,
-                        config.soulLinkCompassCooldownMinutes,
-                        config.enableSharedHealth,
-                        config.sharedHealthDamagePercent,
-                        config.sharedHealthShareHunger,
-                        config.sharedHealthTotemSavesAll,
-                        config.enableMercyCooldown,
-                        config.mercyPlaytimeHours,
-                        config.mercyMovementBlocks,
-                        config.mercyBlockInteractions,
-                        config.mercyCheckIntervalMinutes,
-                        config.pvpBanMultiplierPercent,
-                        config.pveBanMultiplierPercent,
-                        config.enableResurrectionAltar,
-                        config.singlePlayerEnabled
-                    ));
+                if (ClientConfigSync.send(config)) {
                     LOGGER.info("Sent config update to server");
                 }
             } else {
@@ -250,11 +219,105 @@ public class ClothConfigScreen {
                 .setTooltip(
                         Component.literal("Endgame feature to unban players."),
                         Component.literal("Requires: Netherite beacon + Resurrection Totem").withStyle(ChatFormatting.GRAY),
-                        Component.literal("ALL online players must participate!").withStyle(ChatFormatting.YELLOW),
+                        Component.literal("Every player in the ritual scope must participate!").withStyle(ChatFormatting.YELLOW),
                         Component.literal("Default: ON").withStyle(ChatFormatting.DARK_GRAY))
                 .setSaveConsumer(newValue -> { if (canEdit) config.enableResurrectionAltar = newValue; })
                 .build());
         
+        // Ritual scope (who takes part in a ritual)
+        general.addEntry(entryBuilder.startEnumSelector(
+                Component.literal("Ritual Scope"),
+                ModConfig.RitualScope.class,
+                config.resurrectionRitualScope)
+                .setDefaultValue(ModConfig.RitualScope.ALL)
+                .setTooltip(
+                        Component.literal("Which players take part in a ritual."),
+                        Component.literal("ALL: every online player").withStyle(ChatFormatting.GRAY),
+                        Component.literal("NEARBY: players within the ritual radius").withStyle(ChatFormatting.GRAY),
+                        Component.literal("TEAM: the initiator's team").withStyle(ChatFormatting.GRAY),
+                        Component.literal("DIMENSION: players in the altar's dimension").withStyle(ChatFormatting.GRAY),
+                        Component.literal("Each altar runs its own ritual").withStyle(ChatFormatting.YELLOW),
+                        Component.literal("Default: ALL").withStyle(ChatFormatting.DARK_GRAY))
+                .setSaveConsumer(newValue -> { if (canEdit) config.resurrectionRitualScope = newValue; })
+                .build());
+        
+        // Ritual radius (16-1024 blocks)
+        general.addEntry(entryBuilder.startIntField(
+                Component.literal("Ritual Radius (blocks)"),
+                config.resurrectionRitualRadius)
+                .setDefaultValue(128)
+                .setMin(16)
+                .setMax(1024)
+                .setTooltip(
+                        Component.literal("Distance from the altar for the NEARBY scope."),
+                        Component.literal("Range: 16-1024 | Default: 128").withStyle(ChatFormatting.DARK_GRAY))
+                .setSaveConsumer(newValue -> { if (canEdit) config.resurrectionRitualRadius = newValue; })
+                .build());
+        
+        // Ritual quorum percent (1-100%)
+        general.addEntry(entryBuilder.startIntField(
+                Component.literal("Ritual Quorum (%)"),
+                config.resurrectionQuorumPercent)
+                .setDefaultValue(100)
+                .setMin(1)
+                .setMax(100)
+                .setTooltip(
+                        Component.literal("Share of participants that must commit."),
+                        Component.literal("100% = everyone in the ritual scope").withStyle(ChatFormatting.GRAY),
+                        Component.literal("Range: 1-100% | Default: 100%").withStyle(ChatFormatting.DARK_GRAY))
+                .setSaveConsumer(newValue -> { if (canEdit) config.resurrectionQuorumPercent = newValue; })
+                .build());
+        
+        // Ritual quorum count (0 = off)
+        general.addEntry(entryBuilder.startIntField(
+                Component.literal("Ritual Quorum (players)"),
+                config.resurrectionQuorumCount)
+                .setDefaultValue(0)
+                .setMin(0)
+                .setMax(500)
+                .setTooltip(
+                        Component.literal("Fixed number of commitments needed."),
+                        Component.literal("Overrides the percent when set").withStyle(ChatFormatting.GRAY),
+                        Component.literal("Capped at the number of participants").withStyle(ChatFormatting.GRAY),
+                        Component.literal("Range: 0-500 | Default: 0 (off)").withStyle(ChatFormatting.DARK_GRAY))
+                .setSaveConsumer(newValue -> { if (canEdit) config.resurrectionQuorumCount = newValue; })
+                .build());
+        
+        // --- Leaderboards Header ---
+        general.addEntry(entryBuilder.startTextDescription(
+                Component.literal("═══ Leaderboards ═══").withStyle(ChatFormatting.GOLD))
+                .build());
+        
+        // Leaderboard shown on the sidebar
+        general.addEntry(entryBuilder.startEnumSelector(
+                Component.literal("Leaderboard Sidebar"),
+                ModConfig.LeaderboardSidebar.class,
+                config.leaderboardSidebar)
+                .setDefaultValue(ModConfig.LeaderboardSidebar.OFF)
+                .setTooltip(
+                        Component.literal("Show a leaderboard on the scoreboard sidebar."),
+                        Component.literal("DEATHS: most bans received").withStyle(ChatFormatting.GRAY),
+                        Component.literal("TIER: highest current ban tier").withStyle(ChatFormatting.GRAY),
+                        Component.literal("SURVIVAL: playtime since last death (minutes)").withStyle(ChatFormatting.GRAY),
+                        Component.literal("All boards: /sdb top <deaths|tier|survival>").withStyle(ChatFormatting.YELLOW),
+                        Component.literal("Default: OFF").withStyle(ChatFormatting.DARK_GRAY))
+                .setSaveConsumer(newValue -> { if (canEdit) config.leaderboardSidebar = newValue; })
+                .build());
+        
+        // Sidebar refresh interval (1-300 seconds)
+        general.addEntry(entryBuilder.startIntField(
+                Component.literal("Sidebar Refresh (seconds)"),
+                config.leaderboardSidebarRefreshSeconds)
+                .setDefaultValue(10)
+                .setMin(1)
+                .setMax(300)
+                .setTooltip(
+                        Component.literal("How often the sidebar is updated."),
+                        Component.literal("Only changed lines are sent").withStyle(ChatFormatting.GRAY),
+                        Component.literal("Range: 1-300 | Default: 10").withStyle(ChatFormatting.DARK_GRAY))
+                .setSaveConsumer(newValue -> { if (canEdit) config.leaderboardSidebarRefreshSeconds = newValue; })
+                .build());
+        
         // --- Single-Player Settings Header ---
         general.addEntry(entryBuilder.startTextDescription(
                 Component.literal("═══ Single-Player Settings ═══").withStyle(ChatFormatting.GOLD))
@@ -429,21 +492,6 @@ public class ClothConfigScreen {
                 .setSaveConsumer(newValue -> { if (canEdit) config.soulLinkRandomReassignCooldownHours = newValue; })
                 .build());
         
-        // Random Assign Check Interval (1-1440 min)
-        soulLinkHealth.addEntry(entryBuilder.startIntField(
-                Component.literal("Random Assign Check Interval (min)"),
-                config.soulLinkRandomAssignCheckIntervalMinutes)
-                .setDefaultValue(60)
-                .setMin(1)
-                .setMax(1440)
-                .setTooltip(
-                        Component.literal("How often the server checks for unlinked players."),
-                        Component.literal("Lower = faster pairing, more server load.").withStyle(ChatFormatting.GRAY),
-                        Component.literal("1440 min = 24 hours maximum").withStyle(ChatFormatting.GRAY),
-                        Component.literal("Range: 1-1440 | Default: 60").withStyle(ChatFormatting.DARK_GRAY))
-                .setSaveConsumer(newValue -> { if (canEdit) config.soulLinkRandomAssignCheckIntervalMinutes = newValue; })
-                .build());
-        
         // --- Soul Compass Settings ---
         soulLinkHealth.addEntry(entryBuilder.startTextDescription(
                 Component.literal("═══ Soul Compass Settings ═══").withStyle(ChatFormatting.GOLD))
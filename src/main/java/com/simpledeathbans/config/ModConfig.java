@@ -3,6 +3,8 @@ package com.simpledeathbans.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
 import net.fabricmc.loader.api.FabricLoader;
 
 import java.io.IOException;
@@ -35,7 +37,6 @@ public class ModConfig {
     public int soulLinkSeverBanTierIncrease = 1; // Ban tier increase when severing a link
     public int soulLinkExPartnerCooldownHours = 24; // Hours before can re-pair with same ex-partner
     public int soulLinkRandomReassignCooldownHours = 12; // Hours before system randomly assigns after sever cooldown ends
-    public int soulLinkRandomAssignCheckIntervalMinutes = 60; // Minutes between random partner assignment checks (1-1440, default 60 = 1 hour)
     
     // Soul Compass Settings (Soul Link Totem feature)
     public int soulLinkCompassMaxUses = 10; // Max uses per totem
@@ -63,11 +64,62 @@ public class ModConfig {
     
     // Resurrection Altar Settings
     public boolean enableResurrectionAltar = true;
+    public RitualScope resurrectionRitualScope = RitualScope.ALL; // Who takes part in a ritual
+    public int resurrectionRitualRadius = 128; // Blocks around the altar (NEARBY scope)
+    public int resurrectionQuorumPercent = 100; // Share of participants that must commit (1-100)
+    public int resurrectionQuorumCount = 0; // Fixed number of commitments needed (0 = use percent)
+    
+    // Leaderboard Settings
+    public LeaderboardSidebar leaderboardSidebar = LeaderboardSidebar.OFF; // Board shown on the scoreboard sidebar
+    public int leaderboardSidebarRefreshSeconds = 10; // Seconds between sidebar updates
+    
+    // Metrics Settings (server-side only, edit the config file)
+    public boolean metricsExporterEnabled = false; // Serve OpenMetrics on http://127.0.0.1:<port>/metrics
+    public int metricsExporterPort = 9464;
+    public String metricsFileDropPath = ""; // Write OpenMetrics text to this file periodically ("" = off)
+    public int metricsFileDropIntervalSeconds = 15;
+    public int tickBudgetMillis = 10; // Warn when the mod's work in one tick exceeds this (0 = off)
+    
+    // Audit Log Settings (server-side only, edit the config file)
+    public boolean auditLogEnabled = true; // NDJSON trail in <world>/simpledeathbans/audit
+    public int auditLogSegmentMaxMb = 16; // Start a new segment at this size
+    public int auditLogRotateMinutes = 60; // Start a new segment after this long
+    
+    /**
+     * Which players take part in a resurrection ritual.
+     * Each altar runs its own ritual, so with a scope other than ALL several rituals
+     * can run at once in different places.
+     */
+    public enum RitualScope {
+        ALL,       // Every online player
+        NEARBY,    // Players within resurrectionRitualRadius blocks of the altar
+        TEAM,      // Players on the initiator's scoreboard team
+        DIMENSION  // Players in the altar's dimension
+    }
+    
+    /**
+     * Leaderboard shown on the scoreboard sidebar (see /sdb top).
+     */
+    public enum LeaderboardSidebar {
+        OFF,
+        DEATHS,   // Most deaths (bans received)
+        TIER,     // Highest current ban tier
+        SURVIVAL  // Longest playtime since last death
+    }
     
     // Transient fields (not saved)
     private transient boolean dirty = false;
     
     public static ModConfig load() {
+        long start = Metric.start();
+        try {
+            return readConfig();
+        } finally {
+            Metric.CONFIG_LOAD.record(start);
+        }
+    }
+    
+    private static ModConfig readConfig() {
         if (Files.exists(CONFIG_PATH)) {
             try {
                 String json = Files.readString(CONFIG_PATH);
@@ -100,7 +152,6 @@ public class ModConfig {
         soulLinkSeverBanTierIncrease = Math.max(0, Math.min(10, soulLinkSeverBanTierIncrease));
         soulLinkExPartnerCooldownHours = Math.max(0, Math.min(168, soulLinkExPartnerCooldownHours));
         soulLinkRandomReassignCooldownHours = Math.max(0, Math.min(72, soulLinkRandomReassignCooldownHours));
-        soulLinkRandomAssignCheckIntervalMinutes = Math.max(1, Math.min(1440, soulLinkRandomAssignCheckIntervalMinutes));
         soulLinkCompassMaxUses = Math.max(1, Math.min(100, soulLinkCompassMaxUses));
         soulLinkCompassCooldownMinutes = Math.max(0, Math.min(60, soulLinkCompassCooldownMinutes));
         sharedHealthDamagePercent = Math.max(0, Math.min(200, sharedHealthDamagePercent));
@@ -110,12 +161,33 @@ public class ModConfig {
         mercyCheckIntervalMinutes = Math.max(1, Math.min(60, mercyCheckIntervalMinutes));
         pvpBanMultiplierPercent = Math.max(0, Math.min(500, pvpBanMultiplierPercent));
         pveBanMultiplierPercent = Math.max(0, Math.min(500, pveBanMultiplierPercent));
+        if (resurrectionRitualScope == null) resurrectionRitualScope = RitualScope.ALL;
+        resurrectionRitualRadius = Math.max(16, Math.min(1024, resurrectionRitualRadius));
+        resurrectionQuorumPercent = Math.max(1, Math.min(100, resurrectionQuorumPercent));
+        resurrectionQuorumCount = Math.max(0, Math.min(500, resurrectionQuorumCount));
+        if (leaderboardSidebar == null) leaderboardSidebar = LeaderboardSidebar.OFF;
+        leaderboardSidebarRefreshSeconds = Math.max(1, Math.min(300, leaderboardSidebarRefreshSeconds));
+        metricsExporterPort = Math.max(1024, Math.min(65535, metricsExporterPort));
+        if (metricsFileDropPath == null) metricsFileDropPath = "";
+        metricsFileDropIntervalSeconds = Math.max(5, Math.min(3600, metricsFileDropIntervalSeconds));
+        tickBudgetMillis = Math.max(0, Math.min(1000, tickBudgetMillis));
+        auditLogSegmentMaxMb = Math.max(1, Math.min(1024, auditLogSegmentMaxMb));
+        auditLogRotateMinutes = Math.max(1, Math.min(10080, auditLogRotateMinutes));
     }
     
     public void save() {
+        long start = Metric.start();
+        try {
+            writeConfig();
+        } finally {
+            Metric.CONFIG_SAVE.record(start);
+        }
+    }
+    
+    private void writeConfig() {
         try {
             Files.createDirectories(CONFIG_PATH.getParent());
-            Files.writeString(CONFIG_PATH, GSON.toJson(this));
+            FlightEvents.writeString(CONFIG_PATH, GSON.toJson(this));
             dirty = false;
             SimpleDeathBans.LOGGER.info("Configuration saved to {}", CONFIG_PATH);
         } catch (IOException e) {
@@ -1,8 +1,7 @@
 package com.simpledeathbans.config;
 
 import com.simpledeathbans.SimpleDeathBans;
-import com.simpledeathbans.network.ConfigSyncPayload;
-import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import com.simpledeathbans.client.ClientConfigSync;
 import net.minecraft.client.Minecraft;
 import com.simpledeathbans.compat.ScreenCompat;
 //? if >=26.1 {
@@ -89,6 +88,14 @@ public class SimpleFallbackConfigScreen extends Screen {
     
     // Widgets - Altar
     private Button altarToggle;
+    private Button ritualScopeToggle;
+    private IntSlider ritualRadiusSlider;
+    private IntSlider quorumPercentSlider;
+    private IntSlider quorumCountSlider;
+    
+    // Widgets - Leaderboards
+    private Button leaderboardSidebarToggle;
+    private IntSlider sidebarRefreshSlider;
     
     // Footer buttons
     private final List<AbstractWidget> footerButtons = new ArrayList<>();
@@ -119,6 +126,9 @@ public class SimpleFallbackConfigScreen extends Screen {
         this.isOperator = op;
         this.canEdit = isSingleplayer || isOperator;
         
+        // Receive config changes made by other admins while the screen is open
+        ClientConfigSync.subscribe();
+        
         LOGGER.info("Opening fallback config screen - canEdit: {}, isSingleplayer: {}, isOperator: {}", 
             canEdit, isSingleplayer, isOperator);
     }
@@ -566,30 +576,6 @@ public class SimpleFallbackConfigScreen extends Screen {
             Component.literal("Range: 0-72 | Default: 12").withStyle(ChatFormatting.DARK_GRAY));
         y += ROW_HEIGHT;
         
-        // Random Assign Check Interval (minutes)
-        IntSlider randomAssignCheckSlider = new IntSlider(widgetX, y, WIDGET_WIDTH, 20,
-            getIntervalText(config.soulLinkRandomAssignCheckIntervalMinutes),
-            config.soulLinkRandomAssignCheckIntervalMinutes, 1, 1440) {
-            @Override
-            protected void updateMessage() {
-                setMessage(getIntervalText(getValue()));
-            }
-            @Override
-            protected void applyValue() {
-                if (canEdit) config.soulLinkRandomAssignCheckIntervalMinutes = getValue();
-            }
-        };
-        addScrollableWidget(randomAssignCheckSlider, y);
-        addResetButton(resetX, y, () -> {
-            randomAssignCheckSlider.setValue(60, 1, 1440);
-            config.soulLinkRandomAssignCheckIntervalMinutes = 60;
-        });
-        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
-            Component.literal("How often the server checks for unlinked players."),
-            Component.literal("Lower = faster pairing, more server load.").withStyle(ChatFormatting.GRAY),
-            Component.literal("Range: 1-1440 | Default: 60").withStyle(ChatFormatting.DARK_GRAY));
-        y += ROW_HEIGHT;
-        
         // ============================================
         // SECTION: Soul Compass Settings
         // ============================================
@@ -895,10 +881,159 @@ public class SimpleFallbackConfigScreen extends Screen {
         addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
             Component.literal("Endgame feature to unban players."),
             Component.literal("Requires: Netherite beacon + Resurrection Totem").withStyle(ChatFormatting.GRAY),
-            Component.literal("ALL online players must participate!").withStyle(ChatFormatting.YELLOW),
+            Component.literal("Every player in the ritual scope must participate!").withStyle(ChatFormatting.YELLOW),
             Component.literal("Default: ON").withStyle(ChatFormatting.DARK_GRAY));
         y += ROW_HEIGHT;
         
+        // Ritual Scope (cycles ALL -> NEARBY -> TEAM -> DIMENSION)
+        ritualScopeToggle = Button.builder(
+            Component.literal("Ritual Scope: " + config.resurrectionRitualScope),
+            button -> {
+                if (canEdit) {
+                    ModConfig.RitualScope[] scopes = ModConfig.RitualScope.values();
+                    config.resurrectionRitualScope = scopes[(config.resurrectionRitualScope.ordinal() + 1) % scopes.length];
+                    button.setMessage(Component.literal("Ritual Scope: " + config.resurrectionRitualScope));
+                } else {
+                    showPermissionDenied();
+                }
+            }
+        ).bounds(widgetX, y, WIDGET_WIDTH, 20).build();
+        addScrollableWidget(ritualScopeToggle, y);
+        addResetButton(resetX, y, () -> {
+            config.resurrectionRitualScope = ModConfig.RitualScope.ALL;
+            ritualScopeToggle.setMessage(Component.literal("Ritual Scope: ALL"));
+        });
+        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
+            Component.literal("Which players take part in a ritual."),
+            Component.literal("ALL / NEARBY (radius) / TEAM / DIMENSION").withStyle(ChatFormatting.GRAY),
+            Component.literal("Each altar runs its own ritual").withStyle(ChatFormatting.YELLOW),
+            Component.literal("Default: ALL").withStyle(ChatFormatting.DARK_GRAY));
+        y += ROW_HEIGHT;
+        
+        // Ritual Radius
+        ritualRadiusSlider = new IntSlider(widgetX, y, WIDGET_WIDTH, 20,
+            Component.literal("Ritual Radius: " + config.resurrectionRitualRadius + " blocks"),
+            config.resurrectionRitualRadius, 16, 1024) {
+            @Override
+            protected void updateMessage() {
+                setMessage(Component.literal("Ritual Radius: " + getValue() + " blocks"));
+            }
+            @Override
+            protected void applyValue() {
+                if (canEdit) config.resurrectionRitualRadius = getValue();
+            }
+        };
+        addScrollableWidget(ritualRadiusSlider, y);
+        addResetButton(resetX, y, () -> {
+            ritualRadiusSlider.setValue(128, 16, 1024);
+            config.resurrectionRitualRadius = 128;
+        });
+        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
+            Component.literal("Distance from the altar for the NEARBY scope."),
+            Component.literal("Range: 16-1024 | Default: 128").withStyle(ChatFormatting.DARK_GRAY));
+        y += ROW_HEIGHT;
+        
+        // Ritual Quorum Percent
+        quorumPercentSlider = new IntSlider(widgetX, y, WIDGET_WIDTH, 20,
+            Component.literal("Ritual Quorum: " + config.resurrectionQuorumPercent + "%"),
+            config.resurrectionQuorumPercent, 1, 100) {
+            @Override
+            protected void updateMessage() {
+                setMessage(Component.literal("Ritual Quorum: " + getValue() + "%"));
+            }
+            @Override
+            protected void applyValue() {
+                if (canEdit) config.resurrectionQuorumPercent = getValue();
+            }
+        };
+        addScrollableWidget(quorumPercentSlider, y);
+        addResetButton(resetX, y, () -> {
+            quorumPercentSlider.setValue(100, 1, 100);
+            config.resurrectionQuorumPercent = 100;
+        });
+        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
+            Component.literal("Share of participants that must commit."),
+            Component.literal("100% = everyone in the ritual scope").withStyle(ChatFormatting.GRAY),
+            Component.literal("Range: 1-100% | Default: 100%").withStyle(ChatFormatting.DARK_GRAY));
+        y += ROW_HEIGHT;
+        
+        // Ritual Quorum Count
+        quorumCountSlider = new IntSlider(widgetX, y, WIDGET_WIDTH, 20,
+            Component.literal(quorumCountLabel(config.resurrectionQuorumCount)),
+            config.resurrectionQuorumCount, 0, 500) {
+            @Override
+            protected void updateMessage() {
+                setMessage(Component.literal(quorumCountLabel(getValue())));
+            }
+            @Override
+            protected void applyValue() {
+                if (canEdit) config.resurrectionQuorumCount = getValue();
+            }
+        };
+        addScrollableWidget(quorumCountSlider, y);
+        addResetButton(resetX, y, () -> {
+            quorumCountSlider.setValue(0, 0, 500);
+            config.resurrectionQuorumCount = 0;
+        });
+        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
+            Component.literal("Fixed number of commitments needed."),
+            Component.literal("Overrides the percent when set").withStyle(ChatFormatting.GRAY),
+            Component.literal("Range: 0-500 | Default: 0 (off)").withStyle(ChatFormatting.DARK_GRAY));
+        y += ROW_HEIGHT;
+        
+        // ============================================
+        // SECTION: Leaderboards
+        // ============================================
+        y += ROW_HEIGHT / 2;
+        
+        // Leaderboard Sidebar (cycles OFF -> DEATHS -> TIER -> SURVIVAL)
+        leaderboardSidebarToggle = Button.builder(
+            Component.literal("Leaderboard Sidebar: " + config.leaderboardSidebar),
+            button -> {
+                if (canEdit) {
+                    ModConfig.LeaderboardSidebar[] boards = ModConfig.LeaderboardSidebar.values();
+                    config.leaderboardSidebar = boards[(config.leaderboardSidebar.ordinal() + 1) % boards.length];
+                    button.setMessage(Component.literal("Leaderboard Sidebar: " + config.leaderboardSidebar));
+                } else {
+                    showPermissionDenied();
+                }
+            }
+        ).bounds(widgetX, y, WIDGET_WIDTH, 20).build();
+        addScrollableWidget(leaderboardSidebarToggle, y);
+        addResetButton(resetX, y, () -> {
+            config.leaderboardSidebar = ModConfig.LeaderboardSidebar.OFF;
+            leaderboardSidebarToggle.setMessage(Component.literal("Leaderboard Sidebar: OFF"));
+        });
+        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
+            Component.literal("Show a leaderboard on the scoreboard sidebar."),
+            Component.literal("DEATHS / TIER / SURVIVAL (minutes since death)").withStyle(ChatFormatting.GRAY),
+            Component.literal("All boards: /sdb top <deaths|tier|survival>").withStyle(ChatFormatting.YELLOW),
+            Component.literal("Default: OFF").withStyle(ChatFormatting.DARK_GRAY));
+        y += ROW_HEIGHT;
+        
+        // Sidebar Refresh
+        sidebarRefreshSlider = new IntSlider(widgetX, y, WIDGET_WIDTH, 20,
+            Component.literal("Sidebar Refresh: " + config.leaderboardSidebarRefreshSeconds + "s"),
+            config.leaderboardSidebarRefreshSeconds, 1, 300) {
+            @Override
+            protected void updateMessage() {
+                setMessage(Component.literal("Sidebar Refresh: " + getValue() + "s"));
+            }
+            @Override
+            protected void applyValue() {
+                if (canEdit) config.leaderboardSidebarRefreshSeconds = getValue();
+            }
+        };
+        addScrollableWidget(sidebarRefreshSlider, y);
+        addResetButton(resetX, y, () -> {
+            sidebarRefreshSlider.setValue(10, 1, 300);
+            config.leaderboardSidebarRefreshSeconds = 10;
+        });
+        addTooltip(widgetX, y, WIDGET_WIDTH + RESET_BTN_WIDTH + SPACING, 20,
+            Component.literal("How often the sidebar is updated."),
+            Component.literal("Range: 1-300 | Default: 10").withStyle(ChatFormatting.DARK_GRAY));
+        y += ROW_HEIGHT;
+        
         // Calculate content height and max scroll
         contentHeight = y + ROW_HEIGHT;
         int viewportHeight = this.height - HEADER_HEIGHT - FOOTER_HEIGHT;
@@ -970,16 +1105,8 @@ public class SimpleFallbackConfigScreen extends Screen {
         return Component.literal("Max Ban Tier: " + value);
     }
     
-    private Component getIntervalText(int minutes) {
-        if (minutes >= 60) {
-            int hours = minutes / 60;
-            int mins = minutes % 60;
-            if (mins > 0) {
-                return Component.literal("Check Interval: " + hours + "h " + mins + "m");
-            }
-            return Component.literal("Check Interval: " + hours + " hr");
-        }
-        return Component.literal("Check Interval: " + minutes + " min");
+    private static String quorumCountLabel(int count) {
+        return count == 0 ? "Ritual Quorum Count: Off" : "Ritual Quorum Count: " + count + " players";
     }
     
     private void showPermissionDenied() {
@@ -1004,40 +1131,7 @@ public class SimpleFallbackConfigScreen extends Screen {
                 config.baseBanMinutes, config.maxBanTier, config.enableSoulLink);
             
             // Send config to server
-            if (ClientPlayNetworking.canSend(ConfigSyncPayload.ID)) {
-                ClientPlayNetworking.send(new ConfigSyncPayload(
-                    config.enableDeathBans,
-                    config.baseBanMinutes,
-                    config.banMultiplierPercent,
-                    config.maxBanTier,
-                    config.exponentialBanMode,
-                    config.enableGhostEcho,
-                    config.enableSoulLink,
-                    config.soulLinkDamageSharePercent,
-                    config.soulLinkShareHunger,
-                    config.soulLinkRandomPartner,
-                    config.soulLinkTotemSavesPartner,
-                    config.soulLinkSeverCooldownMinutes,
-                    config.soulLinkSeverBanTierIncrease,
-                    config.soulLinkExPartnerCooldownHours,
-                    config.soulLinkRandomReassignCooldownHours,
-                    config.soulLinkRandomAssignCheckIntervalMinutes,
-                    config.soulLinkCompassMaxUses,
-                    config.soulLinkCompassCooldownMinutes,
-                    config.enableSharedHealth,
-                    config.sharedHealthDamagePercent,
-                    config.sharedHealthShareHunger,
-                    config.sharedHealthTotemSavesAll,
-                    config.enableMercyCooldown,
-                    config.mercyPlaytimeHours,
-                    config.mercyMovementBlocks,
-                    config.mercyBlockInteractions,
-                    config.mercyCheckIntervalMinutes,
-                    config.pvpBanMultiplierPercent,
-                    config.pveBanMultiplierPercent,
-                    config.enableResurrectionAltar,
-                    config.singlePlayerEnabled
-                ));
+            if (ClientConfigSync.send(config)) {
                 LOGGER.info("Sent config update to server");
             }
         } else {
@@ -1048,6 +1142,7 @@ public class SimpleFallbackConfigScreen extends Screen {
     
     @Override
     public void onClose() {
+        ClientConfigSync.unsubscribe();
         ScreenCompat.open(Minecraft.getInstance(), parent);
     }
     
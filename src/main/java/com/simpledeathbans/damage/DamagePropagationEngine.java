@@ -0,0 +1,199 @@
+package com.simpledeathbans.damage;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.data.SoulLinkManager;
+import com.simpledeathbans.metrics.Counter;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.metrics.TickWatchdog;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Single damage propagation engine for Soul Link and Shared Health.
+ *
+ * For every damage event on a player the engine resolves the complete recipient set in
+ * one pass (the soul partner, or every other player in the Shared Health pool) with the
+ * configured share percentage, then applies the damage to each recipient exactly once.
+ * Propagated damage uses a {@link PropagatedDamageSource}, which the engine and the
+ * mixins recognize and never propagate again - so no global reentrancy tracking is needed
+ * and the cost of an event is proportional to its number of recipients.
+ *
+ * SHARED HEALTH FLOW:
+ * - Only NON-LETHAL damage is shared to the pool
+ * - LETHAL damage triggers the Death Pact in SharedHealthMixin
+ *
+ * SOUL LINK FLOW:
+ * - Damage is shared to the online partner (lethal or not), read from the live binding
+ * - LivingEntityMixin handles totem saves when shared damage is lethal
+ *
+ * Shared Health and Soul Link are mutually exclusive; Shared Health wins if both are on.
+ *
+ * FAST PATH:
+ * ALLOW_DAMAGE fires for every living entity on the server, including mob farms. Whether
+ * any propagation can happen at all is precomputed into a single volatile flag that is
+ * refreshed on config changes, so with both features off the listener returns after one
+ * field read without touching the config, the mod instance or the entity.
+ */
+public final class DamagePropagationEngine {
+
+    /**
+     * A player receiving propagated damage and the amount they receive.
+     */
+    public record Recipient(ServerPlayer player, float amount) {}
+
+    // True when Soul Link or Shared Health is on in a multiplayer server (see refresh)
+    private static volatile boolean active = false;
+
+    private DamagePropagationEngine() {}
+
+    public static void register() {
+        ServerLivingEntityEvents.ALLOW_DAMAGE.register(DamagePropagationEngine::onAllowDamage);
+    }
+
+    /**
+     * Recompute the fast-path flag. Called whenever the config is loaded, saved or synced,
+     * and when the server starts or stops.
+     */
+    public static void refresh(ModConfig config, MinecraftServer server) {
+        active = config != null
+            && (config.enableSoulLink || config.enableSharedHealth)
+            && server != null
+            && !server.isSingleplayer(); // SINGLE-PLAYER: Nobody to share with
+    }
+
+    /**
+     * Whether any damage propagation can currently happen.
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    // Package-private for DamagePropagationBenchmark (src/jmh)
+    static boolean onAllowDamage(LivingEntity entity, DamageSource source, float amount) {
+        // Fast path: features off (or single-player) - nothing to share
+        if (!active) {
+            return true;
+        }
+
+        if (!(entity instanceof ServerPlayer player)) {
+            return true; // Allow damage for non-players
+        }
+
+        // Only the player path is timed, so untimed damage stays as cheap as the checks above
+        long start = Metric.start();
+        try {
+            return allowDamage(player, source, amount);
+        } finally {
+            Metric.ALLOW_DAMAGE.record(start);
+        }
+    }
+    
+    private static boolean allowDamage(ServerPlayer player, DamageSource source, float amount) {
+        // Damage created by the engine (or Death Pact / Soul Sever) is never shared again
+        if (source instanceof PropagatedDamageSource) {
+            return true;
+        }
+
+        SimpleDeathBans mod = SimpleDeathBans.getInstance();
+        if (mod == null) return true;
+
+        ModConfig config = mod.getConfig();
+        if (config == null) return true;
+
+        FlightEvents.DamageShare event = new FlightEvents.DamageShare();
+        event.begin();
+        List<Recipient> recipients = computeRecipients(player, amount, config, mod.getSoulLinkManager());
+        Counter.DAMAGE_SHARED.add(recipients.size());
+        TickWatchdog.involve(Metric.ALLOW_DAMAGE, recipients.size());
+        apply(recipients);
+        if (!recipients.isEmpty() && event.shouldCommit()) {
+            event.source = player.getName().getString();
+            event.damageType = source.getMsgId();
+            event.amount = amount;
+            event.recipients = recipients.size();
+            event.commit();
+        }
+
+        return true; // Allow original damage
+    }
+
+    /**
+     * Resolve every player that should receive a share of the given damage.
+     * Each player appears at most once.
+     */
+    public static List<Recipient> computeRecipients(ServerPlayer source, float amount, ModConfig config,
+                                                    SoulLinkManager soulLinkManager) {
+        // Shared Health takes priority (mutual exclusivity)
+        if (config.enableSharedHealth) {
+            // Lethal damage is handled by the Death Pact in SharedHealthMixin
+            if (amount >= source.getHealth()) {
+                return List.of();
+            }
+            // sharedHealthDamagePercent: 100 = 100% = 1:1 ratio
+            float sharedDamage = (float) (amount * config.sharedHealthDamagePercent / 100.0);
+            if (sharedDamage <= 0) return List.of();
+
+            MinecraftServer server = ((ServerLevel) source.level()).getServer();
+            Collection<ServerPlayer> pool = server.getPlayerList().getPlayers();
+            List<Recipient> recipients = new ArrayList<>(pool.size());
+            for (ServerPlayer member : pool) {
+                if (member != source && member.isAlive()) {
+                    recipients.add(new Recipient(member, sharedDamage));
+                }
+            }
+            return recipients;
+        }
+
+        if (config.enableSoulLink && soulLinkManager != null) {
+            // soulLinkDamageSharePercent: 100 = 100% of damage shared (1:1 ratio)
+            float sharedDamage = (float) (amount * config.soulLinkDamageSharePercent / 100.0);
+            if (sharedDamage <= 0) return List.of();
+
+            // Live group binding - every other online member of the pair / coven
+            List<ServerPlayer> members = SoulLinkManager.getOnlineGroupMembers(source);
+            List<Recipient> recipients = new ArrayList<>(members.size());
+            for (ServerPlayer member : members) {
+                if (member.isAlive()) {
+                    recipients.add(new Recipient(member, sharedDamage));
+                }
+            }
+            return recipients;
+        }
+
+        return List.of();
+    }
+
+    /**
+     * Apply propagated damage to each recipient exactly once.
+     */
+    public static void apply(List<Recipient> recipients) {
+        for (Recipient recipient : recipients) {
+            ServerPlayer player = recipient.player();
+            ServerLevel world = (ServerLevel) player.level();
+            // Magic damage for shared damage (0.5 hearts = 1.0 damage)
+            player.hurtServer(world, PropagatedDamageSource.shared(world), recipient.amount());
+        }
+    }
+
+    /**
+     * Kill every victim as part of a Death Pact. The kills are tagged as propagated
+     * damage so they do not trigger another Death Pact.
+     */
+    public static void applyDeathPact(Collection<ServerPlayer> victims, ServerPlayer trigger) {
+        for (ServerPlayer victim : victims) {
+            if (victim == trigger) continue; // The trigger dies from the original damage
+            ServerLevel world = (ServerLevel) victim.level();
+            victim.hurtServer(world, PropagatedDamageSource.deathPact(world), Float.MAX_VALUE);
+        }
+    }
+}
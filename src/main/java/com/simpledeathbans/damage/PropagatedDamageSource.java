@@ -0,0 +1,58 @@
+package com.simpledeathbans.damage;
+
+import net.minecraft.core.Holder;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Damage source for damage that was produced by the mod itself rather than by the world:
+ * shared Soul Link / Shared Health damage, Death Pact kills and Soul Sever.
+ *
+ * Propagated damage is tagged by its source type, so the damage handlers can recognize
+ * it and never propagate it a second time. This replaces the old global "currently
+ * processing" UUID sets that guarded against recursive damage sharing.
+ */
+public class PropagatedDamageSource extends DamageSource {
+
+    private final boolean soulSever;
+
+    private PropagatedDamageSource(Holder<DamageType> type, Entity directEntity, Entity causingEntity, boolean soulSever) {
+        super(type, directEntity, causingEntity);
+        this.soulSever = soulSever;
+    }
+
+    /**
+     * Damage shared to a partner or to the Shared Health pool (magic damage).
+     */
+    public static PropagatedDamageSource shared(ServerLevel world) {
+        return new PropagatedDamageSource(world.damageSources().magic().typeHolder(), null, null, false);
+    }
+
+    /**
+     * Death Pact kill (same damage type as {@code LivingEntity.kill}).
+     */
+    public static PropagatedDamageSource deathPact(ServerLevel world) {
+        return new PropagatedDamageSource(world.damageSources().genericKill().typeHolder(), null, null, false);
+    }
+
+    /**
+     * Soul Sever damage, attributed to the player whose death caused it (can be null).
+     */
+    public static PropagatedDamageSource soulSever(ServerLevel world, ServerPlayer causedBy) {
+        if (causedBy != null) {
+            return new PropagatedDamageSource(world.damageSources().indirectMagic(causedBy, causedBy).typeHolder(),
+                causedBy, causedBy, true);
+        }
+        return new PropagatedDamageSource(world.damageSources().magic().typeHolder(), null, null, true);
+    }
+
+    /**
+     * Check if this damage is Soul Sever damage (death pact from a partner dying).
+     */
+    public boolean isSoulSever() {
+        return soulSever;
+    }
+}
@@ -13,10 +13,6 @@ import net.minecraft.resources.Identifier;
 /*import net.minecraft.resources.ResourceLocation;*/
 //?}
 
-import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * Custom damage source for Soul Sever deaths.
  */
@@ -29,53 +25,23 @@ public class SoulSeverDamageSource {
     //?}
     public static final ResourceKey<DamageType> SOUL_SEVER_KEY = ResourceKey.create(Registries.DAMAGE_TYPE, SOUL_SEVER_ID);
     
-    // Track players currently being damaged by soul sever
-    private static final Set<UUID> soulSeverTargets = ConcurrentHashMap.newKeySet();
-    
-    /**
-     * Mark a player as receiving soul sever damage
-     */
-    public static void markSoulSeverTarget(UUID playerId) {
-        soulSeverTargets.add(playerId);
-    }
-    
-    /**
-     * Clear the soul sever target flag
-     */
-    public static void clearSoulSeverTarget(UUID playerId) {
-        soulSeverTargets.remove(playerId);
-    }
-    
-    /**
-     * Check if a player is currently a soul sever target
-     */
-    public static boolean isSoulSeverTarget(UUID playerId) {
-        return soulSeverTargets.contains(playerId);
-    }
-    
     /**
      * Create a soul sever damage source
      * @param world The server world
      * @param causedBy The player whose death caused the soul sever (can be null)
      */
     public static DamageSource create(ServerLevel world, ServerPlayer causedBy) {
-        // Use magic damage as a fallback since we can't register custom damage types easily
+        // Use magic damage since we can't register custom damage types easily
         // The death message will be handled separately
-        if (causedBy != null) {
-            return world.damageSources().indirectMagic(causedBy, causedBy);
-        }
-        return world.damageSources().magic();
+        return PropagatedDamageSource.soulSever(world, causedBy);
     }
     
     /**
      * Check if a damage source is soul sever damage
      */
     public static boolean isSoulSever(DamageSource source) {
-        // Check by name pattern since we're using magic damage
-        // indirectMagic creates damage with name like "indirectMagic" or similar
-        // This prevents infinite damage sharing loops
-        String name = source.getMsgId();
-        return (name.contains("magic") || name.contains("Magic") || name.equals("indirectMagic")) 
-               && source.getEntity() instanceof ServerPlayer;
+        // Soul sever damage is always created through create(), so the source type
+        // identifies it exactly (no name matching against unrelated magic damage)
+        return source instanceof PropagatedDamageSource propagated && propagated.isSoulSever();
     }
 }
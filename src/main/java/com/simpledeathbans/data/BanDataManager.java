@@ -4,6 +4,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.audit.AuditLog;
+import com.simpledeathbans.leaderboard.LeaderboardManager;
+import com.simpledeathbans.leaderboard.LeaderboardType;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerLevel;
@@ -16,6 +21,7 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -27,15 +33,33 @@ public class BanDataManager {
     
     private final Path dataPath;
     private final Map<UUID, BanEntry> activeBans = new ConcurrentHashMap<>();
+    // Sorted views of activeBans for paged listings; updated through putBan / removeBan
+    private final BanIndex banIndex = new BanIndex();
     private final Map<UUID, Integer> tierHistory = new ConcurrentHashMap<>();
+    private final BanHistory history;
     
     // Track players who have returned from a ban (for announcement)
     private final Set<UUID> recentlyExpiredBans = Collections.newSetFromMap(new ConcurrentHashMap<>());
     
+    // Duration and wall-clock time of the last save (JMX)
+    private volatile long lastSaveNanos = 0;
+    private volatile long lastSaveTime = 0;
+    
     public BanDataManager(MinecraftServer server) {
         this.dataPath = server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT)
             .resolve("simpledeathbans");
         load();
+        
+        this.history = new BanHistory(dataPath.resolve("history"));
+        if (history.load()) {
+            // First start with the archive: seed it with the bans that are running now
+            activeBans.values().stream()
+                .sorted(Comparator.comparingLong(BanEntry::banStartTime))
+                .forEach(entry -> history.append(new BanHistory.Record(entry.playerId(), entry.playerName(),
+                    entry.banTier(), false, entry.banStartTime(), entry.banEndTime(),
+                    (int) ((entry.banEndTime() - entry.banStartTime()) / 60000L))));
+            history.flush();
+        }
     }
     
     /**
@@ -75,12 +99,65 @@ public class BanDataManager {
         }
     }
     
+    /**
+     * A pending ban for one player in a batched {@link #createBans} call.
+     */
+    public record BanRequest(UUID playerId, String playerName, boolean isPvP) {}
+    
+    /**
+     * One page of a {@link #getBanPage} listing. totalPages is -1 when it is not known
+     * without walking every match; hasNext is always accurate.
+     */
+    public record BanPage(List<BanEntry> entries, int page, int totalPages, boolean hasNext) {}
+    
+    /**
+     * Outcome of a bulk admin operation: players selected, players actually changed, and
+     * the time taken including the save.
+     */
+    public record BulkResult(int matched, int changed, long elapsedNanos) {}
+    
     /**
      * Creates a ban for the specified player.
      */
     public BanEntry createBan(UUID playerId, String playerName, int banMinutes) {
+        BanEntry entry = applyBan(playerId, playerName, banMinutes, false, System.currentTimeMillis());
+        save();
+        return entry;
+    }
+    
+    /**
+     * Creates bans for a whole cohort of players (e.g. everyone killed by a Death Pact
+     * in the same tick). Tiers and durations are computed per player exactly as
+     * {@link #createBan} would, but the ban files are written only once.
+     * A player listed more than once is only banned for their first entry.
+     * 
+     * @return the created entries, in request order
+     */
+    public List<BanEntry> createBans(Collection<BanRequest> requests) {
+        if (requests.isEmpty()) return List.of();
+        
+        long now = System.currentTimeMillis();
+        List<BanEntry> created = new ArrayList<>(requests.size());
+        Set<UUID> seen = new HashSet<>();
+        
+        for (BanRequest request : requests) {
+            if (!seen.add(request.playerId())) continue;
+            int banMinutes = calculateBanMinutes(request.playerId(), request.isPvP());
+            created.add(applyBan(request.playerId(), request.playerName(), banMinutes, request.isPvP(), now));
+        }
+        
+        // Single persistence write for the whole cohort
+        save();
+        return created;
+    }
+    
+    /**
+     * Increments the tier and records the active ban without persisting.
+     */
+    private BanEntry applyBan(UUID playerId, String playerName, int banMinutes, boolean isPvP, long now) {
         // Increment tier
-        int currentTier = tierHistory.getOrDefault(playerId, 0) + 1;
+        int previousTier = tierHistory.getOrDefault(playerId, 0);
+        int currentTier = previousTier + 1;
         int maxTier = SimpleDeathBans.getInstance().getConfig().maxBanTier;
         
         // Only cap tier if maxTier is positive (not unlimited)
@@ -91,16 +168,41 @@ public class BanDataManager {
         
         tierHistory.put(playerId, currentTier);
         
-        long now = System.currentTimeMillis();
         long duration = banMinutes * 60000L;
         
         BanEntry entry = new BanEntry(playerId, playerName, currentTier, now, now + duration);
-        activeBans.put(playerId, entry);
+        putBan(entry);
         
         // Track that this player will need an announcement when they return
         recentlyExpiredBans.add(playerId);
         
-        save();
+        LeaderboardManager leaderboards = leaderboards();
+        if (leaderboards != null) {
+            leaderboards.add(LeaderboardType.DEATHS, playerId, playerName, 1);
+            leaderboards.set(LeaderboardType.TIER, playerId, playerName, currentTier);
+        }
+        
+        history.append(new BanHistory.Record(playerId, playerName, currentTier, isPvP, now, now + duration, banMinutes));
+        
+        AuditLog.event("ban")
+            .with("uuid", playerId)
+            .with("player", playerName)
+            .with("pvp", isPvP)
+            .with("tier_before", previousTier)
+            .with("tier_after", currentTier)
+            .with("duration_minutes", banMinutes)
+            .with("ban_end", Instant.ofEpochMilli(now + duration))
+            .submit();
+        
+        FlightEvents.BanCreated event = new FlightEvents.BanCreated();
+        if (event.shouldCommit()) {
+            event.player = playerName;
+            event.tier = currentTier;
+            event.banDuration = duration;
+            event.pvp = isPvP;
+            event.commit();
+        }
+        
         return entry;
     }
     
@@ -140,7 +242,7 @@ public class BanDataManager {
         if (entry == null) return false;
         
         if (entry.isExpired()) {
-            activeBans.remove(playerId);
+            removeBan(playerId);
             save();
             return false;
         }
@@ -153,7 +255,7 @@ public class BanDataManager {
     public BanEntry getEntry(UUID playerId) {
         BanEntry entry = activeBans.get(playerId);
         if (entry != null && entry.isExpired()) {
-            activeBans.remove(playerId);
+            removeBan(playerId);
             save();
             return null;
         }
@@ -171,8 +273,9 @@ public class BanDataManager {
      * Sets the tier for a player (admin command).
      */
     public void setTier(UUID playerId, String playerName, int tier) {
-        tierHistory.put(playerId, tier);
+        Integer previous = tierHistory.put(playerId, tier);
         save();
+        onTierChanged(playerId, playerName, previous != null ? previous : 0, tier, "admin");
     }
     
     /**
@@ -183,6 +286,7 @@ public class BanDataManager {
         if (current > 0) {
             tierHistory.put(playerId, current - 1);
             save();
+            onTierChanged(playerId, null, current, current - 1, "mercy");
         }
     }
     
@@ -202,20 +306,172 @@ public class BanDataManager {
         tierHistory.put(playerId, newTier);
         save();
         SimpleDeathBans.LOGGER.info("Increased ban tier for {} from {} to {}", playerId, current, newTier);
+        onTierChanged(playerId, null, current, newTier, "sever");
+    }
+    
+    private static void onTierChanged(UUID playerId, String playerName, int before, int after, String cause) {
+        AuditLog.event("tier_change")
+            .with("uuid", playerId)
+            .with("player", playerName)
+            .with("cause", cause)
+            .with("tier_before", before)
+            .with("tier_after", after)
+            .submit();
+        
+        LeaderboardManager leaderboards = leaderboards();
+        if (leaderboards != null) {
+            leaderboards.set(LeaderboardType.TIER, playerId, playerName, after);
+        }
+    }
+    
+    private static LeaderboardManager leaderboards() {
+        SimpleDeathBans mod = SimpleDeathBans.getInstance();
+        return mod != null ? mod.getLeaderboardManager() : null;
+    }
+    
+    private static PlayerDataManager playerData() {
+        SimpleDeathBans mod = SimpleDeathBans.getInstance();
+        return mod != null ? mod.getPlayerDataManager() : null;
+    }
+    
+    /**
+     * Sets the tier of every known player (anyone with a tier or activity data) matching
+     * the filter, with a single save for the whole batch.
+     */
+    public BulkResult bulkSetTier(PlayerFilter filter, int tier) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        PlayerDataManager players = playerData();
+        
+        // One pass to select, then apply
+        List<UUID> selected = new ArrayList<>();
+        tierHistory.forEach((playerId, current) -> {
+            if (filter.matches(knownName(playerId, players), current, lastDeathTime(playerId, players), now)) {
+                selected.add(playerId);
+            }
+        });
+        if (players != null) {
+            for (PlayerDataManager.PlayerActivityData data : players.getAll()) {
+                if (data.playerUuid == null || tierHistory.containsKey(data.playerUuid)) continue;
+                if (filter.matches(data.playerName, 0, data.lastDeathTime, now)) {
+                    selected.add(data.playerUuid);
+                }
+            }
+        }
+        
+        Map<UUID, Integer> previous = new LinkedHashMap<>();
+        for (UUID playerId : selected) {
+            int beforeTier = tierHistory.getOrDefault(playerId, 0);
+            if (beforeTier != tier) {
+                tierHistory.put(playerId, tier);
+                previous.put(playerId, beforeTier);
+            }
+        }
+        if (!previous.isEmpty()) {
+            save();
+        }
+        previous.forEach((playerId, before) ->
+            onTierChanged(playerId, knownName(playerId, players), before, tier, "bulk"));
+        return finishBulk("settier", selected.size(), previous.size(), start);
+    }
+    
+    /**
+     * Lifts every running ban whose player matches the filter, with a single save.
+     */
+    public BulkResult bulkUnban(PlayerFilter filter) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        PlayerDataManager players = playerData();
+        removeExpiredBans();
+        
+        List<BanEntry> removed = new ArrayList<>();
+        for (BanEntry entry : activeBans.values()) {
+            int tier = tierHistory.getOrDefault(entry.playerId(), 0);
+            if (filter.matches(entry.playerName(), tier, lastDeathTime(entry.playerId(), players), now)) {
+                removeBan(entry.playerId());
+                removed.add(entry);
+            }
+        }
+        if (!removed.isEmpty()) {
+            save();
+        }
+        removed.forEach(BanDataManager::auditUnban);
+        return finishBulk("unban", removed.size(), removed.size(), start);
+    }
+    
+    /**
+     * Lowers every stored tier by the given amount (not below 0), with a single save.
+     */
+    public BulkResult decayTiers(int amount) {
+        long start = System.nanoTime();
+        PlayerDataManager players = playerData();
+        
+        Map<UUID, Integer> previous = new HashMap<>();
+        for (Map.Entry<UUID, Integer> entry : tierHistory.entrySet()) {
+            int current = entry.getValue();
+            if (current <= 0) continue;
+            entry.setValue(Math.max(0, current - amount));
+            previous.put(entry.getKey(), current);
+        }
+        if (!previous.isEmpty()) {
+            save();
+        }
+        previous.forEach((playerId, before) ->
+            onTierChanged(playerId, knownName(playerId, players), before, tierHistory.getOrDefault(playerId, 0), "decay"));
+        return finishBulk("decay", previous.size(), previous.size(), start);
+    }
+    
+    private static BulkResult finishBulk(String operation, int matched, int changed, long start) {
+        BulkResult result = new BulkResult(matched, changed, System.nanoTime() - start);
+        AuditLog.event("bulk")
+            .with("operation", operation)
+            .with("matched", matched)
+            .with("changed", changed)
+            .with("elapsed_ms", result.elapsedNanos() / 1_000_000L)
+            .submit();
+        SimpleDeathBans.LOGGER.info("Bulk {}: {} matched, {} changed in {}ms",
+            operation, matched, changed, result.elapsedNanos() / 1_000_000L);
+        return result;
+    }
+    
+    /**
+     * Best known name for a player: running ban, activity data, then the ban archive.
+     */
+    private String knownName(UUID playerId, PlayerDataManager players) {
+        BanEntry ban = activeBans.get(playerId);
+        if (ban != null && ban.playerName() != null) return ban.playerName();
+        PlayerDataManager.PlayerActivityData data = players != null ? players.get(playerId) : null;
+        if (data != null && data.playerName != null) return data.playerName;
+        return history.getName(playerId).orElse(null);
+    }
+    
+    private static long lastDeathTime(UUID playerId, PlayerDataManager players) {
+        PlayerDataManager.PlayerActivityData data = players != null ? players.get(playerId) : null;
+        return data != null ? data.lastDeathTime : 0L;
     }
     
     /**
      * Unbans a player (admin command).
      */
     public boolean unbanPlayer(UUID playerId) {
-        BanEntry removed = activeBans.remove(playerId);
+        BanEntry removed = removeBan(playerId);
         if (removed != null) {
             save();
+            auditUnban(removed);
             return true;
         }
         return false;
     }
     
+    private static void auditUnban(BanEntry removed) {
+        AuditLog.event("unban")
+            .with("uuid", removed.playerId())
+            .with("player", removed.playerName())
+            .with("tier", removed.banTier())
+            .with("remaining_ms", removed.getRemainingTime())
+            .submit();
+    }
+    
     /**
      * Unbans a player by name (for offline players).
      */
@@ -227,12 +483,7 @@ public class BanDataManager {
                 break;
             }
         }
-        if (toRemove != null) {
-            activeBans.remove(toRemove);
-            save();
-            return true;
-        }
-        return false;
+        return toRemove != null && unbanPlayer(toRemove);
     }
     
     /**
@@ -240,12 +491,12 @@ public class BanDataManager {
      */
     public BanEntry getRandomBannedPlayer() {
         // Clean up expired bans first
-        activeBans.values().removeIf(BanEntry::isExpired);
+        removeExpiredBans();
         
-        if (activeBans.isEmpty()) return null;
+        int count = banIndex.size();
+        if (count == 0) return null;
         
-        List<BanEntry> entries = new ArrayList<>(activeBans.values());
-        return entries.get(new Random().nextInt(entries.size()));
+        return banIndex.get(new Random().nextInt(count));
     }
     
     /**
@@ -253,16 +504,119 @@ public class BanDataManager {
      */
     public List<BanEntry> getAllBannedPlayers() {
         // Clean up expired bans first
-        activeBans.values().removeIf(BanEntry::isExpired);
+        removeExpiredBans();
         return new ArrayList<>(activeBans.values());
     }
     
+    /**
+     * Whether any ban is still running (without copying the ban list).
+     */
+    public boolean hasActiveBans() {
+        removeExpiredBans();
+        return banIndex.size() > 0;
+    }
+    
+    /**
+     * One page (0-based) of the running bans matching a query, in the query's sort order.
+     * Read from the sorted index, so a page costs O(log n + page size) unless the query
+     * filters on another key than it sorts by.
+     */
+    public BanPage getBanPage(BanQuery query, int page, int pageSize) {
+        removeExpiredBans();
+        return banIndex.page(query, page, pageSize, System.currentTimeMillis());
+    }
+    
+    private void putBan(BanEntry entry) {
+        BanEntry previous = activeBans.put(entry.playerId(), entry);
+        if (previous != null) {
+            banIndex.remove(previous);
+        }
+        banIndex.add(entry);
+    }
+    
+    private BanEntry removeBan(UUID playerId) {
+        BanEntry removed = activeBans.remove(playerId);
+        if (removed != null) {
+            banIndex.remove(removed);
+        }
+        return removed;
+    }
+    
+    /**
+     * Drop bans that have run out; they sit at the front of the index, so this only
+     * touches the expired ones.
+     */
+    private void removeExpiredBans() {
+        for (BanEntry expired : banIndex.removeExpired(System.currentTimeMillis())) {
+            activeBans.remove(expired.playerId(), expired);
+        }
+    }
+    
+    /**
+     * Number of bans still running.
+     */
+    public int getActiveBanCount() {
+        int count = 0;
+        for (BanEntry entry : activeBans.values()) {
+            if (!entry.isExpired()) count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Number of bans that have run out but are still stored (cleared on the player's next
+     * login attempt or the next ban listing).
+     */
+    public int getPendingExpiryCount() {
+        int count = 0;
+        for (BanEntry entry : activeBans.values()) {
+            if (entry.isExpired()) count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Players per ban tier (tier -> player count), over every player with a tier history.
+     */
+    public Map<Integer, Integer> getTierHistogram() {
+        Map<Integer, Integer> histogram = new TreeMap<>();
+        for (int tier : tierHistory.values()) {
+            histogram.merge(tier, 1, Integer::sum);
+        }
+        return histogram;
+    }
+    
+    /**
+     * Current tier of every player with a tier history (read-only view).
+     */
+    public Map<UUID, Integer> getTiers() {
+        return Collections.unmodifiableMap(tierHistory);
+    }
+    
+    /**
+     * Every ban ever applied, including expired ones.
+     */
+    public BanHistory getHistory() {
+        return history;
+    }
+    
+    public long getLastSaveNanos() {
+        return lastSaveNanos;
+    }
+    
+    public long getLastSaveTime() {
+        return lastSaveTime;
+    }
+    
     /**
      * Clears all active bans (admin command).
      */
     public void clearAllBans() {
+        int cleared = activeBans.size();
         activeBans.clear();
+        banIndex.clear();
         save();
+        AuditLog.event("clear_bans").with("count", cleared).submit();
     }
     
     /**
@@ -291,6 +645,15 @@ public class BanDataManager {
     }
     
     public void load() {
+        long start = Metric.start();
+        try {
+            readFiles();
+        } finally {
+            Metric.BAN_DATA_LOAD.record(start);
+        }
+    }
+    
+    private void readFiles() {
         try {
             Files.createDirectories(dataPath);
             
@@ -303,7 +666,7 @@ public class BanDataManager {
                 if (data != null) {
                     data.forEach((key, value) -> {
                         UUID id = UUID.fromString(key);
-                        activeBans.put(id, new BanEntry(id, value.playerName, value.banTier, value.banStartTime, value.banEndTime));
+                        putBan(new BanEntry(id, value.playerName, value.banTier, value.banStartTime, value.banEndTime));
                     });
                 }
             }
@@ -324,6 +687,19 @@ public class BanDataManager {
     }
     
     public void save() {
+        long start = Metric.start();
+        try {
+            writeFiles();
+        } finally {
+            Metric.BAN_DATA_SAVE.record(start);
+            lastSaveNanos = System.nanoTime() - start;
+            lastSaveTime = System.currentTimeMillis();
+        }
+        // Bans archived since the last save: one write per history file for the whole batch
+        history.flush();
+    }
+    
+    private void writeFiles() {
         try {
             Files.createDirectories(dataPath);
             
@@ -331,12 +707,12 @@ public class BanDataManager {
             Map<String, BanEntryData> bansData = new HashMap<>();
             activeBans.forEach((id, entry) -> 
                 bansData.put(id.toString(), new BanEntryData(entry.playerName, entry.banTier, entry.banStartTime, entry.banEndTime)));
-            Files.writeString(dataPath.resolve("bans.json"), GSON.toJson(bansData));
+            FlightEvents.writeString(dataPath.resolve("bans.json"), GSON.toJson(bansData));
             
             // Save tier history
             Map<String, Integer> tiersData = new HashMap<>();
             tierHistory.forEach((id, tier) -> tiersData.put(id.toString(), tier));
-            Files.writeString(dataPath.resolve("tiers.json"), GSON.toJson(tiersData));
+            FlightEvents.writeString(dataPath.resolve("tiers.json"), GSON.toJson(tiersData));
         } catch (IOException e) {
             SimpleDeathBans.LOGGER.error("Failed to save ban data", e);
         }
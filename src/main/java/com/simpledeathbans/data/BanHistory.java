@@ -0,0 +1,420 @@
+package com.simpledeathbans.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Permanent archive of every ban ever applied, kept after the ban itself has expired.
+ *
+ * Storage (under <world>/simpledeathbans/history):
+ * - bans-NNNNN.log: append-only segments, one JSON record per line. A new segment is started
+ *   once the current one reaches SEGMENT_MAX_BYTES.
+ * - bans-NNNNN.idx: fixed-size index entries for the segment (player, start time, offset,
+ *   length, tier, duration, PvP). Loading reads only these, never the records themselves.
+ * - names.json: last known name per player, for lookups by name.
+ *
+ * Appended records are indexed in memory at once but buffered for the disk; flush() writes
+ * them (records, then index entries, then names.json if a name changed) and is called from
+ * BanDataManager.save(), so a cohort of bans committed together costs one write per file.
+ *
+ * Fetching one player's history reads just that player's records. Per-player and
+ * archive-wide totals are kept up to date as records are appended.
+ */
+public class BanHistory {
+    private static final Gson GSON = new Gson();
+
+    private static final long SEGMENT_MAX_BYTES = 8L * 1024 * 1024;
+    private static final int INDEX_ENTRY_BYTES = 40;
+    private static final int FLAG_PVP = 1;
+
+    private final Path dir;
+
+    // Per-player record locations (oldest first) and running totals
+    private final Map<UUID, PlayerIndex> players = new HashMap<>();
+    private final Map<UUID, String> names = new HashMap<>();
+    private final Map<String, UUID> idsByName = new HashMap<>();
+
+    // Archive-wide totals
+    private long totalBans = 0;
+    private long totalPvpBans = 0;
+    private long totalMinutes = 0;
+    private final Map<Integer, Long> bansByTier = new TreeMap<>();
+
+    private int currentSegment = 0;
+    private long currentSegmentBytes = 0;
+
+    // Appended but not yet written (segment -> bytes), flushed by flush()
+    private final Map<Integer, PendingWrite> pendingRecords = new TreeMap<>();
+    private final Map<Integer, PendingWrite> pendingIndex = new TreeMap<>();
+    private boolean namesDirty = false;
+
+    public BanHistory(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * One archived ban.
+     */
+    public record Record(UUID playerId, String playerName, int tier, boolean pvp,
+                         long banStartTime, long banEndTime, int banMinutes) {}
+
+    /**
+     * Totals for one player.
+     */
+    public record PlayerSummary(UUID playerId, String playerName, int bans, int pvpBans,
+                                long totalMinutes, int highestTier, long lastBanTime) {}
+
+    /**
+     * Totals for the whole archive.
+     */
+    public record ArchiveSummary(long bans, long pvpBans, long totalMinutes, int players,
+                                 Map<Integer, Long> bansByTier) {}
+
+    private record Location(int segment, int offset, int length) {}
+
+    /**
+     * Bytes waiting to be appended to one file, and the file size they start at. A write
+     * that fails part-way is retried from that size, so the file never holds a partial
+     * copy followed by a full one and the Location offsets stay valid.
+     */
+    private static final class PendingWrite {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // -1 until known; then taken from the file before the first write attempt
+        long fileOffset;
+
+        PendingWrite(long fileOffset) {
+            this.fileOffset = fileOffset;
+        }
+    }
+
+    private static final class PlayerIndex {
+        final List<Location> locations = new ArrayList<>();
+        int pvpBans = 0;
+        long totalMinutes = 0;
+        int highestTier = 0;
+        long lastBanTime = 0;
+    }
+
+    /**
+     * Build the in-memory index from the .idx files, repairing any segment whose index
+     * fell behind (e.g. the server stopped between the two writes).
+     *
+     * @return true if the archive did not exist yet
+     */
+    public synchronized boolean load() {
+        long start = Metric.start();
+        try {
+            boolean created = !Files.isDirectory(dir);
+            Files.createDirectories(dir);
+            loadNames();
+            int segment = 0;
+            while (Files.exists(segmentPath(segment))) {
+                loadSegment(segment);
+                segment++;
+            }
+            currentSegment = Math.max(0, segment - 1);
+            currentSegmentBytes = Files.exists(segmentPath(currentSegment)) ? Files.size(segmentPath(currentSegment)) : 0;
+            return created;
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to load ban history", e);
+            return false;
+        } finally {
+            Metric.BAN_HISTORY_LOAD.record(start);
+        }
+    }
+
+    private void loadNames() throws IOException {
+        Path file = dir.resolve("names.json");
+        if (!Files.exists(file)) return;
+        Type type = new TypeToken<Map<String, String>>(){}.getType();
+        Map<String, String> data = GSON.fromJson(Files.readString(file), type);
+        if (data != null) {
+            data.forEach((key, value) -> rememberName(UUID.fromString(key), value));
+        }
+    }
+
+    private void loadSegment(int segment) throws IOException {
+        Path log = segmentPath(segment);
+        Path idx = indexPath(segment);
+        long indexedBytes = 0;
+
+        if (Files.exists(idx)) {
+            byte[] data = Files.readAllBytes(idx);
+            int whole = data.length - data.length % INDEX_ENTRY_BYTES;
+            if (whole != data.length) {
+                // Torn final entry; the record it pointed at is re-indexed below
+                try (FileChannel channel = FileChannel.open(idx, StandardOpenOption.WRITE)) {
+                    channel.truncate(whole);
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data, 0, whole);
+            while (buffer.remaining() >= INDEX_ENTRY_BYTES) {
+                UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+                long startTime = buffer.getLong();
+                int offset = buffer.getInt();
+                int length = buffer.getInt();
+                int tier = buffer.getShort();
+                int flags = buffer.getShort();
+                int minutes = buffer.getInt();
+                index(playerId, new Location(segment, offset, length), tier, (flags & FLAG_PVP) != 0, minutes, startTime);
+                indexedBytes = Math.max(indexedBytes, (long) offset + length);
+            }
+        }
+
+        long size = Files.size(log);
+        if (size > indexedBytes) {
+            reindexTail(segment, indexedBytes, size);
+        }
+    }
+
+    /**
+     * Index complete records written after the last index entry of a segment.
+     */
+    private void reindexTail(int segment, long from, long size) throws IOException {
+        byte[] tail = new byte[(int) (size - from)];
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            channel.read(ByteBuffer.wrap(tail), from);
+        }
+        int recovered = 0;
+        int lineStart = 0;
+        for (int i = 0; i < tail.length; i++) {
+            if (tail[i] != '\n') continue;
+            int length = i + 1 - lineStart;
+            try {
+                Record record = GSON.fromJson(new String(tail, lineStart, length, StandardCharsets.UTF_8), Record.class);
+                if (record != null && record.playerId() != null) {
+                    Location location = new Location(segment, (int) (from + lineStart), length);
+                    FlightEvents.append(indexPath(segment), indexEntry(record, location));
+                    index(record.playerId(), location, record.tier(), record.pvp(), record.banMinutes(), record.banStartTime());
+                    recovered++;
+                }
+            } catch (JsonParseException e) {
+                SimpleDeathBans.LOGGER.warn("Skipping unreadable ban history record in {} at {}", segmentPath(segment), from + lineStart);
+            }
+            lineStart = i + 1;
+        }
+        if (lineStart < tail.length) {
+            // Torn final record (no newline): drop it so the next append starts on a clean line
+            try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.WRITE)) {
+                channel.truncate(from + lineStart);
+            }
+        }
+        if (recovered > 0) {
+            SimpleDeathBans.LOGGER.info("Re-indexed {} ban history records in {}", recovered, segmentPath(segment));
+        }
+    }
+
+    /**
+     * Append a ban to the archive. Indexed immediately; written to disk by the next flush().
+     */
+    public synchronized void append(Record record) {
+        byte[] line = (GSON.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        if (currentSegmentBytes > 0 && currentSegmentBytes + line.length > SEGMENT_MAX_BYTES) {
+            currentSegment++;
+            currentSegmentBytes = 0;
+        }
+        Location location = new Location(currentSegment, (int) currentSegmentBytes, line.length);
+        currentSegmentBytes += line.length;
+
+        pendingRecords.computeIfAbsent(currentSegment, segment -> new PendingWrite(location.offset()))
+            .bytes.writeBytes(line);
+        pendingIndex.computeIfAbsent(currentSegment, segment -> new PendingWrite(-1))
+            .bytes.writeBytes(indexEntry(record, location));
+
+        index(record.playerId(), location, record.tier(), record.pvp(), record.banMinutes(), record.banStartTime());
+        if (record.playerName() != null && !record.playerName().equals(names.get(record.playerId()))) {
+            rememberName(record.playerId(), record.playerName());
+            namesDirty = true;
+        }
+    }
+
+    /**
+     * Write every buffered record, its index entries and (if changed) names.json.
+     * Records go before their index entries: a crash in between is repaired on load.
+     * Whatever fails to write stays buffered for the next flush, which first cuts the file
+     * back to where the failed write started.
+     */
+    public synchronized void flush() {
+        if (pendingRecords.isEmpty() && pendingIndex.isEmpty() && !namesDirty) return;
+        long start = Metric.start();
+        try {
+            writePending(pendingRecords, this::segmentPath);
+            writePending(pendingIndex, this::indexPath);
+            if (namesDirty) {
+                saveNames();
+                namesDirty = false;
+            }
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to write ban history", e);
+        } finally {
+            Metric.BAN_HISTORY_FLUSH.record(start);
+        }
+    }
+
+    private static void writePending(Map<Integer, PendingWrite> pending, IntFunction<Path> path)
+            throws IOException {
+        Iterator<Map.Entry<Integer, PendingWrite>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, PendingWrite> entry = it.next();
+            Path file = path.apply(entry.getKey());
+            PendingWrite write = entry.getValue();
+            long size = Files.exists(file) ? Files.size(file) : 0;
+            if (write.fileOffset < 0) {
+                write.fileOffset = size;
+            } else if (size > write.fileOffset) {
+                // An earlier attempt wrote part of these bytes
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(write.fileOffset);
+                }
+            }
+            FlightEvents.append(file, write.bytes.toByteArray());
+            it.remove();
+        }
+    }
+
+    private void saveNames() throws IOException {
+        Map<String, String> data = new TreeMap<>();
+        names.forEach((id, name) -> data.put(id.toString(), name));
+        FlightEvents.writeString(dir.resolve("names.json"), GSON.toJson(data));
+    }
+
+    private void rememberName(UUID playerId, String name) {
+        String previous = names.put(playerId, name);
+        if (previous != null) {
+            idsByName.remove(previous.toLowerCase(Locale.ROOT), playerId);
+        }
+        idsByName.put(name.toLowerCase(Locale.ROOT), playerId);
+    }
+
+    private void index(UUID playerId, Location location, int tier, boolean pvp, int minutes, long startTime) {
+        PlayerIndex player = players.computeIfAbsent(playerId, id -> new PlayerIndex());
+        player.locations.add(location);
+        player.totalMinutes += minutes;
+        player.highestTier = Math.max(player.highestTier, tier);
+        player.lastBanTime = Math.max(player.lastBanTime, startTime);
+        if (pvp) player.pvpBans++;
+
+        totalBans++;
+        totalMinutes += minutes;
+        if (pvp) totalPvpBans++;
+        bansByTier.merge(tier, 1L, Long::sum);
+    }
+
+    private static byte[] indexEntry(Record record, Location location) {
+        return ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+            .putLong(record.playerId().getMostSignificantBits())
+            .putLong(record.playerId().getLeastSignificantBits())
+            .putLong(record.banStartTime())
+            .putInt(location.offset())
+            .putInt(location.length())
+            .putShort((short) Math.min(record.tier(), Short.MAX_VALUE))
+            .putShort((short) (record.pvp() ? FLAG_PVP : 0))
+            .putInt(record.banMinutes())
+            .array();
+    }
+
+    /**
+     * Look up a player by their last known name (case-insensitive).
+     */
+    public synchronized Optional<UUID> findPlayer(String name) {
+        return Optional.ofNullable(idsByName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Last known names of every player in the archive, for command suggestions.
+     */
+    public synchronized List<String> getPlayerNames() {
+        return new ArrayList<>(names.values());
+    }
+
+    public synchronized Optional<String> getName(UUID playerId) {
+        return Optional.ofNullable(names.get(playerId));
+    }
+
+    /**
+     * Number of archived bans per player.
+     */
+    public synchronized Map<UUID, Integer> getBanCounts() {
+        Map<UUID, Integer> counts = new HashMap<>();
+        players.forEach((id, player) -> counts.put(id, player.locations.size()));
+        return counts;
+    }
+
+    public synchronized Optional<PlayerSummary> getSummary(UUID playerId) {
+        PlayerIndex player = players.get(playerId);
+        if (player == null) return Optional.empty();
+        return Optional.of(new PlayerSummary(playerId, names.get(playerId), player.locations.size(),
+            player.pvpBans, player.totalMinutes, player.highestTier, player.lastBanTime));
+    }
+
+    public synchronized ArchiveSummary getArchiveSummary() {
+        return new ArchiveSummary(totalBans, totalPvpBans, totalMinutes, players.size(), new TreeMap<>(bansByTier));
+    }
+
+    /**
+     * Read one page of a player's bans, newest first. Only the records on that page are read.
+     */
+    public synchronized List<Record> getPage(UUID playerId, int page, int pageSize) {
+        PlayerIndex player = players.get(playerId);
+        if (player == null || page < 0) return List.of();
+        // The page may include records still waiting for the next save
+        flush();
+
+        List<Location> all = player.locations;
+        int from = all.size() - 1 - page * pageSize;
+        int to = Math.max(-1, from - pageSize);
+        List<Record> records = new ArrayList<>(pageSize);
+
+        FileChannel channel = null;
+        int openSegment = -1;
+        try {
+            for (int i = from; i > to; i--) {
+                Location location = all.get(i);
+                if (location.segment() != openSegment) {
+                    if (channel != null) channel.close();
+                    channel = FileChannel.open(segmentPath(location.segment()), StandardOpenOption.READ);
+                    openSegment = location.segment();
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(location.length());
+                channel.read(buffer, location.offset());
+                Record record = GSON.fromJson(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8), Record.class);
+                if (record != null) records.add(record);
+            }
+        } catch (IOException | JsonParseException e) {
+            SimpleDeathBans.LOGGER.error("Failed to read ban history for {}", playerId, e);
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Read-only channel
+                }
+            }
+        }
+        return records;
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format(Locale.ROOT, "bans-%05d.log", segment));
+    }
+
+    private Path indexPath(int segment) {
+        return dir.resolve(String.format(Locale.ROOT, "bans-%05d.idx", segment));
+    }
+}
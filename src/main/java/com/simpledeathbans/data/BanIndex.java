@@ -0,0 +1,159 @@
+package com.simpledeathbans.data;
+
+import com.simpledeathbans.util.RankedSkipList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Active bans kept sorted by remaining time, tier and name, so a listing page is read
+ * straight from the order it is shown in instead of copying and sorting every ban.
+ *
+ * - A page costs O(log n + page size) when the filters only bound the sort key (or there
+ *   are none): the bounds become ranks via countBefore() with probe entries.
+ * - Other filters are checked while walking, so a page then costs the entries skipped.
+ * - Expired bans sit at the front of the remaining-time order and are popped from there.
+ *
+ * Maintained by BanDataManager alongside its activeBans map.
+ */
+final class BanIndex {
+
+    // Sorts before every real UUID, for probe entries
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private static final Comparator<BanDataManager.BanEntry> BY_REMAINING =
+        Comparator.comparingLong(BanDataManager.BanEntry::banEndTime)
+            .thenComparing(BanDataManager.BanEntry::playerId);
+    // Highest tier first, then soonest to expire
+    private static final Comparator<BanDataManager.BanEntry> BY_TIER =
+        Comparator.comparingInt(BanDataManager.BanEntry::banTier).reversed()
+            .thenComparingLong(BanDataManager.BanEntry::banEndTime)
+            .thenComparing(BanDataManager.BanEntry::playerId);
+    private static final Comparator<BanDataManager.BanEntry> BY_NAME =
+        Comparator.comparing(BanIndex::nameKey)
+            .thenComparing(BanDataManager.BanEntry::playerId);
+
+    private final Map<BanQuery.Sort, RankedSkipList<BanDataManager.BanEntry>> orders =
+        new EnumMap<>(BanQuery.Sort.class);
+
+    BanIndex() {
+        orders.put(BanQuery.Sort.REMAINING, new RankedSkipList<>(BY_REMAINING));
+        orders.put(BanQuery.Sort.TIER, new RankedSkipList<>(BY_TIER));
+        orders.put(BanQuery.Sort.NAME, new RankedSkipList<>(BY_NAME));
+    }
+
+    synchronized void add(BanDataManager.BanEntry entry) {
+        orders.values().forEach(order -> order.insert(entry));
+    }
+
+    synchronized void remove(BanDataManager.BanEntry entry) {
+        orders.values().forEach(order -> order.remove(entry));
+    }
+
+    synchronized void clear() {
+        orders.values().forEach(RankedSkipList::clear);
+    }
+
+    synchronized int size() {
+        return orders.get(BanQuery.Sort.REMAINING).size();
+    }
+
+    /**
+     * Remove and return the bans that have run out by now.
+     */
+    synchronized List<BanDataManager.BanEntry> removeExpired(long now) {
+        RankedSkipList<BanDataManager.BanEntry> byRemaining = orders.get(BanQuery.Sort.REMAINING);
+        int count = byRemaining.countBefore(probe(0, now + 1));
+        if (count == 0) return List.of();
+
+        List<BanDataManager.BanEntry> expired = byRemaining.range(0, count);
+        expired.forEach(this::remove);
+        return expired;
+    }
+
+    /**
+     * The entry at a 0-based position of the remaining-time order.
+     */
+    synchronized BanDataManager.BanEntry get(int index) {
+        List<BanDataManager.BanEntry> entry = orders.get(BanQuery.Sort.REMAINING).range(index, 1);
+        return entry.isEmpty() ? null : entry.get(0);
+    }
+
+    /**
+     * One page (0-based) of the active bans matching a query, in its sort order.
+     * Expired bans must have been removed first.
+     */
+    synchronized BanDataManager.BanPage page(BanQuery query, int page, int pageSize, long now) {
+        RankedSkipList<BanDataManager.BanEntry> order = orders.get(query.sort());
+
+        // Narrow to the rank range the sort key allows
+        int from = 0;
+        int to = order.size();
+        boolean keyOnly;
+        switch (query.sort()) {
+            case REMAINING -> {
+                from = order.countBefore(probe(0, endTime(now, query.minRemaining())));
+                if (query.maxRemaining() < Long.MAX_VALUE) {
+                    to = order.countBefore(probe(0, endTime(now, query.maxRemaining()) + 1));
+                }
+                keyOnly = !query.hasTierFilter();
+            }
+            case TIER -> {
+                from = order.countBefore(probe(query.maxTier(), Long.MIN_VALUE));
+                to = order.countBefore(probe(query.minTier() - 1, Long.MIN_VALUE));
+                keyOnly = !query.hasRemainingFilter();
+            }
+            default -> keyOnly = !query.hasTierFilter() && !query.hasRemainingFilter();
+        }
+        to = Math.max(from, to);
+
+        if (keyOnly) {
+            int matches = to - from;
+            int start = from + page * pageSize;
+            List<BanDataManager.BanEntry> entries = start < to
+                ? order.range(start, Math.min(pageSize, to - start)) : new ArrayList<>();
+            int totalPages = Math.max(1, (matches + pageSize - 1) / pageSize);
+            return new BanDataManager.BanPage(entries, page, totalPages, page + 1 < totalPages);
+        }
+
+        // Walk the range in chunks, skipping the earlier pages' matches
+        int skip = page * pageSize;
+        List<BanDataManager.BanEntry> entries = new ArrayList<>(pageSize);
+        for (int rank = from; rank < to; rank += pageSize) {
+            for (BanDataManager.BanEntry entry : order.range(rank, Math.min(pageSize, to - rank))) {
+                if (!query.matches(entry, now)) continue;
+                if (skip > 0) {
+                    skip--;
+                } else if (entries.size() < pageSize) {
+                    entries.add(entry);
+                } else {
+                    return new BanDataManager.BanPage(entries, page, -1, true);
+                }
+            }
+        }
+        // Reached the end, so the total is known after all
+        int matches = page * pageSize - skip + entries.size();
+        return new BanDataManager.BanPage(entries, page, Math.max(1, (matches + pageSize - 1) / pageSize), false);
+    }
+
+    private static long endTime(long now, long remaining) {
+        return remaining >= Long.MAX_VALUE - now ? Long.MAX_VALUE - 1 : now + remaining;
+    }
+
+    /**
+     * An entry that sorts before every real ban with the same end time (remaining-time
+     * order) or, with an end time of Long.MIN_VALUE, the same tier (tier order).
+     */
+    private static BanDataManager.BanEntry probe(int tier, long banEndTime) {
+        return new BanDataManager.BanEntry(MIN_ID, "", tier, 0L, banEndTime);
+    }
+
+    private static String nameKey(BanDataManager.BanEntry entry) {
+        return entry.playerName() != null ? entry.playerName().toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,124 @@
+package com.simpledeathbans.data;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sort order and filters for listing active bans (/sdb listbans).
+ *
+ * Parsed from space-separated options, e.g. "sort=tier tier>=3 remaining<1h":
+ * - sort=remaining|tier|name (default remaining, soonest first)
+ * - tier with >=, <=, >, < or =
+ * - remaining with the same operators and a duration like 45s, 30m, 1h30m or 2d
+ *
+ * Bounds are inclusive; remaining times are in milliseconds.
+ */
+public record BanQuery(Sort sort, int minTier, int maxTier, long minRemaining, long maxRemaining) {
+
+    public static final BanQuery ALL = new BanQuery(Sort.REMAINING, 0, Integer.MAX_VALUE, 0L, Long.MAX_VALUE);
+
+    private static final Pattern FILTER = Pattern.compile("(tier|remaining)(>=|<=|>|<|=)(.+)");
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+)([dhms])");
+
+    public enum Sort {
+        REMAINING,
+        TIER,
+        NAME;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public boolean hasTierFilter() {
+        return minTier > 0 || maxTier < Integer.MAX_VALUE;
+    }
+
+    public boolean hasRemainingFilter() {
+        return minRemaining > 0 || maxRemaining < Long.MAX_VALUE;
+    }
+
+    public boolean matches(BanDataManager.BanEntry entry, long now) {
+        long remaining = entry.banEndTime() - now;
+        return entry.banTier() >= minTier && entry.banTier() <= maxTier
+            && remaining >= minRemaining && remaining <= maxRemaining;
+    }
+
+    /**
+     * Parse listing options. Later filters narrow earlier ones.
+     *
+     * @throws IllegalArgumentException with a message for the player on an unknown option
+     */
+    public static BanQuery parse(String options) {
+        BanQuery query = ALL;
+        if (options == null || options.isBlank()) return query;
+
+        for (String option : options.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (option.startsWith("sort=")) {
+                String key = option.substring("sort=".length());
+                Sort sort = null;
+                for (Sort candidate : Sort.values()) {
+                    if (candidate.key().equals(key)) sort = candidate;
+                }
+                if (sort == null) {
+                    throw new IllegalArgumentException("Unknown sort: " + key + " (remaining, tier, name)");
+                }
+                query = new BanQuery(sort, query.minTier, query.maxTier, query.minRemaining, query.maxRemaining);
+                continue;
+            }
+
+            Matcher matcher = FILTER.matcher(option);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unknown option: " + option
+                    + " (sort=..., tier>=N, remaining<1h, ...)");
+            }
+            String op = matcher.group(2);
+            if (matcher.group(1).equals("tier")) {
+                Bounds tier = Bounds.of(option, op, parseTier(matcher.group(3)), 0, Integer.MAX_VALUE);
+                query = new BanQuery(query.sort, Math.max(query.minTier, (int) tier.min()),
+                    Math.min(query.maxTier, (int) tier.max()), query.minRemaining, query.maxRemaining);
+            } else {
+                Bounds remaining = Bounds.of(option, op, parseDuration(matcher.group(3)), 0L, Long.MAX_VALUE);
+                query = new BanQuery(query.sort, query.minTier, query.maxTier,
+                    Math.max(query.minRemaining, remaining.min()), Math.min(query.maxRemaining, remaining.max()));
+            }
+        }
+        return query;
+    }
+
+    static int parseTier(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid tier: " + value);
+        }
+    }
+
+    /**
+     * Parse a duration such as 45s, 30m, 1h30m or 2d into milliseconds.
+     */
+    static long parseDuration(String value) {
+        Matcher part = DURATION_PART.matcher(value);
+        long millis = 0;
+        int end = 0;
+        while (part.find() && part.start() == end) {
+            long unit = switch (part.group(2)) {
+                case "d" -> 86_400_000L;
+                case "h" -> 3_600_000L;
+                case "m" -> 60_000L;
+                default -> 1_000L;
+            };
+            try {
+                millis = Math.addExact(millis, Math.multiplyExact(Long.parseLong(part.group(1)), unit));
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new IllegalArgumentException("Duration too long: " + value);
+            }
+            end = part.end();
+        }
+        if (end == 0 || end != value.length()) {
+            throw new IllegalArgumentException("Invalid duration: " + value + " (e.g. 45s, 30m, 1h30m, 2d)");
+        }
+        return millis;
+    }
+}
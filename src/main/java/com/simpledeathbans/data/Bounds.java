@@ -0,0 +1,37 @@
+package com.simpledeathbans.data;
+
+/**
+ * Inclusive bounds for one comparison of a listing or filter option, e.g. tier>=3 or
+ * remaining<1h. Shared by BanQuery and PlayerFilter.
+ *
+ * Values live in [floor, ceiling]. A > at or above the ceiling, or a < at or below the
+ * floor, can never match and is rejected instead of wrapping around.
+ */
+record Bounds(long min, long max) {
+
+    /**
+     * Bounds for a comparison, e.g. op ">" and value 3 of the option "tier>3".
+     *
+     * @throws IllegalArgumentException with a message for the player if the comparison
+     *         can never match
+     */
+    static Bounds of(String option, String op, long value, long floor, long ceiling) {
+        return switch (op) {
+            case ">=" -> new Bounds(Math.max(floor, value), ceiling);
+            case ">" -> {
+                if (value >= ceiling) throw never(option);
+                yield new Bounds(Math.max(floor, value + 1), ceiling);
+            }
+            case "<=" -> new Bounds(floor, Math.min(ceiling, value));
+            case "<" -> {
+                if (value <= floor) throw never(option);
+                yield new Bounds(floor, Math.min(ceiling, value - 1));
+            }
+            default -> new Bounds(value, value);
+        };
+    }
+
+    private static IllegalArgumentException never(String option) {
+        return new IllegalArgumentException(option + " can never match");
+    }
+}
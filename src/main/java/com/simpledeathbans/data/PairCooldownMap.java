@@ -0,0 +1,194 @@
+package com.simpledeathbans.data;
+
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map from an unordered pair of UUIDs to a cooldown end timestamp.
+ *
+ * Each pair is stored as four longs (the two UUIDs in canonical order, so (a, b) and (b, a)
+ * are the same key) in one flat array, with the expiry in a parallel array. Lookups hash the
+ * UUIDs' bits directly - no key objects or strings are built. Linear probing with
+ * backward-shift deletion keeps probe chains short without tombstones.
+ *
+ * Used for ex-partner cooldowns. Written from the server thread; all methods are
+ * synchronized so reads from other threads (the JMX bean) are safe.
+ */
+final class PairCooldownMap {
+
+    /**
+     * Visits one entry: the canonical pair (msb/lsb of each UUID) and its expiry.
+     */
+    interface EntryVisitor {
+        void visit(long msb1, long lsb1, long msb2, long lsb2, long expiresAt);
+    }
+
+    private static final int KEY_LONGS = 4;
+
+    // Slot i uses keys[i*4 .. i*4+3]; expiries[i] == 0 marks an empty slot
+    private long[] keys;
+    private long[] expiries;
+    private int mask;
+    private int size;
+
+    PairCooldownMap() {
+        allocate(16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity * KEY_LONGS];
+        expiries = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Set the cooldown end for a pair (order of the two players does not matter).
+     * Expiry must be positive.
+     */
+    synchronized void put(UUID player1, UUID player2, long expiresAt) {
+        if (expiresAt <= 0) throw new IllegalArgumentException("expiresAt must be positive");
+        if ((size + 1) * 2 > expiries.length) {
+            resize(expiries.length * 2);
+        }
+        boolean swap = isAfter(player1, player2);
+        UUID first = swap ? player2 : player1;
+        UUID second = swap ? player1 : player2;
+        insert(first.getMostSignificantBits(), first.getLeastSignificantBits(),
+            second.getMostSignificantBits(), second.getLeastSignificantBits(), expiresAt);
+    }
+
+    /**
+     * Get the cooldown end for a pair, or 0 if none is stored.
+     */
+    synchronized long get(UUID player1, UUID player2) {
+        int slot = find(player1, player2);
+        return slot < 0 ? 0L : expiries[slot];
+    }
+
+    /**
+     * Remove a pair. Returns true if it was present.
+     */
+    synchronized boolean remove(UUID player1, UUID player2) {
+        int slot = find(player1, player2);
+        if (slot < 0) return false;
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Remove a pair only if its stored expiry equals the given one (not renewed since).
+     */
+    synchronized boolean removeIfExpiry(UUID player1, UUID player2, long expiresAt) {
+        int slot = find(player1, player2);
+        if (slot < 0 || expiries[slot] != expiresAt) return false;
+        removeSlot(slot);
+        return true;
+    }
+
+    synchronized void clear() {
+        allocate(16);
+    }
+
+    synchronized void forEach(EntryVisitor visitor) {
+        for (int slot = 0; slot < expiries.length; slot++) {
+            if (expiries[slot] != 0) {
+                int k = slot * KEY_LONGS;
+                visitor.visit(keys[k], keys[k + 1], keys[k + 2], keys[k + 3], expiries[slot]);
+            }
+        }
+    }
+
+    // === INTERNALS ===
+
+    private static boolean isAfter(UUID a, UUID b) {
+        long msbA = a.getMostSignificantBits();
+        long msbB = b.getMostSignificantBits();
+        if (msbA != msbB) return msbA > msbB;
+        return a.getLeastSignificantBits() > b.getLeastSignificantBits();
+    }
+
+    private static int hash(long msb1, long lsb1, long msb2, long lsb2) {
+        long h = msb1 * 0x9E3779B97F4A7C15L;
+        h = (h ^ lsb1) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ msb2) * 0x165667B19E3779F9L;
+        h = (h ^ lsb2) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(UUID player1, UUID player2) {
+        boolean swap = isAfter(player1, player2);
+        UUID first = swap ? player2 : player1;
+        UUID second = swap ? player1 : player2;
+        long msb1 = first.getMostSignificantBits();
+        long lsb1 = first.getLeastSignificantBits();
+        long msb2 = second.getMostSignificantBits();
+        long lsb2 = second.getLeastSignificantBits();
+
+        int slot = hash(msb1, lsb1, msb2, lsb2) & mask;
+        while (expiries[slot] != 0) {
+            int k = slot * KEY_LONGS;
+            if (keys[k] == msb1 && keys[k + 1] == lsb1 && keys[k + 2] == msb2 && keys[k + 3] == lsb2) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long msb1, long lsb1, long msb2, long lsb2, long expiresAt) {
+        int slot = hash(msb1, lsb1, msb2, lsb2) & mask;
+        while (expiries[slot] != 0) {
+            int k = slot * KEY_LONGS;
+            if (keys[k] == msb1 && keys[k + 1] == lsb1 && keys[k + 2] == msb2 && keys[k + 3] == lsb2) {
+                expiries[slot] = expiresAt; // Existing pair - renew
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int k = slot * KEY_LONGS;
+        keys[k] = msb1;
+        keys[k + 1] = lsb1;
+        keys[k + 2] = msb2;
+        keys[k + 3] = lsb2;
+        expiries[slot] = expiresAt;
+        size++;
+    }
+
+    /**
+     * Backward-shift deletion: pull later entries of the probe chain into the hole.
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (expiries[next] != 0) {
+            int k = next * KEY_LONGS;
+            int home = hash(keys[k], keys[k + 1], keys[k + 2], keys[k + 3]) & mask;
+            // Move the entry if its home slot is not in the (hole, next] range
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                System.arraycopy(keys, k, keys, hole * KEY_LONGS, KEY_LONGS);
+                expiries[hole] = expiries[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        expiries[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldExpiries = expiries;
+        allocate(capacity);
+        for (int slot = 0; slot < oldExpiries.length; slot++) {
+            if (oldExpiries[slot] != 0) {
+                int k = slot * KEY_LONGS;
+                insert(oldKeys[k], oldKeys[k + 1], oldKeys[k + 2], oldKeys[k + 3], oldExpiries[slot]);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.simpledeathbans.data;
+
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.*;
+
+/**
+ * Scoring matchmaker for random Soul Link pairing.
+ *
+ * Instead of scoring every pair of waiting players, each player only draws candidates from
+ * two indexes built once per batch:
+ * - a spatial grid of CELL_SIZE x CELL_SIZE block cells per dimension (nearby players)
+ * - playtime buckets on a log2 scale of playtime since last death (players at a similar stage)
+ *
+ * Candidate edges are scored (proximity + playtime similarity) and the best overall pairing
+ * is built greedily from the highest-scoring edge down. Players left over are paired
+ * first-fit so nobody is stranded. Scoring stops once the per-batch edge budget is spent;
+ * the remaining players simply wait for the next batch.
+ */
+final class PartnerMatchmaker {
+
+    /**
+     * One waiting player: where they are and how long they have survived since their last death.
+     */
+    record Candidate(UUID player, ServerLevel level, double x, double z, long playtimeTicks) {}
+
+    /**
+     * Result of one batch. exhausted is true if the edge budget ran out before every
+     * waiting player was considered.
+     */
+    record Result(List<SoulLinkManager.Pairing> pairings, boolean exhausted) {}
+
+    interface Exclusion {
+        boolean isExcluded(UUID player1, UUID player2);
+    }
+
+    // Grid cell edge length in blocks
+    static final int CELL_SIZE = 256;
+
+    // Rings of cells searched around a player (1 = the 3x3 block of cells around them)
+    private static final int SEARCH_RADIUS_CELLS = 2;
+
+    // Candidates drawn from each index per player
+    private static final int CANDIDATES_PER_INDEX = 8;
+
+    // Scored edges per batch - bounds the work no matter how many players are waiting
+    static final int EDGE_BUDGET = 4096;
+
+    private static final double PROXIMITY_WEIGHT = 0.6;
+    private static final double PLAYTIME_WEIGHT = 0.4;
+
+    private record Edge(int first, int second, double score) {}
+
+    private PartnerMatchmaker() {
+    }
+
+    /**
+     * Pair as many candidates as possible, preferring nearby players with similar playtime.
+     */
+    static Result match(List<Candidate> candidates, Exclusion exclusion) {
+        int count = candidates.size();
+        if (count < 2) return new Result(List.of(), false);
+
+        // Build both indexes once per batch
+        Map<ServerLevel, Map<Long, List<Integer>>> grid = new IdentityHashMap<>();
+        Map<Integer, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Candidate candidate = candidates.get(i);
+            grid.computeIfAbsent(candidate.level(), level -> new HashMap<>())
+                .computeIfAbsent(cellKey(cell(candidate.x()), cell(candidate.z())), key -> new ArrayList<>())
+                .add(i);
+            buckets.computeIfAbsent(playtimeBucket(candidate.playtimeTicks()), key -> new ArrayList<>()).add(i);
+        }
+
+        // Score candidate edges within the budget
+        int budget = EDGE_BUDGET;
+        boolean exhausted = false;
+        Set<Long> seen = new HashSet<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < count && !exhausted; i++) {
+            Candidate player = candidates.get(i);
+            for (int j : nearby(grid, player)) {
+                if (budget == 0) { exhausted = true; break; }
+                budget -= addEdge(candidates, i, j, exclusion, seen, edges);
+            }
+            for (int j : similarPlaytime(buckets, player, i)) {
+                if (budget == 0) { exhausted = true; break; }
+                budget -= addEdge(candidates, i, j, exclusion, seen, edges);
+            }
+        }
+
+        // Best overall pairing: take edges from the highest score down
+        edges.sort((a, b) -> Double.compare(b.score(), a.score()));
+        boolean[] matched = new boolean[count];
+        List<SoulLinkManager.Pairing> pairings = new ArrayList<>();
+        for (Edge edge : edges) {
+            if (matched[edge.first()] || matched[edge.second()]) continue;
+            matched[edge.first()] = true;
+            matched[edge.second()] = true;
+            pairings.add(new SoulLinkManager.Pairing(
+                candidates.get(edge.first()).player(), candidates.get(edge.second()).player()));
+        }
+
+        // Leftovers (their candidates were taken): first-fit with whatever budget remains
+        for (int i = 0; i < count && budget > 0; i++) {
+            if (matched[i]) continue;
+            for (int j = i + 1; j < count && budget > 0; j++) {
+                if (matched[j]) continue;
+                budget--;
+                if (!exclusion.isExcluded(candidates.get(i).player(), candidates.get(j).player())) {
+                    matched[i] = true;
+                    matched[j] = true;
+                    pairings.add(new SoulLinkManager.Pairing(candidates.get(i).player(), candidates.get(j).player()));
+                    break;
+                }
+            }
+        }
+        if (budget == 0) exhausted = true;
+
+        return new Result(pairings, exhausted);
+    }
+
+    /**
+     * Score and record the edge i-j once. Returns the budget used (0 if skipped).
+     */
+    private static int addEdge(List<Candidate> candidates, int i, int j, Exclusion exclusion,
+                               Set<Long> seen, List<Edge> edges) {
+        if (i == j) return 0;
+        int first = Math.min(i, j);
+        int second = Math.max(i, j);
+        if (!seen.add(((long) first << 32) | second)) return 0;
+
+        Candidate a = candidates.get(first);
+        Candidate b = candidates.get(second);
+        if (!exclusion.isExcluded(a.player(), b.player())) {
+            edges.add(new Edge(first, second, score(a, b)));
+        }
+        return 1;
+    }
+
+    /**
+     * Pair score in [0, 1]: proximity (0 across dimensions) blended with playtime similarity.
+     */
+    static double score(Candidate a, Candidate b) {
+        double proximity = 0.0;
+        if (a.level() == b.level()) {
+            double distance = Math.hypot(a.x() - b.x(), a.z() - b.z());
+            proximity = 1.0 / (1.0 + distance / CELL_SIZE);
+        }
+        int bucketGap = Math.abs(playtimeBucket(a.playtimeTicks()) - playtimeBucket(b.playtimeTicks()));
+        double playtime = 1.0 / (1.0 + bucketGap);
+        return PROXIMITY_WEIGHT * proximity + PLAYTIME_WEIGHT * playtime;
+    }
+
+    /**
+     * Up to CANDIDATES_PER_INDEX players in the same and surrounding cells, closest rings first.
+     */
+    private static List<Integer> nearby(Map<ServerLevel, Map<Long, List<Integer>>> grid, Candidate player) {
+        Map<Long, List<Integer>> cells = grid.get(player.level());
+        List<Integer> result = new ArrayList<>(CANDIDATES_PER_INDEX);
+        int cellX = cell(player.x());
+        int cellZ = cell(player.z());
+        for (int ring = 0; ring <= SEARCH_RADIUS_CELLS; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) continue; // Ring border only
+                    List<Integer> members = cells.get(cellKey(cellX + dx, cellZ + dz));
+                    if (members == null) continue;
+                    for (int index : members) {
+                        result.add(index);
+                        if (result.size() > CANDIDATES_PER_INDEX) return result; // Includes the player
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Up to CANDIDATES_PER_INDEX players in the same playtime bucket, then the neighbouring ones.
+     * The start offset rotates with the player's index so everyone does not draw the same few.
+     */
+    private static List<Integer> similarPlaytime(Map<Integer, List<Integer>> buckets, Candidate player, int index) {
+        List<Integer> result = new ArrayList<>(CANDIDATES_PER_INDEX);
+        int bucket = playtimeBucket(player.playtimeTicks());
+        for (int offset : new int[] { 0, -1, 1 }) {
+            List<Integer> members = buckets.get(bucket + offset);
+            if (members == null) continue;
+            int size = members.size();
+            for (int k = 0; k < size && result.size() < CANDIDATES_PER_INDEX; k++) {
+                result.add(members.get((index + k) % size));
+            }
+            if (result.size() >= CANDIDATES_PER_INDEX) break;
+        }
+        return result;
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * log2 bucket of playtime in minutes: 0 = under a minute, 1 = 1 min, 2 = 2-3 min, 3 = 4-7 min, ...
+     */
+    static int playtimeBucket(long playtimeTicks) {
+        long minutes = Math.max(0L, playtimeTicks / 1200L);
+        return 64 - Long.numberOfLeadingZeros(minutes);
+    }
+}
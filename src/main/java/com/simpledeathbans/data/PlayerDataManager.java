@@ -4,6 +4,8 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.core.BlockPos;
@@ -26,6 +28,9 @@ public class PlayerDataManager {
     // UUID -> PlayerActivityData
     private final Map<UUID, PlayerActivityData> playerData = new ConcurrentHashMap<>();
     
+    // Changed in memory since the last save (written by saveIfDirty at the end of the tick)
+    private volatile boolean dirty = false;
+    
     public static class PlayerActivityData {
         public UUID playerUuid;
         public String playerName;
@@ -35,6 +40,9 @@ public class PlayerDataManager {
         public long totalPlaytimeSinceDeathTicks = 0; // ticks
         public long lastActivityCheckTime = 0; // millis since epoch
         
+        // Survival leaderboard: playtime since last death (not reset by mercy)
+        public long survivalTicks = 0; // ticks
+        
         // Activity tracking for anti-AFK
         public double lastCheckX = 0;
         public double lastCheckY = 0;
@@ -56,6 +64,7 @@ public class PlayerDataManager {
         public void onDeath() {
             lastDeathTime = System.currentTimeMillis();
             totalPlaytimeSinceDeathTicks = 0;
+            survivalTicks = 0;
         }
         
         public void startActivityCheck(ServerPlayer player) {
@@ -95,6 +104,15 @@ public class PlayerDataManager {
     }
     
     public void load() {
+        long start = Metric.start();
+        try {
+            readFile();
+        } finally {
+            Metric.PLAYER_DATA_LOAD.record(start);
+        }
+    }
+    
+    private void readFile() {
         if (Files.exists(dataFile)) {
             try {
                 String json = Files.readString(dataFile);
@@ -114,13 +132,23 @@ public class PlayerDataManager {
     }
     
     public void save() {
+        dirty = false;
+        long start = Metric.start();
+        try {
+            writeFile();
+        } finally {
+            Metric.PLAYER_DATA_SAVE.record(start);
+        }
+    }
+    
+    private void writeFile() {
         try {
             Files.createDirectories(dataFile.getParent());
             Map<String, PlayerActivityData> toSave = new HashMap<>();
             for (Map.Entry<UUID, PlayerActivityData> entry : playerData.entrySet()) {
                 toSave.put(entry.getKey().toString(), entry.getValue());
             }
-            Files.writeString(dataFile, GSON.toJson(toSave));
+            FlightEvents.writeString(dataFile, GSON.toJson(toSave));
         } catch (IOException e) {
             SimpleDeathBans.LOGGER.error("Failed to save player data", e);
         }
@@ -134,12 +162,34 @@ public class PlayerDataManager {
         return playerData.get(uuid);
     }
     
+    public Collection<PlayerActivityData> getAll() {
+        return Collections.unmodifiableCollection(playerData.values());
+    }
+    
     public void onPlayerDeath(UUID uuid, String name) {
         PlayerActivityData data = getOrCreate(uuid, name);
         data.onDeath();
         save();
     }
     
+    /**
+     * Restart a player's survival time. Only changes memory; the file is written by the
+     * next saveIfDirty(), so a whole cohort of deaths costs one save.
+     */
+    public void resetSurvival(UUID uuid, String name) {
+        getOrCreate(uuid, name).survivalTicks = 0;
+        dirty = true;
+    }
+    
+    /**
+     * Save if anything changed in memory since the last save.
+     */
+    public void saveIfDirty() {
+        if (dirty) {
+            save();
+        }
+    }
+    
     public void incrementPlaytime(UUID uuid, long ticks) {
         PlayerActivityData data = playerData.get(uuid);
         if (data != null) {
@@ -147,6 +197,17 @@ public class PlayerDataManager {
         }
     }
     
+    /**
+     * Add online time to a player's survival time.
+     * 
+     * @return the player's survival time in ticks
+     */
+    public long addSurvivalTicks(UUID uuid, String name, long ticks) {
+        PlayerActivityData data = getOrCreate(uuid, name);
+        data.survivalTicks += ticks;
+        return data.survivalTicks;
+    }
+    
     public void onBlockMined(UUID uuid, String name) {
         PlayerActivityData data = getOrCreate(uuid, name);
         data.incrementBlocksMined();
@@ -0,0 +1,106 @@
+package com.simpledeathbans.data;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Selects players for bulk admin commands (/sdb bulk ...).
+ *
+ * Parsed from space-separated options, e.g. "tier>=3 death>30d name=alt_*":
+ * - tier with >=, <=, >, < or = (current tier; players without one are tier 0)
+ * - death with the same operators and a duration like 45s, 30m, 1h30m or 2d: time since
+ *   the last recorded death (never died counts as longer than any duration)
+ * - name=pattern, case-insensitive, with * and ? wildcards
+ * - all, to select every known player on purpose (an empty filter, or one that bounds
+ *   nothing such as tier>=0 or name=*, is rejected without it)
+ *
+ * Bounds are inclusive; death ages are in milliseconds.
+ */
+public record PlayerFilter(int minTier, int maxTier, long minDeathAge, long maxDeathAge, Pattern name) {
+
+    private static final PlayerFilter ALL = new PlayerFilter(0, Integer.MAX_VALUE, 0L, Long.MAX_VALUE, null);
+
+    private static final Pattern OPTION = Pattern.compile("(tier|death)(>=|<=|>|<|=)(.+)");
+
+    public boolean matches(String playerName, int tier, long lastDeathTime, long now) {
+        if (tier < minTier || tier > maxTier) return false;
+        long age = lastDeathTime > 0 ? now - lastDeathTime : Long.MAX_VALUE;
+        if (age < minDeathAge || age > maxDeathAge) return false;
+        return name == null || (playerName != null && name.matcher(playerName).matches());
+    }
+
+    /**
+     * Parse filter options. Later options narrow earlier ones.
+     *
+     * @throws IllegalArgumentException with a message for the player on an unknown or
+     *         missing option
+     */
+    public static PlayerFilter parse(String options) {
+        if (options == null || options.isBlank()) {
+            throw new IllegalArgumentException("A filter is required (tier>=N, death>30d, name=pattern or all)");
+        }
+
+        PlayerFilter filter = ALL;
+        boolean all = false;
+        for (String option : options.trim().split("\\s+")) {
+            String lower = option.toLowerCase(Locale.ROOT);
+            if (lower.equals("all")) {
+                all = true;
+                continue;
+            }
+
+            if (lower.startsWith("name=") && lower.length() > "name=".length()) {
+                filter = new PlayerFilter(filter.minTier, filter.maxTier, filter.minDeathAge, filter.maxDeathAge,
+                    glob(option.substring("name=".length())));
+                continue;
+            }
+
+            Matcher matcher = OPTION.matcher(lower);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unknown filter: " + option
+                    + " (tier>=N, death>30d, name=pattern, all)");
+            }
+            String op = matcher.group(2);
+            if (matcher.group(1).equals("tier")) {
+                Bounds tier = Bounds.of(option, op, BanQuery.parseTier(matcher.group(3)), 0, Integer.MAX_VALUE);
+                filter = new PlayerFilter(Math.max(filter.minTier, (int) tier.min()),
+                    Math.min(filter.maxTier, (int) tier.max()), filter.minDeathAge, filter.maxDeathAge, filter.name);
+            } else {
+                Bounds age = Bounds.of(option, op, BanQuery.parseDuration(matcher.group(3)), 0L, Long.MAX_VALUE);
+                filter = new PlayerFilter(filter.minTier, filter.maxTier,
+                    Math.max(filter.minDeathAge, age.min()), Math.min(filter.maxDeathAge, age.max()), filter.name);
+            }
+        }
+        if (!all && filter.selectsEveryone()) {
+            throw new IllegalArgumentException("This filter selects every player; add all to confirm");
+        }
+        return filter;
+    }
+
+    private boolean selectsEveryone() {
+        return minTier <= 0 && maxTier == Integer.MAX_VALUE
+            && minDeathAge <= 0 && maxDeathAge == Long.MAX_VALUE
+            && (name == null || name.pattern().replace(".*", "").isEmpty());
+    }
+
+    private static Pattern glob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+}
@@ -0,0 +1,95 @@
+package com.simpledeathbans.data;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * A set of soul-linked players who share damage, hunger and the Death Pact.
+ * A classic soul link pair is a group of two; covens hold up to MAX_SIZE players.
+ *
+ * Groups are owned by SoulLinkManager, which maps every member to its group (the group-id
+ * index) and merges groups by moving the smaller one's members into the larger one.
+ * Besides the member UUIDs, each group keeps the members' live ServerPlayer instances so
+ * propagation iterates online members directly without player-list lookups.
+ */
+public final class SoulGroup {
+
+    /** Largest coven allowed */
+    public static final int MAX_SIZE = 8;
+
+    // Small sets (<= 8) that are read far more often than written - copy-on-write is cheap
+    private final Set<UUID> members = new CopyOnWriteArraySet<>();
+    private final List<ServerPlayer> online = new CopyOnWriteArrayList<>();
+
+    SoulGroup() {
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean contains(UUID player) {
+        return members.contains(player);
+    }
+
+    /**
+     * All member UUIDs (online or not).
+     */
+    public Set<UUID> members() {
+        return Set.copyOf(members);
+    }
+
+    /**
+     * Online members other than the given player.
+     */
+    public List<ServerPlayer> onlineMembersExcept(ServerPlayer player) {
+        List<ServerPlayer> others = new ArrayList<>(online.size());
+        for (ServerPlayer member : online) {
+            if (member != player && !member.getUUID().equals(player.getUUID())) {
+                others.add(member);
+            }
+        }
+        return others;
+    }
+
+    /**
+     * First online member other than the given player (the partner of a pair), or null.
+     */
+    ServerPlayer firstOnlineExcept(ServerPlayer player) {
+        for (ServerPlayer member : online) {
+            if (!member.getUUID().equals(player.getUUID())) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    // === MEMBERSHIP (SoulLinkManager only) ===
+
+    void addMember(UUID player) {
+        members.add(player);
+    }
+
+    void removeMember(UUID player) {
+        members.remove(player);
+        unbindOnline(player);
+    }
+
+    /**
+     * Track a member's current ServerPlayer, replacing a stale instance (respawn).
+     */
+    void bindOnline(ServerPlayer player) {
+        unbindOnline(player.getUUID());
+        online.add(player);
+    }
+
+    void unbindOnline(UUID player) {
+        online.removeIf(member -> member.getUUID().equals(player));
+    }
+}
@@ -2,10 +2,18 @@ package com.simpledeathbans.data;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.audit.AuditLog;
 import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.util.SoulGroupHolder;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.io.IOException;
@@ -14,9 +22,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
 
 /**
  * Manages Soul Link partnerships between players.
+ *
+ * Links are stored as soul groups: a pair is a group of two, a coven holds up to
+ * SoulGroup.MAX_SIZE players. Every linked player maps to its group object (the group-id
+ * index), so membership lookup is one map read, merging moves the smaller group's members
+ * into the larger one (union by size) and severing removes a single member.
  */
 public class SoulLinkManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
@@ -24,11 +38,11 @@ public class SoulLinkManager {
     private final Path dataFile;
     private final Path cooldownsFile;
     
-    // Player UUID -> Partner UUID (bidirectional)
-    private final Map<UUID, UUID> soulLinks = new ConcurrentHashMap<>();
+    // Player UUID -> the soul group they belong to (shared by every member)
+    private final Map<UUID, SoulGroup> groups = new ConcurrentHashMap<>();
     
-    // Pool of online players waiting for a partner (random mode)
-    private final Set<UUID> waitingPool = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // Online unpartnered players (eligible / cooling partitions) and the ex-partner exclusion index
+    private final SoulLinkMatcher matcher = new SoulLinkMatcher();
     
     // Pending link requests: requester UUID -> target UUID (manual mode)
     private final Map<UUID, UUID> pendingLinkRequests = new ConcurrentHashMap<>();
@@ -40,12 +54,23 @@ public class SoulLinkManager {
     // Player UUID -> timestamp when random reassign cooldown ends (12 hours - won't be randomly assigned)
     private final Map<UUID, Long> randomReassignCooldowns = new ConcurrentHashMap<>();
     
-    // "player1:player2" (sorted) -> timestamp when ex-partner cooldown ends (24 hours)
-    private final Map<String, Long> exPartnerCooldowns = new ConcurrentHashMap<>();
-    
     // Player UUID -> timestamp when compass cooldown ends (10 min)
     private final Map<UUID, Long> compassCooldowns = new ConcurrentHashMap<>();
     
+    // Every cooldown above, ordered by end time - drained each tick by processExpiredCooldowns
+    private final PriorityBlockingQueue<CooldownExpiry> expiryQueue =
+        new PriorityBlockingQueue<>(16, Comparator.comparingLong(CooldownExpiry::expiresAt));
+    
+    private enum CooldownKind { SEVER, RANDOM_REASSIGN, EX_PARTNER, COMPASS }
+    
+    // "other" is only set for EX_PARTNER
+    private record CooldownExpiry(long expiresAt, CooldownKind kind, UUID player, UUID other) {}
+    
+    /**
+     * Two players paired by the random matching engine.
+     */
+    public record Pairing(UUID first, UUID second) {}
+    
     public SoulLinkManager(MinecraftServer server) {
         this.server = server;
         Path rootPath = server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT);
@@ -54,20 +79,39 @@ public class SoulLinkManager {
     }
     
     public void load() {
+        long start = Metric.start();
+        try {
+            readFiles();
+        } finally {
+            Metric.SOUL_LINK_LOAD.record(start);
+        }
+    }
+    
+    private void readFiles() {
         // Load soul links
         if (Files.exists(dataFile)) {
             try {
                 String json = Files.readString(dataFile);
-                Type type = new TypeToken<Map<String, String>>(){}.getType();
-                Map<String, String> loaded = GSON.fromJson(json, type);
-                if (loaded != null) {
-                    soulLinks.clear();
-                    for (Map.Entry<String, String> entry : loaded.entrySet()) {
-                        soulLinks.put(UUID.fromString(entry.getKey()), UUID.fromString(entry.getValue()));
+                JsonElement root = JsonParser.parseString(json);
+                groups.clear();
+                if (root != null && root.isJsonObject()) {
+                    JsonObject object = root.getAsJsonObject();
+                    if (object.has("groups") && object.get("groups").isJsonArray()) {
+                        LinkData data = GSON.fromJson(object, LinkData.class);
+                        for (List<String> members : data.groups) {
+                            for (int i = 1; i < members.size(); i++) {
+                                merge(UUID.fromString(members.get(0)), UUID.fromString(members.get(i)));
+                            }
+                        }
+                    } else {
+                        // Legacy format: player UUID -> partner UUID (both directions)
+                        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                            merge(UUID.fromString(entry.getKey()), UUID.fromString(entry.getValue().getAsString()));
+                        }
                     }
                 }
-                SimpleDeathBans.LOGGER.info("Loaded {} soul links", soulLinks.size() / 2);
-            } catch (IOException e) {
+                SimpleDeathBans.LOGGER.info("Loaded {} soul groups", getAllGroups().size());
+            } catch (IOException | RuntimeException e) {
                 SimpleDeathBans.LOGGER.error("Failed to load soul links", e);
             }
         }
@@ -83,18 +127,37 @@ public class SoulLinkManager {
                     // Load and clean expired cooldowns
                     if (data.severCooldowns != null) {
                         data.severCooldowns.forEach((k, v) -> {
-                            if (v > now) severCooldowns.put(UUID.fromString(k), v);
+                            if (v > now) {
+                                severCooldowns.put(UUID.fromString(k), v);
+                                scheduleExpiry(v, CooldownKind.SEVER, UUID.fromString(k), null);
+                            }
                         });
                     }
                     if (data.randomReassignCooldowns != null) {
                         data.randomReassignCooldowns.forEach((k, v) -> {
-                            if (v > now) randomReassignCooldowns.put(UUID.fromString(k), v);
+                            if (v > now) {
+                                randomReassignCooldowns.put(UUID.fromString(k), v);
+                                scheduleExpiry(v, CooldownKind.RANDOM_REASSIGN, UUID.fromString(k), null);
+                            }
                         });
                     }
+                    if (data.exPartnerPairs != null) {
+                        for (long[] row : data.exPartnerPairs) {
+                            if (row.length == 5 && row[4] > now) {
+                                addExPartnerCooldown(new UUID(row[0], row[1]), new UUID(row[2], row[3]), row[4]);
+                            }
+                        }
+                    }
+                    // Migrate the legacy "player1:player2" (sorted) string-keyed format
                     if (data.exPartnerCooldowns != null) {
                         data.exPartnerCooldowns.forEach((k, v) -> {
-                            if (v > now) exPartnerCooldowns.put(k, v);
+                            int separator = k.indexOf(':');
+                            if (v > now && separator > 0) {
+                                addExPartnerCooldown(UUID.fromString(k.substring(0, separator)),
+                                    UUID.fromString(k.substring(separator + 1)), v);
+                            }
                         });
+                        SimpleDeathBans.LOGGER.info("Migrated {} legacy ex-partner cooldowns", data.exPartnerCooldowns.size());
                     }
                 }
                 SimpleDeathBans.LOGGER.info("Loaded soul link cooldowns");
@@ -105,14 +168,26 @@ public class SoulLinkManager {
     }
     
     public void save() {
+        long start = Metric.start();
+        try {
+            writeFiles();
+        } finally {
+            Metric.SOUL_LINK_SAVE.record(start);
+        }
+    }
+    
+    private void writeFiles() {
         // Save soul links
         try {
             Files.createDirectories(dataFile.getParent());
-            Map<String, String> toSave = new HashMap<>();
-            for (Map.Entry<UUID, UUID> entry : soulLinks.entrySet()) {
-                toSave.put(entry.getKey().toString(), entry.getValue().toString());
+            LinkData toSave = new LinkData();
+            toSave.groups = new ArrayList<>();
+            for (SoulGroup group : getAllGroups()) {
+                List<String> members = new ArrayList<>(group.size());
+                group.members().forEach(member -> members.add(member.toString()));
+                toSave.groups.add(members);
             }
-            Files.writeString(dataFile, GSON.toJson(toSave));
+            FlightEvents.writeString(dataFile, GSON.toJson(toSave));
         } catch (IOException e) {
             SimpleDeathBans.LOGGER.error("Failed to save soul links", e);
         }
@@ -127,35 +202,31 @@ public class SoulLinkManager {
             CooldownData data = new CooldownData();
             data.severCooldowns = new HashMap<>();
             data.randomReassignCooldowns = new HashMap<>();
-            data.exPartnerCooldowns = new HashMap<>(exPartnerCooldowns);
+            data.exPartnerPairs = matcher.exportExclusions(System.currentTimeMillis());
             
             severCooldowns.forEach((k, v) -> data.severCooldowns.put(k.toString(), v));
             randomReassignCooldowns.forEach((k, v) -> data.randomReassignCooldowns.put(k.toString(), v));
             
-            Files.writeString(cooldownsFile, GSON.toJson(data));
+            FlightEvents.writeString(cooldownsFile, GSON.toJson(data));
         } catch (IOException e) {
             SimpleDeathBans.LOGGER.error("Failed to save soul link cooldowns", e);
         }
     }
     
-    // Helper class for JSON serialization
+    // Helper classes for JSON serialization
+    private static class LinkData {
+        List<List<String>> groups; // Member UUIDs of each soul group
+    }
+    
     private static class CooldownData {
         Map<String, Long> severCooldowns;
         Map<String, Long> randomReassignCooldowns;
-        Map<String, Long> exPartnerCooldowns;
+        List<long[]> exPartnerPairs; // [msb1, lsb1, msb2, lsb2, cooldownEnd]
+        Map<String, Long> exPartnerCooldowns; // Legacy format, read for migration only
     }
     
     // === COOLDOWN HELPER METHODS ===
     
-    /**
-     * Create a consistent key for ex-partner pairs (sorted UUIDs)
-     */
-    private String getExPartnerKey(UUID player1, UUID player2) {
-        String s1 = player1.toString();
-        String s2 = player2.toString();
-        return s1.compareTo(s2) < 0 ? s1 + ":" + s2 : s2 + ":" + s1;
-    }
-    
     /**
      * Check if a player is on sever cooldown (cannot link with ANYONE)
      */
@@ -196,14 +267,25 @@ public class SoulLinkManager {
      * Check if two players are on ex-partner cooldown (cannot be paired)
      */
     public boolean isOnExPartnerCooldown(UUID player1, UUID player2) {
-        String key = getExPartnerKey(player1, player2);
-        Long cooldownEnd = exPartnerCooldowns.get(key);
-        if (cooldownEnd == null) return false;
-        if (System.currentTimeMillis() >= cooldownEnd) {
-            exPartnerCooldowns.remove(key);
-            return false;
+        return matcher.isExcluded(player1, player2, System.currentTimeMillis());
+    }
+    
+    /**
+     * Timestamp when a player can be randomly assigned again (0 if no cooldown)
+     */
+    private long getEligibleAt(UUID player) {
+        long severEnd = severCooldowns.getOrDefault(player, 0L);
+        long randomEnd = randomReassignCooldowns.getOrDefault(player, 0L);
+        return Math.max(severEnd, randomEnd);
+    }
+    
+    /**
+     * Put an online player without a partner into the matcher (eligible or cooling)
+     */
+    private void enrollIfUnpartnered(UUID player) {
+        if (!groups.containsKey(player) && server.getPlayerList().getPlayer(player) != null) {
+            matcher.enroll(player, getEligibleAt(player), System.currentTimeMillis());
         }
-        return true;
     }
     
     /**
@@ -237,33 +319,44 @@ public class SoulLinkManager {
     }
     
     /**
-     * Record a soul link severance - sets all relevant cooldowns
+     * Record a soul link severance - sets all relevant cooldowns.
+     * The sever and random reassign cooldowns go on the severing player and on former
+     * members left without a group (a dissolved pair); coven members who are still linked
+     * to each other only get the ex-partner cooldown with the severing player. Saves once.
      */
-    public void recordSever(UUID player, UUID exPartner, ModConfig config) {
+    public void recordSever(UUID player, Collection<UUID> formerMembers, ModConfig config) {
         long now = System.currentTimeMillis();
         
-        // Set sever cooldown (30 min default) for both players
-        long severEnd = now + (config.soulLinkSeverCooldownMinutes * 60000L);
-        severCooldowns.put(player, severEnd);
-        severCooldowns.put(exPartner, severEnd);
+        List<UUID> cooled = new ArrayList<>();
+        cooled.add(player);
+        for (UUID member : formerMembers) {
+            if (!groups.containsKey(member)) {
+                cooled.add(member);
+            }
+        }
         
-        // Set random reassign cooldown (12 hours default) for both players
-        // This starts AFTER sever cooldown, so add both times
-        long randomEnd = now + (config.soulLinkSeverCooldownMinutes * 60000L) 
-                            + (config.soulLinkRandomReassignCooldownHours * 3600000L);
-        randomReassignCooldowns.put(player, randomEnd);
-        randomReassignCooldowns.put(exPartner, randomEnd);
+        // Sever cooldown (30 min default), then random reassign cooldown (12 hours default)
+        // which starts AFTER the sever cooldown, so add both times
+        long severEnd = now + (config.soulLinkSeverCooldownMinutes * 60000L);
+        long randomEnd = severEnd + (config.soulLinkRandomReassignCooldownHours * 3600000L);
+        for (UUID id : cooled) {
+            severCooldowns.put(id, severEnd);
+            scheduleExpiry(severEnd, CooldownKind.SEVER, id, null);
+            randomReassignCooldowns.put(id, randomEnd);
+            scheduleExpiry(randomEnd, CooldownKind.RANDOM_REASSIGN, id, null);
+        }
         
-        // Set ex-partner cooldown (24 hours default)
+        // Every former member becomes an ex-partner (24 hours default)
         long exPartnerEnd = now + (config.soulLinkExPartnerCooldownHours * 3600000L);
-        exPartnerCooldowns.put(getExPartnerKey(player, exPartner), exPartnerEnd);
+        for (UUID member : formerMembers) {
+            addExPartnerCooldown(player, member, exPartnerEnd);
+        }
         
-        // Remove both from waiting pool
-        waitingPool.remove(player);
-        waitingPool.remove(exPartner);
+        // Move the unlinked ones (if online) into the cooling partition
+        cooled.forEach(this::enrollIfUnpartnered);
         
         saveCooldowns();
-        SimpleDeathBans.LOGGER.info("Recorded soul link severance between {} and {}", player, exPartner);
+        SimpleDeathBans.LOGGER.info("Recorded soul link severance between {} and {}", player, formerMembers);
     }
     
     /**
@@ -293,57 +386,230 @@ public class SoulLinkManager {
      * Set compass cooldown
      */
     public void setCompassCooldown(UUID player, int minutes) {
-        compassCooldowns.put(player, System.currentTimeMillis() + (minutes * 60000L));
+        long cooldownEnd = System.currentTimeMillis() + (minutes * 60000L);
+        compassCooldowns.put(player, cooldownEnd);
+        scheduleExpiry(cooldownEnd, CooldownKind.COMPASS, player, null);
+    }
+    
+    // === COOLDOWN EXPIRY QUEUE ===
+    
+    private void addExPartnerCooldown(UUID player1, UUID player2, long cooldownEnd) {
+        matcher.addExclusion(player1, player2, cooldownEnd);
+        scheduleExpiry(cooldownEnd, CooldownKind.EX_PARTNER, player1, player2);
+    }
+    
+    private void scheduleExpiry(long expiresAt, CooldownKind kind, UUID player, UUID other) {
+        expiryQueue.add(new CooldownExpiry(expiresAt, kind, player, other));
+    }
+    
+    /**
+     * Fire every cooldown that has ended: purge its entry and, for sever / random reassign /
+     * ex-partner cooldowns, make the affected players eligible for random matching again.
+     * Entries renewed with a later end time are left alone (their own expiry fires later).
+     * Cheap when nothing is due: a single peek at the head of the queue.
+     */
+    public void processExpiredCooldowns(long now) {
+        CooldownExpiry expiry;
+        while ((expiry = expiryQueue.peek()) != null && expiry.expiresAt() <= now) {
+            expiryQueue.poll();
+            switch (expiry.kind()) {
+                case SEVER -> {
+                    severCooldowns.remove(expiry.player(), expiry.expiresAt());
+                    enrollIfUnpartnered(expiry.player());
+                }
+                case RANDOM_REASSIGN -> {
+                    randomReassignCooldowns.remove(expiry.player(), expiry.expiresAt());
+                    enrollIfUnpartnered(expiry.player());
+                }
+                case EX_PARTNER -> matcher.expireExclusion(expiry.player(), expiry.other(), expiry.expiresAt());
+                case COMPASS -> compassCooldowns.remove(expiry.player(), expiry.expiresAt());
+            }
+        }
+    }
+    
+    /**
+     * Whether a random matching batch could pair someone new
+     */
+    public boolean hasPendingMatches() {
+        return matcher.isMatchPending();
     }
     
     /**
-     * Check if a player has a soul partner
+     * Check if a player has a soul partner (is in a soul group)
      */
     public boolean hasPartner(UUID playerUuid) {
-        return soulLinks.containsKey(playerUuid);
+        return groups.containsKey(playerUuid);
     }
     
     /**
-     * Get a player's soul partner UUID
+     * Get a player's soul partner UUID (for a coven, the first other member)
      */
     public Optional<UUID> getPartner(UUID playerUuid) {
-        return Optional.ofNullable(soulLinks.get(playerUuid));
+        SoulGroup group = groups.get(playerUuid);
+        if (group == null) {
+            return Optional.empty();
+        }
+        for (UUID member : group.members()) {
+            if (!member.equals(playerUuid)) {
+                return Optional.of(member);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Get the soul group a player belongs to
+     */
+    public Optional<SoulGroup> getGroup(UUID playerUuid) {
+        return Optional.ofNullable(groups.get(playerUuid));
     }
     
     /**
      * Get a player's soul partner as a ServerPlayer (if online)
      */
     public Optional<ServerPlayer> getPartnerPlayer(UUID playerUuid) {
-        UUID partnerUuid = soulLinks.get(playerUuid);
-        if (partnerUuid == null) {
-            return Optional.empty();
+        return getPartner(playerUuid).map(partnerUuid -> server.getPlayerList().getPlayer(partnerUuid));
+    }
+    
+    /**
+     * Get a player's online soul partner from the live binding (for a coven, the first
+     * other online member). Returns null if the player is unlinked or nobody else is online.
+     */
+    public static ServerPlayer getOnlinePartner(ServerPlayer player) {
+        SoulGroup group = ((SoulGroupHolder) player).simpledeathbans$getSoulGroup();
+        return group != null ? group.firstOnlineExcept(player) : null;
+    }
+    
+    /**
+     * Get every other online member of a player's soul group from the live binding.
+     * Empty if the player is unlinked.
+     */
+    public static List<ServerPlayer> getOnlineGroupMembers(ServerPlayer player) {
+        SoulGroup group = ((SoulGroupHolder) player).simpledeathbans$getSoulGroup();
+        return group != null ? group.onlineMembersExcept(player) : List.of();
+    }
+    
+    /**
+     * Bind a player to their soul group's live member list.
+     * Called when the player joins and when their ServerPlayer is replaced on respawn.
+     */
+    public void bindOnline(ServerPlayer player) {
+        enrollIfUnpartnered(player.getUUID());
+        SoulGroup group = groups.get(player.getUUID());
+        ((SoulGroupHolder) player).simpledeathbans$setSoulGroup(group);
+        if (group != null) {
+            group.bindOnline(player);
+        }
+    }
+    
+    /**
+     * Union the groups of two players (either may be unlinked). The smaller group's members
+     * move into the larger group. Returns false if the result would exceed SoulGroup.MAX_SIZE.
+     * Does not save.
+     */
+    private boolean merge(UUID player1, UUID player2) {
+        if (player1.equals(player2)) return false;
+        SoulGroup group1 = groups.get(player1);
+        SoulGroup group2 = groups.get(player2);
+        if (group1 != null && group1 == group2) return true;
+        
+        int size1 = group1 != null ? group1.size() : 1;
+        int size2 = group2 != null ? group2.size() : 1;
+        if (size1 + size2 > SoulGroup.MAX_SIZE) return false;
+        
+        if (group1 == null && group2 == null) {
+            SoulGroup group = new SoulGroup();
+            attach(group, player1);
+            attach(group, player2);
+        } else if (group1 == null) {
+            attach(group2, player1);
+        } else if (group2 == null) {
+            attach(group1, player2);
+        } else {
+            SoulGroup larger = size1 >= size2 ? group1 : group2;
+            SoulGroup smaller = larger == group1 ? group2 : group1;
+            for (UUID member : smaller.members()) {
+                attach(larger, member);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Add a player to a group, update the index and the live binding.
+     */
+    private void attach(SoulGroup group, UUID playerUuid) {
+        group.addMember(playerUuid);
+        groups.put(playerUuid, group);
+        matcher.remove(playerUuid);
+        ServerPlayer online = server.getPlayerList().getPlayer(playerUuid);
+        if (online != null) {
+            group.bindOnline(online);
+            ((SoulGroupHolder) online).simpledeathbans$setSoulGroup(group);
         }
-        return Optional.ofNullable(server.getPlayerList().getPlayer(partnerUuid));
     }
     
     /**
-     * Create a soul link between two players
+     * Remove a player from their group. A group left with a single member is dissolved.
+     * Returns the members the player was linked to. Does not save.
      */
-    public void createLink(UUID player1, UUID player2) {
-        soulLinks.put(player1, player2);
-        soulLinks.put(player2, player1);
-        waitingPool.remove(player1);
-        waitingPool.remove(player2);
+    private Set<UUID> detach(UUID playerUuid) {
+        SoulGroup group = groups.remove(playerUuid);
+        if (group == null) return Set.of();
+        
+        group.removeMember(playerUuid);
+        unbind(playerUuid);
+        enrollIfUnpartnered(playerUuid);
+        
+        Set<UUID> formerMembers = group.members();
+        if (formerMembers.size() < 2) {
+            for (UUID member : formerMembers) {
+                groups.remove(member);
+                group.removeMember(member);
+                unbind(member);
+                enrollIfUnpartnered(member);
+            }
+        }
+        return formerMembers;
+    }
+    
+    private void unbind(UUID playerUuid) {
+        ServerPlayer online = server.getPlayerList().getPlayer(playerUuid);
+        if (online != null) {
+            ((SoulGroupHolder) online).simpledeathbans$setSoulGroup(null);
+        }
+    }
+    
+    /**
+     * Create a soul link between two players (joins their groups).
+     * Returns false if the combined group would be larger than SoulGroup.MAX_SIZE.
+     */
+    public boolean createLink(UUID player1, UUID player2) {
+        if (!merge(player1, player2)) {
+            return false;
+        }
         save();
         
         SimpleDeathBans.LOGGER.info("Soul link created between {} and {}", player1, player2);
+        auditLinkCreated("manual", getGroup(player1).map(SoulGroup::members).orElse(Set.of(player1, player2)));
+        return true;
     }
     
     /**
-     * Break a soul link (called when one partner dies)
+     * Break a player's soul link - they leave their group; a pair is dissolved.
+     * Returns the members the player was linked to (empty if unlinked).
      */
-    public void breakLink(UUID playerUuid) {
-        UUID partner = soulLinks.remove(playerUuid);
-        if (partner != null) {
-            soulLinks.remove(partner);
+    public Set<UUID> breakLink(UUID playerUuid) {
+        Set<UUID> formerMembers = detach(playerUuid);
+        if (!formerMembers.isEmpty()) {
             save();
-            SimpleDeathBans.LOGGER.info("Soul link broken for {} and {}", playerUuid, partner);
+            SimpleDeathBans.LOGGER.info("Soul link broken between {} and {}", playerUuid, formerMembers);
+            AuditLog.event("soul_link_break")
+                .with("uuid", playerUuid)
+                .with("former_members", formerMembers)
+                .submit();
         }
+        return formerMembers;
     }
     
     /**
@@ -361,61 +627,93 @@ public class SoulLinkManager {
      * Manually set a soul link between two players (admin command)
      */
     public void setLink(UUID player1, UUID player2) {
-        // Clear existing links first
-        breakLink(player1);
-        breakLink(player2);
-        // Create new link
-        createLink(player1, player2);
+        setGroup(List.of(player1, player2));
+    }
+    
+    /**
+     * Manually form a soul group from the given players (admin command).
+     * Existing links of every player are cleared first. Returns false if the player
+     * count is not between 2 and SoulGroup.MAX_SIZE.
+     */
+    public boolean setGroup(Collection<UUID> players) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(players));
+        if (distinct.size() < 2 || distinct.size() > SoulGroup.MAX_SIZE) {
+            return false;
+        }
+        for (UUID player : distinct) {
+            detach(player);
+        }
+        for (int i = 1; i < distinct.size(); i++) {
+            merge(distinct.get(0), distinct.get(i));
+        }
+        save();
+        
+        SimpleDeathBans.LOGGER.info("Soul group formed: {}", distinct);
+        auditLinkCreated("admin", distinct);
+        return true;
+    }
+    
+    private static void auditLinkCreated(String source, Collection<UUID> members) {
+        AuditLog.event("soul_link_create")
+            .with("source", source)
+            .with("members", members)
+            .submit();
     }
     
     /**
-     * Try to assign a soul partner when a player joins
-     * Returns the partner's UUID if successfully paired
+     * Queue a joining player for random partner matching. They are paired by the next
+     * matching batch (assignWaitingPlayers), or parked in the cooling partition while
+     * still on cooldown.
      */
-    public Optional<UUID> tryAssignPartner(UUID joiningPlayer) {
+    public void queueForRandomPartner(UUID joiningPlayer) {
         // Don't assign if already has a partner
         if (hasPartner(joiningPlayer)) {
-            return Optional.empty();
+            return;
         }
-        
-        // Get config for cooldown checks
+        matcher.enroll(joiningPlayer, getEligibleAt(joiningPlayer), System.currentTimeMillis());
+    }
+    
+    /**
+     * Pair eligible waiting players in one scored batch (random mode), preferring nearby
+     * players with similar playtime since their last death. Saves once for the whole batch.
+     */
+    public List<Pairing> assignWaitingPlayers() {
         SimpleDeathBans mod = SimpleDeathBans.getInstance();
-        ModConfig config = mod != null ? mod.getConfig() : null;
+        PlayerDataManager playerDataManager = mod != null ? mod.getPlayerDataManager() : null;
         
-        // Check if this player can be randomly assigned
-        if (config != null && !canBeRandomlyAssigned(joiningPlayer, config)) {
-            // Still on cooldown, don't add to waiting pool or assign
-            return Optional.empty();
-        }
+        List<Pairing> pairings = matcher.matchBatch(System.currentTimeMillis(), playerUuid -> {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+            if (player == null) return null;
+            PlayerDataManager.PlayerActivityData activity =
+                playerDataManager != null ? playerDataManager.get(playerUuid) : null;
+            long playtimeTicks = activity != null ? activity.totalPlaytimeSinceDeathTicks : 0L;
+            return new PartnerMatchmaker.Candidate(playerUuid, (ServerLevel) player.level(),
+                player.getX(), player.getZ(), playtimeTicks);
+        });
+        if (pairings.isEmpty()) return pairings;
         
-        // Look for someone in the waiting pool
-        for (UUID waitingPlayer : waitingPool) {
-            if (!waitingPlayer.equals(joiningPlayer)) {
-                // Check if the waiting player can be randomly assigned
-                if (config != null && !canBeRandomlyAssigned(waitingPlayer, config)) {
-                    continue; // Skip players on cooldown
-                }
-                // Check ex-partner cooldown
-                if (config != null && isOnExPartnerCooldown(joiningPlayer, waitingPlayer)) {
-                    continue; // Skip ex-partners on cooldown
-                }
-                // Found a valid match!
-                createLink(joiningPlayer, waitingPlayer);
-                return Optional.of(waitingPlayer);
-            }
+        for (Pairing pairing : pairings) {
+            merge(pairing.first(), pairing.second());
+            SimpleDeathBans.LOGGER.info("Soul link created between {} and {}", pairing.first(), pairing.second());
+            auditLinkCreated("random", List.of(pairing.first(), pairing.second()));
         }
-        
-        // No match found, add to waiting pool (if not on cooldown)
-        waitingPool.add(joiningPlayer);
-        return Optional.empty();
+        save();
+        return pairings;
     }
     
     /**
-     * Handle player disconnect - remove from waiting pool and clear pending requests
+     * Handle player disconnect - remove from waiting pool, clear pending requests
+     * and drop the player from their group's live member list
      */
-    public void onPlayerDisconnect(UUID playerUuid) {
-        waitingPool.remove(playerUuid);
+    public void onPlayerDisconnect(ServerPlayer player) {
+        UUID playerUuid = player.getUUID();
+        matcher.remove(playerUuid);
         clearPendingRequestsFor(playerUuid);
+        SoulGroup group = ((SoulGroupHolder) player).simpledeathbans$getSoulGroup();
+        if (group != null) {
+            group.unbindOnline(playerUuid);
+        }
+        ((SoulGroupHolder) player).simpledeathbans$setSoulGroup(null);
         // Note: We don't break soul links on disconnect, only on death
     }
     
@@ -423,28 +721,72 @@ public class SoulLinkManager {
      * Check if a player is in the waiting pool
      */
     public boolean isWaitingForPartner(UUID playerUuid) {
-        return waitingPool.contains(playerUuid);
+        return matcher.isEligible(playerUuid);
     }
     
     /**
      * Add a player to the waiting pool
      */
     public void addToWaitingPool(UUID playerUuid) {
-        waitingPool.add(playerUuid);
+        matcher.enroll(playerUuid, 0L, System.currentTimeMillis());
     }
     
     /**
      * Remove a player from the waiting pool
      */
     public void removeFromWaitingPool(UUID playerUuid) {
-        waitingPool.remove(playerUuid);
+        matcher.remove(playerUuid);
     }
     
     /**
-     * Get all current soul links (for admin display)
+     * Get all current soul groups (for admin display)
      */
-    public Map<UUID, UUID> getAllLinks() {
-        return new HashMap<>(soulLinks);
+    public Collection<SoulGroup> getAllGroups() {
+        Set<SoulGroup> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(groups.values());
+        return distinct;
+    }
+    
+    // === STATE SIZES (JMX) ===
+    
+    public int getGroupCount() {
+        return getAllGroups().size();
+    }
+    
+    public int getLinkedPlayerCount() {
+        return groups.size();
+    }
+    
+    public int getWaitingPoolSize() {
+        return matcher.eligibleCount();
+    }
+    
+    public int getCoolingPoolSize() {
+        return matcher.coolingCount();
+    }
+    
+    public int getSeverCooldownCount() {
+        return severCooldowns.size();
+    }
+    
+    public int getRandomReassignCooldownCount() {
+        return randomReassignCooldowns.size();
+    }
+    
+    public int getCompassCooldownCount() {
+        return compassCooldowns.size();
+    }
+    
+    public int getExPartnerCooldownCount() {
+        return matcher.exclusionCount();
+    }
+    
+    public int getCooldownQueueSize() {
+        return expiryQueue.size();
+    }
+    
+    public int getPendingRequestCount() {
+        return pendingLinkRequests.size();
     }
     
     /**
@@ -0,0 +1,152 @@
+package com.simpledeathbans.data;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Indexed eligibility matching for random Soul Link assignment.
+ *
+ * Online players without a partner are kept in one of two partitions:
+ * - eligible: can be randomly assigned right now (the waiting pool)
+ * - cooling: on sever / random reassign cooldown, keyed by the time they become eligible
+ *   (moved to eligible by SoulLinkManager's cooldown expiry queue)
+ *
+ * Ex-partner cooldowns are kept in a PairCooldownMap keyed by the unordered player pair,
+ * so checking whether two players may be paired is one probe with no key building.
+ *
+ * Pairing runs in periodic batches scored by PartnerMatchmaker, which prefers nearby
+ * players with similar playtime and bounds the work done per batch.
+ */
+class SoulLinkMatcher {
+
+    // Online unpartnered players that can be randomly assigned right now
+    private final Set<UUID> eligible = ConcurrentHashMap.newKeySet();
+
+    // Online unpartnered players on cooldown -> timestamp when they become eligible
+    private final Map<UUID, Long> cooling = new ConcurrentHashMap<>();
+
+    // Unordered ex-partner pair -> timestamp when ex-partner cooldown ends
+    private final PairCooldownMap exclusions = new PairCooldownMap();
+
+    // Set when a batch could pair someone new (a player became eligible or an exclusion ended)
+    private volatile boolean matchPending = false;
+
+    /**
+     * Put an online unpartnered player into the eligible or cooling partition.
+     */
+    void enroll(UUID player, long eligibleAt, long now) {
+        if (eligibleAt > now) {
+            eligible.remove(player);
+            cooling.put(player, eligibleAt);
+        } else {
+            cooling.remove(player);
+            if (eligible.add(player)) {
+                matchPending = true;
+            }
+        }
+    }
+
+    boolean isMatchPending() {
+        return matchPending;
+    }
+
+    /**
+     * Remove a player from both partitions (linked or offline).
+     */
+    void remove(UUID player) {
+        eligible.remove(player);
+        cooling.remove(player);
+    }
+
+    boolean isEligible(UUID player) {
+        return eligible.contains(player);
+    }
+    
+    int eligibleCount() {
+        return eligible.size();
+    }
+    
+    int coolingCount() {
+        return cooling.size();
+    }
+    
+    int exclusionCount() {
+        return exclusions.size();
+    }
+
+    /**
+     * Record that two players cannot be paired until the given time.
+     */
+    void addExclusion(UUID player1, UUID player2, long until) {
+        exclusions.put(player1, player2, until);
+    }
+
+    /**
+     * Check if two players are excluded from being paired (ex-partner cooldown).
+     */
+    boolean isExcluded(UUID player1, UUID player2, long now) {
+        long until = exclusions.get(player1, player2);
+        if (until == 0L) return false;
+        if (now >= until) {
+            exclusions.remove(player1, player2);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drop an exclusion whose cooldown just ended (unless it was renewed with a later end).
+     */
+    void expireExclusion(UUID player1, UUID player2, long until) {
+        if (exclusions.removeIfExpiry(player1, player2, until)) {
+            if (eligible.contains(player1) && eligible.contains(player2)) {
+                matchPending = true;
+            }
+        }
+    }
+
+    /**
+     * Pair as many eligible players as possible. Matched players are removed from the
+     * eligible partition. Cooling players are promoted by SoulLinkManager's expiry queue.
+     * The profile function describes an eligible player for scoring (null if unavailable,
+     * such players are skipped this batch).
+     */
+    List<SoulLinkManager.Pairing> matchBatch(long now, Function<UUID, PartnerMatchmaker.Candidate> profile) {
+        matchPending = false;
+        if (eligible.size() < 2) return List.of();
+
+        List<PartnerMatchmaker.Candidate> candidates = new ArrayList<>(eligible.size());
+        for (UUID player : eligible) {
+            PartnerMatchmaker.Candidate candidate = profile.apply(player);
+            if (candidate != null) {
+                candidates.add(candidate);
+            }
+        }
+
+        PartnerMatchmaker.Result result = PartnerMatchmaker.match(candidates,
+            (player1, player2) -> isExcluded(player1, player2, now));
+        if (result.exhausted()) {
+            matchPending = true; // Budget spent - continue with the rest next batch
+        }
+
+        for (SoulLinkManager.Pairing pairing : result.pairings()) {
+            eligible.remove(pairing.first());
+            eligible.remove(pairing.second());
+        }
+        return result.pairings();
+    }
+
+    /**
+     * Export active exclusions as [msb1, lsb1, msb2, lsb2, cooldownEnd] rows, for persistence.
+     */
+    List<long[]> exportExclusions(long now) {
+        List<long[]> result = new ArrayList<>(exclusions.size());
+        exclusions.forEach((msb1, lsb1, msb2, lsb2, until) -> {
+            if (until > now) {
+                result.add(new long[] { msb1, lsb1, msb2, lsb2, until });
+            }
+        });
+        return result;
+    }
+}
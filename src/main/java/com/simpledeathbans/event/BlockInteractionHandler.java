@@ -76,14 +76,15 @@ public class BlockInteractionHandler {
                 !player.getOffhandItem().is(com.simpledeathbans.item.ModItems.RESURRECTION_TOTEM)) {
                 
                 ResurrectionRitualManager ritualManager = SimpleDeathBans.getInstance().getRitualManager();
-                if (ritualManager != null && ritualManager.isRitualActive()) {
+                boolean ritualActive = ritualManager != null && ritualManager.isRitualActiveAt((ServerLevel) world, pos);
+                if (ritualActive) {
                     // Try to commit to the ritual
                     boolean success = ritualManager.onBeaconInteract(serverPlayer, (ServerLevel) world, pos);
                     if (success) {
                         return InteractionResult.SUCCESS;
                     }
-                } else if (ritualManager != null && !ritualManager.isRitualActive()) {
-                    // No active ritual, inform player they need a totem to start
+                } else if (ritualManager != null) {
+                    // No active ritual at this altar, inform player they need a totem to start
                     serverPlayer.sendSystemMessage(Component.literal("§eYou need a Resurrection Totem to start a ritual.")
                         .withStyle(ChatFormatting.YELLOW));
                     serverPlayer.sendSystemMessage(Component.literal("§7(Sneak + right-click beacon while holding the totem)")
@@ -1,17 +1,26 @@
 package com.simpledeathbans.event;
 
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.audit.AuditLog;
 import com.simpledeathbans.config.ModConfig;
 import com.simpledeathbans.damage.SoulSeverDamageSource;
 import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.data.PlayerDataManager;
 import com.simpledeathbans.data.SoulLinkManager;
+import com.simpledeathbans.leaderboard.LeaderboardManager;
+import com.simpledeathbans.leaderboard.LeaderboardType;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.metrics.TickWatchdog;
 import com.simpledeathbans.network.SinglePlayerBanPayload;
+import com.simpledeathbans.util.Dimensions;
+import com.simpledeathbans.util.EffectBatcher;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
-import net.minecraft.world.entity.EntityType;
-import net.minecraft.world.entity.LightningBolt;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundSource;
@@ -20,25 +29,56 @@ import net.minecraft.network.chat.Style;
 import net.minecraft.network.chat.Component;
 import net.minecraft.ChatFormatting;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Handles player death events and implements the ban system.
+ * 
+ * Bans are group-committed: every death inside a tick is queued and the whole
+ * cohort is banned at the end of that tick with a single persistence write and a
+ * single batched disconnect task. A Death Pact wiping 80 players therefore writes
+ * the ban files once instead of 80 times.
  */
 public class DeathEventHandler {
     
+    // Deaths waiting for the end-of-tick ban commit (player UUID -> pending death)
+    private static final Map<UUID, PendingDeath> pendingDeaths = new LinkedHashMap<>();
+    
+    private record PendingDeath(ServerPlayer player, boolean isPvP) {}
+    
     public static void register() {
         ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> {
             if (entity instanceof ServerPlayer player) {
                 handlePlayerDeath(player, damageSource);
             }
         });
+        
+        // Commit all deaths of this tick in one batch
+        ServerTickEvents.END_SERVER_TICK.register(DeathEventHandler::flushPendingBans);
     }
     
     private static void handlePlayerDeath(ServerPlayer player, DamageSource damageSource) {
         SimpleDeathBans mod = SimpleDeathBans.getInstance();
         if (mod == null) return;
         
+        auditDeath(player, damageSource);
+        
+        // Restart the player's survival time (saved with the end-of-tick commit)
+        String playerName = player.getName().getString();
+        PlayerDataManager playerDataManager = mod.getPlayerDataManager();
+        if (playerDataManager != null) {
+            playerDataManager.resetSurvival(player.getUUID(), playerName);
+        }
+        LeaderboardManager leaderboards = mod.getLeaderboardManager();
+        if (leaderboards != null) {
+            leaderboards.set(LeaderboardType.SURVIVAL, player.getUUID(), playerName, 0);
+        }
+        
         ModConfig config = mod.getConfig();
         BanDataManager banManager = mod.getBanDataManager();
         SoulLinkManager soulLinkManager = mod.getSoulLinkManager();
@@ -63,7 +103,7 @@ public class DeathEventHandler {
         // Check if this is a Soul Sever death (from soul link)
         if (SoulSeverDamageSource.isSoulSever(damageSource)) {
             // This player died from their partner dying - handle as normal death
-            handleBanAndDisconnect(player, banManager, config, false);
+            queueBan(player, false);
             return;
         }
         
@@ -75,8 +115,25 @@ public class DeathEventHandler {
         // Determine if PvP death
         boolean isPvP = isPvPDeath(damageSource);
         
-        // Create ban
-        handleBanAndDisconnect(player, banManager, config, isPvP);
+        // Queue ban (committed with every other death of this tick)
+        queueBan(player, isPvP);
+    }
+    
+    private static void auditDeath(ServerPlayer player, DamageSource source) {
+        if (!AuditLog.isRunning()) return;
+        var killer = source.getEntity();
+        AuditLog.event("death")
+            .with("uuid", player.getUUID())
+            .with("player", player.getName().getString())
+            .with("cause", source.getMsgId())
+            .with("killer", killer != null ? killer.getName().getString() : null)
+            .with("pvp", isPvPDeath(source))
+            .with("soul_sever", SoulSeverDamageSource.isSoulSever(source))
+            .with("dimension", Dimensions.id(player.level().dimension()))
+            .with("x", player.getBlockX())
+            .with("y", player.getBlockY())
+            .with("z", player.getBlockZ())
+            .submit();
     }
     
     private static boolean isPvPDeath(DamageSource source) {
@@ -102,61 +159,139 @@ public class DeathEventHandler {
     }
     
     private static void handleSoulLinkDeath(ServerPlayer deadPlayer, SoulLinkManager soulLinkManager) {
-        UUID deadPlayerId = deadPlayer.getUUID();
+        // Live group binding - every other online member of the pair / coven
+        List<ServerPlayer> victims = new ArrayList<>();
+        for (ServerPlayer member : SoulLinkManager.getOnlineGroupMembers(deadPlayer)) {
+            if (member.isAlive()) {
+                victims.add(member);
+            }
+        }
+        if (victims.isEmpty()) return;
         
-        soulLinkManager.getPartner(deadPlayerId).ifPresent(partnerUuid -> {
-            ServerLevel world = (ServerLevel) deadPlayer.level();
-            ServerPlayer partner = world.getServer().getPlayerList().getPlayer(partnerUuid);
-            
-            if (partner != null && partner.isAlive()) {
-                // Play wither spawn sound to both
-                world.playSound(
-                    null, deadPlayer.getX(), deadPlayer.getY(), deadPlayer.getZ(),
-                    SoundEvents.WITHER_SPAWN, SoundSource.PLAYERS,
-                    1.0f, 1.0f
-                );
-                
+        ServerLevel world = (ServerLevel) deadPlayer.level();
+        
+        // Play wither spawn sound to the dead player and every victim
+        world.playSound(
+            null, deadPlayer.getX(), deadPlayer.getY(), deadPlayer.getZ(),
+            SoundEvents.WITHER_SPAWN, SoundSource.PLAYERS,
+            1.0f, 1.0f
+        );
+        
+        // Send soul sever message
+        Component soulSeverMessage = Component.literal("Your soul has been severed")
+            .withStyle(Style.EMPTY.withColor(ChatFormatting.DARK_RED).withItalic(true));
+        deadPlayer.sendSystemMessage(soulSeverMessage);
+        
+        for (ServerPlayer partner : victims) {
+            ServerLevel partnerWorld = (ServerLevel) partner.level();
+            partnerWorld.playSound(
+                null, partner.getX(), partner.getY(), partner.getZ(),
+                SoundEvents.WITHER_SPAWN, SoundSource.PLAYERS,
+                1.0f, 1.0f
+            );
+            partner.sendSystemMessage(soulSeverMessage);
+        }
+        
+        // Kill every member with soul sever damage (delayed to avoid recursion)
+        world.getServer().execute(() -> {
+            FlightEvents.DeathPact event = new FlightEvents.DeathPact();
+            event.begin();
+            for (ServerPlayer partner : victims) {
                 ServerLevel partnerWorld = (ServerLevel) partner.level();
-                partnerWorld.playSound(
-                    null, partner.getX(), partner.getY(), partner.getZ(),
-                    SoundEvents.WITHER_SPAWN, SoundSource.PLAYERS,
-                    1.0f, 1.0f
-                );
-                
-                // Send soul sever message
-                Component soulSeverMessage = Component.literal("Your soul has been severed")
-                    .withStyle(Style.EMPTY.withColor(ChatFormatting.DARK_RED).withItalic(true));
-                partner.sendSystemMessage(soulSeverMessage);
-                deadPlayer.sendSystemMessage(soulSeverMessage);
-                
-                // Kill partner with soul sever damage (delayed to avoid recursion)
-                SoulSeverDamageSource.markSoulSeverTarget(partnerUuid);
-                partnerWorld.getServer().execute(() -> {
-                    try {
-                        DamageSource soulSeverDamage = SoulSeverDamageSource.create(partnerWorld, deadPlayer);
-                        partner.hurtServer(partnerWorld, soulSeverDamage, Float.MAX_VALUE);
-                    } finally {
-                        SoulSeverDamageSource.clearSoulSeverTarget(partnerUuid);
-                    }
-                });
+                DamageSource soulSeverDamage = SoulSeverDamageSource.create(partnerWorld, deadPlayer);
+                partner.hurtServer(partnerWorld, soulSeverDamage, Float.MAX_VALUE);
+            }
+            if (event.shouldCommit()) {
+                event.kind = "SOUL_LINK";
+                event.trigger = deadPlayer.getName().getString();
+                event.outcome = "ALL_DIED";
+                event.players = victims.size() + 1;
+                event.victims = victims.size();
+                event.commit();
             }
         });
     }
     
-    private static void handleBanAndDisconnect(ServerPlayer player, BanDataManager banManager, ModConfig config, boolean isPvP) {
-        // Calculate ban time
-        int banMinutes = banManager.calculateBanMinutes(player.getUUID(), isPvP);
+    /**
+     * Queue a dead player for the end-of-tick ban commit.
+     */
+    private static void queueBan(ServerPlayer player, boolean isPvP) {
+        pendingDeaths.putIfAbsent(player.getUUID(), new PendingDeath(player, isPvP));
+    }
+    
+    /**
+     * Bans every player who died during this tick in one batch.
+     * Called at the end of each server tick and once more on shutdown.
+     */
+    public static void flushPendingBans(MinecraftServer server) {
+        long start = Metric.start();
+        try {
+            commitPendingBans(server);
+        } finally {
+            Metric.TICK_DEATHS.record(start);
+        }
+    }
+    
+    private static void commitPendingBans(MinecraftServer server) {
+        SimpleDeathBans mod = SimpleDeathBans.getInstance();
+        
+        // Player data changed by this tick's deaths is written once, banned or not
+        PlayerDataManager playerDataManager = mod != null ? mod.getPlayerDataManager() : null;
+        if (playerDataManager != null) {
+            playerDataManager.saveIfDirty();
+        }
+        
+        if (pendingDeaths.isEmpty()) return;
+        
+        List<PendingDeath> cohort = new ArrayList<>(pendingDeaths.values());
+        pendingDeaths.clear();
+        TickWatchdog.involve(Metric.TICK_DEATHS, cohort.size());
         
-        // Create ban entry
-        BanDataManager.BanEntry banEntry = banManager.createBan(player.getUUID(), player.getName().getString(), banMinutes);
+        if (mod == null) return;
+        
+        ModConfig config = mod.getConfig();
+        BanDataManager banManager = mod.getBanDataManager();
+        if (config == null || banManager == null) return;
         
+        // Compute tiers and durations for the whole cohort, then persist once
+        List<BanDataManager.BanRequest> requests = new ArrayList<>(cohort.size());
+        for (PendingDeath death : cohort) {
+            requests.add(new BanDataManager.BanRequest(
+                death.player().getUUID(), death.player().getName().getString(), death.isPvP()));
+        }
+        Map<UUID, BanDataManager.BanEntry> created = new HashMap<>();
+        for (BanDataManager.BanEntry entry : banManager.createBans(requests)) {
+            created.put(entry.playerId(), entry);
+        }
+        
+        Map<ServerPlayer, Component> disconnects = new LinkedHashMap<>();
+        for (PendingDeath death : cohort) {
+            BanDataManager.BanEntry banEntry = created.get(death.player().getUUID());
+            if (banEntry != null) {
+                handleBanAndDisconnect(death.player(), banEntry, config, disconnects);
+            }
+        }
+        
+        // MULTIPLAYER: Disconnect the whole cohort in one scheduled task
+        if (!disconnects.isEmpty()) {
+            server.execute(() -> disconnects.forEach((player, kickMessage) -> 
+                player.connection.disconnect(kickMessage)));
+        }
+        
+        if (cohort.size() > 1) {
+            SimpleDeathBans.LOGGER.info("Committed {} death bans in a single batch", created.size());
+        }
+    }
+    
+    private static void handleBanAndDisconnect(ServerPlayer player, BanDataManager.BanEntry banEntry, ModConfig config,
+                                               Map<ServerPlayer, Component> disconnects) {
         // Ghost Echo effect
         if (config.enableGhostEcho) {
             performGhostEcho(player, banEntry);
         }
         
         // Build kick message
-        int tier = banManager.getTier(player.getUUID());
+        int tier = banEntry.banTier();
         String timeRemaining = banEntry.getRemainingTimeFormatted();
         
         Component kickMessage = Component.empty()
@@ -173,6 +308,7 @@ public class DeathEventHandler {
         // This allows the client to properly save the world before disconnecting,
         // avoiding the OverlappingFileLockException that occurs with server-side disconnect.
         if (world.getServer().isSingleplayer()) {
+            long banMinutes = (banEntry.banEndTime() - banEntry.banStartTime()) / 60000L;
             SimpleDeathBans.LOGGER.info("Single-player death: Sending ban notification to {} ({} minutes, tier {})", 
                 player.getName().getString(), banMinutes, tier);
             
@@ -191,24 +327,16 @@ public class DeathEventHandler {
             return;
         }
         
-        // MULTIPLAYER: Disconnect the player
-        world.getServer().execute(() -> {
-            player.connection.disconnect(kickMessage);
-        });
+        // MULTIPLAYER: Disconnect the player (batched by flushPendingBans)
+        disconnects.put(player, kickMessage);
     }
     
     private static void performGhostEcho(ServerPlayer player, BanDataManager.BanEntry banEntry) {
         ServerLevel world = (ServerLevel) player.level();
         
         // Spawn cosmetic lightning at death location (no damage, no fire)
-        //? if >=26.2 {
-        LightningBolt lightning = new LightningBolt(net.minecraft.world.entity.EntityTypes.LIGHTNING_BOLT, world);
-        //?} else {
-        /*LightningBolt lightning = new LightningBolt(EntityType.LIGHTNING_BOLT, world);*/
-        //?}
-        lightning.teleportTo(player.getX(), player.getY(), player.getZ());
-        lightning.setVisualOnly(true); // No damage, no fire
-        world.addFreshEntity(lightning);
+        // Batched: simultaneous deaths at the same spot share one bolt
+        EffectBatcher.lightning(world, player.getX(), player.getY(), player.getZ());
         
         // Broadcast custom death message with styled formatting
         // §k = obfuscated, §4 = dark red, §5 = dark purple, §c = red
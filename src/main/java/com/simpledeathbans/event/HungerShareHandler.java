@@ -3,11 +3,10 @@ package com.simpledeathbans.event;
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.config.ModConfig;
 import com.simpledeathbans.data.SoulLinkManager;
-import com.simpledeathbans.util.DamageShareTracker;
+import com.simpledeathbans.metrics.Metric;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.level.ServerLevel;
 
 import java.util.*;
 
@@ -35,6 +34,15 @@ public class HungerShareHandler {
     }
     
     private static void onServerTick(MinecraftServer server) {
+        long start = Metric.start();
+        try {
+            shareHunger(server);
+        } finally {
+            Metric.TICK_HUNGER.record(start);
+        }
+    }
+    
+    private static void shareHunger(MinecraftServer server) {
         SimpleDeathBans mod = SimpleDeathBans.getInstance();
         if (mod == null) return;
         
@@ -135,40 +143,42 @@ public class HungerShareHandler {
     }
     
     /**
-     * Share hunger change to soul-linked partner (Soul Link mode)
+     * Share hunger change to soul-linked partners (Soul Link mode, every online group member)
      * @param hungerDelta positive = gained hunger, negative = lost hunger
      */
     private static void shareHungerToPartner(ServerPlayer source, int hungerDelta, SoulLinkManager soulLinkManager) {
         UUID sourceId = source.getUUID();
         
-        Optional<UUID> partnerUuid = soulLinkManager.getPartner(sourceId);
-        if (partnerUuid.isEmpty()) return;
+        // Live group binding - empty if unlinked or no other member online
+        List<ServerPlayer> members = SoulLinkManager.getOnlineGroupMembers(source);
+        if (members.isEmpty()) return;
         
-        ServerLevel world = (ServerLevel) source.level();
-        ServerPlayer partner = world.getServer().getPlayerList().getPlayer(partnerUuid.get());
-        
-        if (partner == null || !partner.isAlive()) return;
-        
-        UUID partnerId = partner.getUUID();
-        
-        // Skip if partner is already being processed
-        if (processingHunger.contains(partnerId)) return;
-        
-        // Mark both as processing
         processingHunger.add(sourceId);
-        processingHunger.add(partnerId);
         
         try {
-            // Apply hunger change to partner (clamp between 0 and 20)
-            int currentHunger = partner.getFoodData().getFoodLevel();
-            int newHunger = Math.max(0, Math.min(20, currentHunger + hungerDelta));
-            partner.getFoodData().setFoodLevel(newHunger);
-            
-            // Update tracking to prevent re-triggering
-            previousHunger.put(partnerId, newHunger);
+            for (ServerPlayer partner : members) {
+                if (!partner.isAlive()) continue;
+                
+                UUID partnerId = partner.getUUID();
+                
+                // Skip if partner is already being processed
+                if (processingHunger.contains(partnerId)) continue;
+                
+                processingHunger.add(partnerId);
+                try {
+                    // Apply hunger change to partner (clamp between 0 and 20)
+                    int currentHunger = partner.getFoodData().getFoodLevel();
+                    int newHunger = Math.max(0, Math.min(20, currentHunger + hungerDelta));
+                    partner.getFoodData().setFoodLevel(newHunger);
+                    
+                    // Update tracking to prevent re-triggering
+                    previousHunger.put(partnerId, newHunger);
+                } finally {
+                    processingHunger.remove(partnerId);
+                }
+            }
         } finally {
             processingHunger.remove(sourceId);
-            processingHunger.remove(partnerId);
         }
     }
     
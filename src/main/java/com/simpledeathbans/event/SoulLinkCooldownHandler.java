@@ -10,99 +10,67 @@ import net.minecraft.sounds.SoundSource;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.network.chat.Component;
 
-import java.util.Optional;
-import java.util.UUID;
-
 /**
- * Handles periodic checking of soul link cooldowns and auto-reassignment.
- * Runs at a configurable interval to check if any players' cooldowns have expired and
- * attempts to reassign them if random partner mode is enabled.
+ * Drives soul link cooldown expiry and random auto-reassignment.
+ * Each tick fires the cooldowns that just ended (at their exact end time, no interval scan).
+ * If random partner mode is enabled and someone new became eligible, the waiting players
+ * are paired in a scored batch once per MATCH_INTERVAL_TICKS, so a batch sees everyone who
+ * joined in the meantime and can pick nearby partners.
  */
 public class SoulLinkCooldownHandler {
     
-    private static long lastCheckTick = 0;
+    // One matching batch per second at most
+    private static final int MATCH_INTERVAL_TICKS = 20;
     
     /**
-     * Called on server tick to periodically check cooldowns.
+     * Called on every server tick. Cheap when nothing is due.
      */
     public static void onServerTick(MinecraftServer server) {
-        long currentTick = server.getTickCount();
-        
         SimpleDeathBans mod = SimpleDeathBans.getInstance();
         if (mod == null) return;
         
         ModConfig config = mod.getConfig();
-        if (config == null) return;
-        
-        // Calculate check interval from config (default 60 minutes = 1 hour)
-        // Convert minutes to ticks: minutes * 60 seconds * 20 ticks/second
-        long checkIntervalTicks = config.soulLinkRandomAssignCheckIntervalMinutes * 60L * 20L;
-        
-        // Only check at the configured interval
-        if (currentTick - lastCheckTick < checkIntervalTicks) {
-            return;
-        }
-        lastCheckTick = currentTick;
-        
         SoulLinkManager soulLinkManager = mod.getSoulLinkManager();
         
-        if (!config.enableSoulLink || soulLinkManager == null) {
+        if (config == null || !config.enableSoulLink || soulLinkManager == null) {
             return;
         }
         
-        // Only process in random partner mode
-        if (!config.soulLinkRandomPartner) {
+        // Fire cooldowns that ended (purges entries, promotes players to eligible)
+        soulLinkManager.processExpiredCooldowns(System.currentTimeMillis());
+        
+        // Only process in random partner mode, and only when someone new can be paired
+        if (!config.soulLinkRandomPartner || server.getTickCount() % MATCH_INTERVAL_TICKS != 0
+                || !soulLinkManager.hasPendingMatches()) {
             return;
         }
         
-        // Check each online player who doesn't have a partner
-        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-            UUID playerId = player.getUUID();
-            
-            // Skip if already has a partner
-            if (soulLinkManager.hasPartner(playerId)) {
-                continue;
-            }
-            
-            // Skip if still on sever cooldown
-            if (soulLinkManager.isOnSeverCooldown(playerId)) {
-                continue;
-            }
-            
-            // Skip if on random reassign cooldown
-            if (soulLinkManager.isOnRandomReassignCooldown(playerId)) {
-                continue;
-            }
+        // Pair eligible waiting players in one scored batch (cooldowns that ended are promoted first)
+        for (SoulLinkManager.Pairing pairing : soulLinkManager.assignWaitingPlayers()) {
+            ServerPlayer player = server.getPlayerList().getPlayer(pairing.first());
+            ServerPlayer partner = server.getPlayerList().getPlayer(pairing.second());
             
-            // Player is eligible for random assignment - try to find a partner
-            Optional<UUID> assignedPartner = soulLinkManager.tryAssignPartner(playerId);
-            
-            if (assignedPartner.isPresent()) {
-                // Successfully paired!
-                ServerPlayer partner = server.getPlayerList().getPlayer(assignedPartner.get());
+            if (player != null && partner != null) {
+                String partnerName = partner.getName().getString();
+                String playerName = player.getName().getString();
+                
+                // Notify both players with mystical message
+                player.sendSystemMessage(
+                    Component.literal("§5✦ Your souls are now intertwined with §d§l" + partnerName + " §5✦"));
+                partner.sendSystemMessage(
+                    Component.literal("§5✦ Your souls are now intertwined with §d§l" + playerName + " §5✦"));
+                
+                // Play binding sound to both
+                ServerLevel world = (ServerLevel) player.level();
+                world.playSound(null, player.getX(), player.getY(), player.getZ(),
+                    SoundEvents.RESPAWN_ANCHOR_SET_SPAWN, SoundSource.PLAYERS, 1.0f, 0.8f);
+                
+                ServerLevel partnerWorld = (ServerLevel) partner.level();
+                partnerWorld.playSound(null, partner.getX(), partner.getY(), partner.getZ(),
+                    SoundEvents.RESPAWN_ANCHOR_SET_SPAWN, SoundSource.PLAYERS, 1.0f, 0.8f);
                 
-                if (partner != null) {
-                    String partnerName = partner.getName().getString();
-                    String playerName = player.getName().getString();
-                    
-                    // Notify both players with mystical message
-                    player.sendSystemMessage(
-                        Component.literal("§5✦ Your souls are now intertwined with §d§l" + partnerName + " §5✦"));
-                    partner.sendSystemMessage(
-                        Component.literal("§5✦ Your souls are now intertwined with §d§l" + playerName + " §5✦"));
-                    
-                    // Play binding sound to both
-                    ServerLevel world = (ServerLevel) player.level();
-                    world.playSound(null, player.getX(), player.getY(), player.getZ(),
-                        SoundEvents.RESPAWN_ANCHOR_SET_SPAWN, SoundSource.PLAYERS, 1.0f, 0.8f);
-                    
-                    ServerLevel partnerWorld = (ServerLevel) partner.level();
-                    partnerWorld.playSound(null, partner.getX(), partner.getY(), partner.getZ(),
-                        SoundEvents.RESPAWN_ANCHOR_SET_SPAWN, SoundSource.PLAYERS, 1.0f, 0.8f);
-                    
-                    SimpleDeathBans.LOGGER.info("Soul link auto-assigned after cooldown expired: {} <-> {}", 
-                        playerName, partnerName);
-                }
+                SimpleDeathBans.LOGGER.info("Soul link auto-assigned: {} <-> {}", 
+                    playerName, partnerName);
             }
         }
     }
@@ -2,11 +2,8 @@ package com.simpledeathbans.event;
 
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.config.ModConfig;
-import com.simpledeathbans.damage.SoulSeverDamageSource;
 import com.simpledeathbans.data.SoulLinkManager;
 import com.simpledeathbans.item.ModItems;
-import com.simpledeathbans.util.DamageShareTracker;
-import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 import net.fabricmc.fabric.api.event.player.UseEntityCallback;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.server.level.ServerPlayer;
@@ -18,7 +15,9 @@ import net.minecraft.world.InteractionResult;
 import net.minecraft.ChatFormatting;
 import net.minecraft.world.InteractionHand;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,7 +26,7 @@ import java.util.UUID;
  * Handles Soul Link mechanics:
  * - Auto-assignment of partners on join (if random partner mode)
  * - Manual partner selection via shift+right-click (if not random mode)
- * - Damage sharing between linked players
+ * - Damage sharing is handled by DamagePropagationEngine
  * - Totem saves partner feature
  */
 public class SoulLinkEventHandler {
@@ -37,52 +36,6 @@ public class SoulLinkEventHandler {
     private static final long INTERACTION_COOLDOWN_MS = 500; // 500ms cooldown
     
     public static void register() {
-        // Register damage event for soul link damage sharing
-        ServerLivingEntityEvents.ALLOW_DAMAGE.register((entity, source, amount) -> {
-            if (!(entity instanceof ServerPlayer player)) {
-                return true; // Allow damage for non-players
-            }
-            
-            SimpleDeathBans mod = SimpleDeathBans.getInstance();
-            if (mod == null) return true;
-            
-            ModConfig config = mod.getConfig();
-            SoulLinkManager soulLinkManager = mod.getSoulLinkManager();
-            
-            if (config == null || !config.enableSoulLink || soulLinkManager == null) {
-                return true;
-            }
-            
-            // MUTUAL EXCLUSIVITY: If Shared Health is enabled, Soul Link damage sharing is disabled
-            if (config.enableSharedHealth) {
-                return true; // Let SharedHealthHandler handle all damage sharing
-            }
-            
-            // SINGLE-PLAYER: Skip soul link entirely (no other players possible)
-            ServerLevel world = (ServerLevel) player.level();
-            if (world.getServer().isSingleplayer()) {
-                return true;
-            }
-            
-            // Don't share soul sever damage (prevents infinite loops)
-            if (SoulSeverDamageSource.isSoulSever(source)) {
-                return true;
-            }
-            
-            // Prevent recursive damage sharing (GLOBAL check across all damage share handlers)
-            UUID playerId = player.getUUID();
-            if (DamageShareTracker.isProcessing(playerId)) {
-                return true;
-            }
-            
-            // Share damage to partner (mixin handles totem saves for lethal damage)
-            // soulLinkDamageSharePercent: 100 = 100% of damage shared (1:1 ratio)
-            float sharedDamage = (float) (amount * config.soulLinkDamageSharePercent / 100.0);
-            shareDamageToPartner(player, soulLinkManager, sharedDamage);
-            
-            return true; // Allow original damage
-        });
-        
         // Register shift+right-click on player for manual soul linking
         UseEntityCallback.EVENT.register((player, world, hand, entity, hitResult) -> {
             if (world.isClientSide() || hand != InteractionHand.MAIN_HAND) {
@@ -241,39 +194,6 @@ public class SoulLinkEventHandler {
         });
     }
     
-    /**
-     * Share damage to soul-linked partner.
-     * Only shares to partner if they're online, alive, and in a different position.
-     */
-    private static void shareDamageToPartner(ServerPlayer damagedPlayer, 
-                                              SoulLinkManager soulLinkManager, 
-                                              double damageAmount) {
-        UUID playerId = damagedPlayer.getUUID();
-        
-        soulLinkManager.getPartner(playerId).ifPresent(partnerUuid -> {
-            // Prevent self-link damage (safety check)
-            if (playerId.equals(partnerUuid)) {
-                SimpleDeathBans.LOGGER.warn("Player {} is linked to themselves - skipping damage share", damagedPlayer.getName().getString());
-                return;
-            }
-            
-            ServerLevel world = (ServerLevel) damagedPlayer.level();
-            ServerPlayer partner = world.getServer().getPlayerList().getPlayer(partnerUuid);
-            
-            if (partner != null && partner.isAlive()) {
-                // Mark as processing GLOBALLY to prevent cross-handler recursion
-                DamageShareTracker.markProcessing(partnerUuid);
-                try {
-                    ServerLevel partnerWorld = (ServerLevel) partner.level();
-                    // Use magic damage for soul link damage sharing (0.5 hearts = 1.0 damage)
-                    partner.hurtServer(partnerWorld, partnerWorld.damageSources().magic(), (float) damageAmount);
-                } finally {
-                    DamageShareTracker.clearProcessing(partnerUuid);
-                }
-            }
-        });
-    }
-    
     /**
      * Called when a player joins to:
      * 1. Auto-assign a soul partner if none exists (if random partner mode)
@@ -297,10 +217,15 @@ public class SoulLinkEventHandler {
         // Check if already has a partner
         if (soulLinkManager.hasPartner(playerId)) {
             // Notify of existing link with new mystical message
-            soulLinkManager.getPartner(playerId).ifPresent(partnerUuid -> {
-                // Get partner name if online
-                ServerPlayer partner = world.getServer().getPlayerList().getPlayer(partnerUuid);
-                String partnerName = partner != null ? partner.getName().getString() : "unknown";
+            soulLinkManager.getGroup(playerId).ifPresent(group -> {
+                // Names of every other member (pair partner or coven), if online
+                List<String> names = new ArrayList<>();
+                for (UUID memberUuid : group.members()) {
+                    if (memberUuid.equals(playerId)) continue;
+                    ServerPlayer member = world.getServer().getPlayerList().getPlayer(memberUuid);
+                    names.add(member != null ? member.getName().getString() : "unknown");
+                }
+                String partnerName = String.join("§5, §d§l", names);
                 
                 player.sendSystemMessage(
                     Component.literal("§5✦ Your souls are intertwined with §d§l" + partnerName + " §5✦"));
@@ -324,41 +249,15 @@ public class SoulLinkEventHandler {
                 return;
             }
             
-            // Try to auto-assign a partner from the waiting pool
-            Optional<UUID> assignedPartner = soulLinkManager.tryAssignPartner(playerId);
+            // Queue for the next matching batch, which picks a nearby partner with similar playtime
+            soulLinkManager.queueForRandomPartner(playerId);
             
-            if (assignedPartner.isPresent()) {
-                // Successfully paired!
-                ServerPlayer partner = world.getServer().getPlayerList().getPlayer(assignedPartner.get());
-                
-                if (partner != null) {
-                    String partnerName = partner.getName().getString();
-                    String playerName = player.getName().getString();
-                    
-                    // Notify both players with new mystical message
-                    player.sendSystemMessage(
-                        Component.literal("§5✦ Your souls are now intertwined with §d§l" + partnerName + " §5✦"));
-                    partner.sendSystemMessage(
-                        Component.literal("§5✦ Your souls are now intertwined with §d§l" + playerName + " §5✦"));
-                    
-                    // Play binding sound to both
-                    world.playSound(null, player.getX(), player.getY(), player.getZ(),
-                        SoundEvents.RESPAWN_ANCHOR_SET_SPAWN, SoundSource.PLAYERS, 1.0f, 0.8f);
-                    
-                    ServerLevel partnerWorld = (ServerLevel) partner.level();
-                    partnerWorld.playSound(null, partner.getX(), partner.getY(), partner.getZ(),
-                        SoundEvents.RESPAWN_ANCHOR_SET_SPAWN, SoundSource.PLAYERS, 1.0f, 0.8f);
-                    
-                    SimpleDeathBans.LOGGER.info("Soul link auto-assigned: {} <-> {}", playerName, partnerName);
-                }
-            } else {
-                // Added to waiting pool or on random reassign cooldown - show waiting message
-                // Randomize between two messages
-                String waitingMessage = Math.random() < 0.5 
-                    ? "§5✦ §7Your soul yearns for a bond... §5✦"
-                    : "§k><§r §5Your soul wanders the void, seeking another... §k><§r";
-                player.sendSystemMessage(Component.literal(waitingMessage));
-            }
+            // Waiting for a partner or on random reassign cooldown - show waiting message
+            // Randomize between two messages
+            String waitingMessage = Math.random() < 0.5 
+                ? "§5✦ §7Your soul yearns for a bond... §5✦"
+                : "§k><§r §5Your soul wanders the void, seeking another... §k><§r";
+            player.sendSystemMessage(Component.literal(waitingMessage));
         } else {
             // Manual partner mode - tell player how to link with Soul Link Totem
             player.sendSystemMessage(
@@ -3,6 +3,7 @@ package com.simpledeathbans.item;
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.config.ModConfig;
 import com.simpledeathbans.data.SoulLinkManager;
+import com.simpledeathbans.util.Dimensions;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.world.item.component.CustomData;
 import net.minecraft.world.entity.player.Player;
@@ -20,7 +21,6 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -84,18 +84,17 @@ public class SoulLinkTotemItem extends Item {
         UUID playerId = player.getUUID();
         
         // Check if player has a soul link
-        Optional<UUID> partnerOpt = soulLinkManager.getPartner(playerId);
-        if (partnerOpt.isEmpty()) {
+        if (!soulLinkManager.hasPartner(playerId)) {
             // No partner - this is just a regular use, pass to let other handlers work
             return InteractionResult.PASS;
         }
         
         // Player has a partner - this is the Soul Compass feature!
-        return useSoulCompass(player, hand, soulLinkManager, config, partnerOpt.get());
+        return useSoulCompass(player, hand, soulLinkManager, config);
     }
     
     private InteractionResult useSoulCompass(ServerPlayer player, InteractionHand hand, 
-                                         SoulLinkManager soulLinkManager, ModConfig config, UUID partnerId) {
+                                         SoulLinkManager soulLinkManager, ModConfig config) {
         UUID playerId = player.getUUID();
         ItemStack stack = player.getItemInHand(hand);
         
@@ -113,9 +112,8 @@ public class SoulLinkTotemItem extends Item {
             return InteractionResult.FAIL;
         }
         
-        // Get partner
-        ServerLevel world = (ServerLevel) player.level();
-        ServerPlayer partner = world.getServer().getPlayerList().getPlayer(partnerId);
+        // Get partner from the live binding (null if offline)
+        ServerPlayer partner = SoulLinkManager.getOnlinePartner(player);
         
         if (partner == null) {
             player.sendSystemMessage(Component.literal("§5✦ §7Your partner's soul is not in this realm... §5✦"));
@@ -233,11 +231,7 @@ public class SoulLinkTotemItem extends Item {
     }
     
     private String getDimensionDisplayName(ResourceKey<Level> dim) {
-        //? if >=1.21.11 {
-        String path = dim.identifier().getPath();
-        //?} else {
-        /*String path = dim.location().getPath();*/
-        //?}
+        String path = Dimensions.path(dim);
         return switch (path) {
             case "overworld" -> "Overworld";
             case "the_nether" -> "Nether";
@@ -17,7 +17,7 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.level.Level;
 
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -75,19 +75,15 @@ public class VoidCrystalTotemItem extends Item {
         
         UUID playerId = player.getUUID();
         
-        // Check if player has a soul link to sever
-        Optional<UUID> partnerOpt = soulLinkManager.getPartner(playerId);
-        if (partnerOpt.isEmpty()) {
+        // Check if player has a soul link to sever (leaves their group; a pair is dissolved)
+        Set<UUID> formerMembers = soulLinkManager.breakLink(playerId);
+        if (formerMembers.isEmpty()) {
             player.sendSystemMessage(Component.literal("§5✦ §7You have no soul bond to sever... §5✦"));
             return InteractionResult.FAIL;
         }
         
-        UUID partnerId = partnerOpt.get();
-        String partnerName = getPlayerName(partnerId);
-        
-        // Perform the severance
-        soulLinkManager.breakLink(playerId);
-        soulLinkManager.recordSever(playerId, partnerId, config);
+        // Every former member becomes an ex-partner
+        soulLinkManager.recordSever(playerId, formerMembers, config);
         
         // Increase ban tier for the player who severed (penalty)
         if (config.soulLinkSeverBanTierIncrease > 0) {
@@ -106,30 +102,21 @@ public class VoidCrystalTotemItem extends Item {
         serverWorld.playSound(null, player.getX(), player.getY(), player.getZ(),
             SoundEvents.WITHER_SPAWN, SoundSource.PLAYERS, 0.5f, 0.5f);
         
-        // Notify the ex-partner if online
-        ServerPlayer partner = serverWorld.getServer().getPlayerList().getPlayer(partnerId);
-        if (partner != null) {
-            partner.sendSystemMessage(Component.literal("§5✦ §4Your soul bond has been severed! §5✦"));
-            // Play dramatic sound for partner too
-            ServerLevel partnerWorld = (ServerLevel) partner.level();
-            partnerWorld.playSound(null, partner.getX(), partner.getY(), partner.getZ(),
-                SoundEvents.WITHER_HURT, SoundSource.PLAYERS, 0.8f, 0.5f);
+        // Notify the ex-partners if online
+        for (UUID memberId : formerMembers) {
+            ServerPlayer member = serverWorld.getServer().getPlayerList().getPlayer(memberId);
+            if (member != null) {
+                member.sendSystemMessage(Component.literal("§5✦ §4Your soul bond has been severed! §5✦"));
+                // Play dramatic sound for them too
+                ServerLevel memberWorld = (ServerLevel) member.level();
+                memberWorld.playSound(null, member.getX(), member.getY(), member.getZ(),
+                    SoundEvents.WITHER_HURT, SoundSource.PLAYERS, 0.8f, 0.5f);
+            }
         }
         
         SimpleDeathBans.LOGGER.info("{} severed their soul link with {} using Void Crystal", 
-            player.getName().getString(), partnerName);
+            player.getName().getString(), formerMembers);
         
         return InteractionResult.SUCCESS;
     }
-    
-    private String getPlayerName(UUID playerId) {
-        SimpleDeathBans mod = SimpleDeathBans.getInstance();
-        if (mod == null) return "unknown";
-        
-        SoulLinkManager soulLinkManager = mod.getSoulLinkManager();
-        if (soulLinkManager == null) return "unknown";
-        
-        // We don't have direct server access, but we can try through soul link manager
-        return "unknown"; // Name will be fetched when player is online in use() method
-    }
 }
@@ -0,0 +1,232 @@
+package com.simpledeathbans.leaderboard;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.data.PlayerDataManager;
+import com.simpledeathbans.util.RankedSkipList;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.ServerScoreboard;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.scores.DisplaySlot;
+import net.minecraft.world.scores.Objective;
+import net.minecraft.world.scores.ScoreHolder;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
+
+import java.util.*;
+
+/**
+ * Death, tier and survival leaderboards, kept sorted as scores change instead of being
+ * computed from the ban and player data on every query.
+ *
+ * - Built once from the saved data when the server starts (rebuild()).
+ * - Updated by BanDataManager (bans, tier changes), DeathEventHandler (deaths) and tick()
+ *   (survival time of online players, once a second).
+ * - Pages are read in O(log n + page size) from a RankedSkipList per board.
+ *
+ * Optionally mirrors one board onto the scoreboard sidebar, refreshed every
+ * leaderboardSidebarRefreshSeconds; only changed lines are sent.
+ *
+ * Server thread only.
+ */
+public class LeaderboardManager {
+    private static final String OBJECTIVE_NAME = "sdb_leaderboard";
+    private static final int SIDEBAR_SIZE = 15;
+    private static final int SURVIVAL_INTERVAL_TICKS = 20;
+
+    private final MinecraftServer server;
+    private final Map<LeaderboardType, Board> boards = new EnumMap<>(LeaderboardType.class);
+    private final Map<UUID, String> names = new HashMap<>();
+
+    // Sidebar as last sent
+    private LeaderboardType sidebarType = null;
+    private final Map<String, Integer> sidebarScores = new HashMap<>();
+    private int lastSidebarRefresh = 0;
+
+    /**
+     * One leaderboard line.
+     */
+    public record Entry(int rank, UUID playerId, String playerName, long score) {}
+
+    private record Score(UUID playerId, long score) {}
+
+    // Highest score first, ties by UUID
+    private static final Comparator<Score> ORDER =
+        Comparator.comparingLong(Score::score).reversed().thenComparing(Score::playerId);
+
+    private static final class Board {
+        final Map<UUID, Long> scores = new HashMap<>();
+        final RankedSkipList<Score> ranking = new RankedSkipList<>(ORDER);
+
+        /**
+         * Set a player's score; players with a score of 0 are left off the board.
+         */
+        void set(UUID playerId, long score) {
+            Long previous = score > 0 ? scores.put(playerId, score) : scores.remove(playerId);
+            if (previous != null) {
+                if (previous == score) return;
+                ranking.remove(new Score(playerId, previous));
+            }
+            if (score > 0) {
+                ranking.insert(new Score(playerId, score));
+            }
+        }
+
+        void clear() {
+            scores.clear();
+            ranking.clear();
+        }
+    }
+
+    public LeaderboardManager(MinecraftServer server) {
+        this.server = server;
+        for (LeaderboardType type : LeaderboardType.values()) {
+            boards.put(type, new Board());
+        }
+    }
+
+    /**
+     * Build every board from the saved ban and player data.
+     */
+    public void rebuild(BanDataManager banManager, PlayerDataManager playerDataManager) {
+        boards.values().forEach(Board::clear);
+        names.clear();
+
+        if (banManager != null) {
+            banManager.getAllBannedPlayers().forEach(entry -> names.put(entry.playerId(), entry.playerName()));
+            banManager.getHistory().getBanCounts().forEach((id, count) -> {
+                boards.get(LeaderboardType.DEATHS).set(id, count);
+                banManager.getHistory().getName(id).ifPresent(name -> names.put(id, name));
+            });
+            banManager.getTiers().forEach((id, tier) -> boards.get(LeaderboardType.TIER).set(id, tier));
+        }
+        if (playerDataManager != null) {
+            for (PlayerDataManager.PlayerActivityData data : playerDataManager.getAll()) {
+                if (data.playerUuid == null) continue;
+                if (data.playerName != null) names.putIfAbsent(data.playerUuid, data.playerName);
+                boards.get(LeaderboardType.SURVIVAL).set(data.playerUuid, data.survivalTicks);
+            }
+        }
+
+        // A sidebar left behind by a crash is recreated on the next refresh
+        clearSidebar();
+        SimpleDeathBans.LOGGER.info("Leaderboards built: {} deaths, {} tiers, {} survival entries",
+            size(LeaderboardType.DEATHS), size(LeaderboardType.TIER), size(LeaderboardType.SURVIVAL));
+    }
+
+    /**
+     * Set a player's score on a board. A null name keeps the last known one.
+     */
+    public void set(LeaderboardType type, UUID playerId, String playerName, long score) {
+        if (playerName != null) names.put(playerId, playerName);
+        boards.get(type).set(playerId, score);
+    }
+
+    public void add(LeaderboardType type, UUID playerId, String playerName, long delta) {
+        Board board = boards.get(type);
+        set(type, playerId, playerName, board.scores.getOrDefault(playerId, 0L) + delta);
+    }
+
+    public int size(LeaderboardType type) {
+        return boards.get(type).ranking.size();
+    }
+
+    /**
+     * One page (0-based) of a board, highest score first.
+     */
+    public List<Entry> getPage(LeaderboardType type, int page, int pageSize) {
+        List<Entry> entries = new ArrayList<>(pageSize);
+        int rank = page * pageSize;
+        for (Score score : boards.get(type).ranking.range(page * pageSize, pageSize)) {
+            entries.add(new Entry(++rank, score.playerId(), nameOf(score.playerId()), score.score()));
+        }
+        return entries;
+    }
+
+    /**
+     * A player's position on a board, if they are on it.
+     */
+    public Optional<Entry> getRank(LeaderboardType type, UUID playerId) {
+        Board board = boards.get(type);
+        Long score = board.scores.get(playerId);
+        if (score == null) return Optional.empty();
+        int rank = board.ranking.rankOf(new Score(playerId, score));
+        return rank > 0 ? Optional.of(new Entry(rank, playerId, nameOf(playerId), score)) : Optional.empty();
+    }
+
+    private String nameOf(UUID playerId) {
+        String name = names.get(playerId);
+        return name != null ? name : playerId.toString().substring(0, 8);
+    }
+
+    /**
+     * Add survival time for online players (once a second) and refresh the sidebar when due.
+     */
+    public void tick(SimpleDeathBans mod, int tickCount) {
+        PlayerDataManager playerDataManager = mod.getPlayerDataManager();
+        if (playerDataManager != null && tickCount % SURVIVAL_INTERVAL_TICKS == 0) {
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                if (!player.isAlive()) continue;
+                String name = player.getName().getString();
+                long ticks = playerDataManager.addSurvivalTicks(player.getUUID(), name, SURVIVAL_INTERVAL_TICKS);
+                set(LeaderboardType.SURVIVAL, player.getUUID(), name, ticks);
+            }
+        }
+
+        ModConfig config = mod.getConfig();
+        LeaderboardType wanted = config == null || config.leaderboardSidebar == ModConfig.LeaderboardSidebar.OFF
+            ? null : LeaderboardType.valueOf(config.leaderboardSidebar.name());
+        if (wanted != sidebarType
+                || (wanted != null && tickCount - lastSidebarRefresh >= config.leaderboardSidebarRefreshSeconds * 20)) {
+            refreshSidebar(wanted);
+            lastSidebarRefresh = tickCount;
+        }
+    }
+
+    private void refreshSidebar(LeaderboardType type) {
+        ServerScoreboard scoreboard = server.getScoreboard();
+        Objective objective = scoreboard.getObjective(OBJECTIVE_NAME);
+        if (type != sidebarType || objective == null) {
+            clearSidebar();
+            sidebarType = type;
+            if (type == null) return;
+            objective = scoreboard.addObjective(OBJECTIVE_NAME, ObjectiveCriteria.DUMMY,
+                Component.literal(type.title()).withStyle(ChatFormatting.GOLD),
+                ObjectiveCriteria.RenderType.INTEGER, false, null);
+            scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, objective);
+        }
+
+        Map<String, Integer> top = new HashMap<>();
+        for (Entry entry : getPage(type, 0, SIDEBAR_SIZE)) {
+            top.put(entry.playerName(), type.sidebarValue(entry.score()));
+        }
+        // Only send lines that changed
+        for (String name : sidebarScores.keySet()) {
+            if (!top.containsKey(name)) {
+                scoreboard.resetSinglePlayerScore(ScoreHolder.forNameOnly(name), objective);
+            }
+        }
+        for (Map.Entry<String, Integer> line : top.entrySet()) {
+            if (!line.getValue().equals(sidebarScores.get(line.getKey()))) {
+                scoreboard.getOrCreatePlayerScore(ScoreHolder.forNameOnly(line.getKey()), objective).set(line.getValue());
+            }
+        }
+        sidebarScores.clear();
+        sidebarScores.putAll(top);
+    }
+
+    /**
+     * Remove the sidebar objective (on stop, so it is not saved with the world).
+     */
+    public void clearSidebar() {
+        ServerScoreboard scoreboard = server.getScoreboard();
+        Objective objective = scoreboard.getObjective(OBJECTIVE_NAME);
+        if (objective != null) {
+            scoreboard.removeObjective(objective);
+        }
+        sidebarScores.clear();
+        sidebarType = null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.simpledeathbans.leaderboard;
+
+import java.util.Locale;
+
+/**
+ * The leaderboards available to /sdb top and the scoreboard sidebar.
+ */
+public enum LeaderboardType {
+    DEATHS("Most Deaths"),       // Bans received, from the ban history
+    TIER("Highest Ban Tier"),    // Current ban tier
+    SURVIVAL("Longest Survival"); // Playtime since last death, in ticks
+
+    private final String title;
+
+    LeaderboardType(String title) {
+        this.title = title;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public String title() {
+        return title;
+    }
+
+    /**
+     * Score as shown on the sidebar (survival in minutes).
+     */
+    public int sidebarValue(long score) {
+        long value = this == SURVIVAL ? score / 1200L : score;
+        return (int) Math.min(Integer.MAX_VALUE, value);
+    }
+
+    /**
+     * The leaderboard with the given command key, or null.
+     */
+    public static LeaderboardType byKey(String key) {
+        for (LeaderboardType type : values()) {
+            if (type.key().equalsIgnoreCase(key)) return type;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.simpledeathbans.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Event counters (striped, lock-free).
+ */
+public enum Counter {
+    LOGINS_REJECTED("login.rejected"),
+    DAMAGE_SHARED("damage.shared_recipients"),
+    EFFECTS_DROPPED("effects.dropped"),
+    AUDIT_DROPPED("audit.dropped");
+
+    private final String key;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
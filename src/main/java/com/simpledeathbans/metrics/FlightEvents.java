@@ -0,0 +1,156 @@
+package com.simpledeathbans.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Java Flight Recorder events, so a recording taken during a lag spike shows the mod's
+ * work next to GC and chunk activity. They appear under "SimpleDeathBans" in JMC.
+ *
+ * Usage (costs nothing when no recording is running - shouldCommit() is false and the
+ * JIT removes the allocation):
+ *   FlightEvents.DamageShare event = new FlightEvents.DamageShare();
+ *   event.begin();
+ *   ...
+ *   if (event.shouldCommit()) { event.recipients = ...; event.commit(); }
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("simpledeathbans.BanCreated")
+    @Label("Ban Created")
+    @Category("SimpleDeathBans")
+    @StackTrace(false)
+    public static final class BanCreated extends Event {
+        @Label("Player")
+        public String player;
+
+        @Label("Tier")
+        public int tier;
+
+        @Label("Ban Duration")
+        @Timespan(Timespan.MILLISECONDS)
+        public long banDuration;
+
+        @Label("PvP")
+        public boolean pvp;
+    }
+
+    @Name("simpledeathbans.DamageShare")
+    @Label("Damage Share")
+    @Description("Soul Link / Shared Health damage fanned out to other players")
+    @Category("SimpleDeathBans")
+    @StackTrace(false)
+    public static final class DamageShare extends Event {
+        @Label("Source Player")
+        public String source;
+
+        @Label("Damage Type")
+        public String damageType;
+
+        @Label("Damage")
+        public float amount;
+
+        @Label("Recipients")
+        public int recipients;
+    }
+
+    @Name("simpledeathbans.DeathPact")
+    @Label("Death Pact")
+    @Description("Resolution of lethal damage for a soul group or the Shared Health pool")
+    @Category("SimpleDeathBans")
+    @StackTrace(false)
+    public static final class DeathPact extends Event {
+        @Label("Kind")
+        @Description("SOUL_LINK or SHARED_HEALTH")
+        public String kind;
+
+        @Label("Trigger")
+        public String trigger;
+
+        @Label("Outcome")
+        @Description("ALL_SAVED, HOLDERS_SURVIVED or ALL_DIED")
+        public String outcome;
+
+        @Label("Players")
+        public int players;
+
+        @Label("Totem Holders")
+        public int totemHolders;
+
+        @Label("Victims")
+        public int victims;
+    }
+
+    @Name("simpledeathbans.AltarValidation")
+    @Label("Altar Validation")
+    @Category("SimpleDeathBans")
+    @StackTrace(false)
+    public static final class AltarValidation extends Event {
+        @Label("Dimension")
+        public String dimension;
+
+        @Label("X")
+        public int x;
+
+        @Label("Y")
+        public int y;
+
+        @Label("Z")
+        public int z;
+
+        @Label("Valid")
+        public boolean valid;
+    }
+
+    @Name("simpledeathbans.PersistenceWrite")
+    @Label("Persistence Write")
+    @Category("SimpleDeathBans")
+    public static final class PersistenceWrite extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * Write a data file as UTF-8, recording a PersistenceWrite event.
+     */
+    public static void writeString(Path file, String content) throws IOException {
+        write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Append to a data file (created if missing), recording a PersistenceWrite event.
+     */
+    public static void append(Path file, byte[] bytes) throws IOException {
+        write(file, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private static void write(Path file, byte[] bytes, StandardOpenOption... options) throws IOException {
+        PersistenceWrite event = new PersistenceWrite();
+        event.begin();
+        Files.write(file, bytes, options);
+        if (event.shouldCommit()) {
+            event.file = file.toString();
+            event.bytes = bytes.length;
+            event.commit();
+        }
+    }
+}
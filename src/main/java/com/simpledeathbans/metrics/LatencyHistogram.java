@@ -0,0 +1,108 @@
+package com.simpledeathbans.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (HDR-style): every power of two is
+ * split into SUB_BUCKETS linear sub-buckets, so any recorded value is off by at most
+ * 1/SUB_BUCKETS (25%) of its magnitude, from nanoseconds up to hours, in a fixed BUCKETS
+ * slots (248 with 2 sub-bucket bits).
+ *
+ * Every slot is a LongAdder (striped counter), so recording never takes a lock and never
+ * contends between threads - it costs a couple of adds on the recording thread.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Point-in-time copy of a histogram.
+     */
+    public record Snapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+
+        public double meanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile (0-100), capped at the max.
+         */
+        public long percentile(double percentile) {
+            if (count == 0) return 0L;
+            long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * Number of recorded values in buckets that lie entirely at or below the given bound.
+         */
+        public long countAtMost(long nanos) {
+            long total = 0;
+            for (int i = 0; i < buckets.length && upperBound(i) <= nanos; i++) {
+                total += buckets[i];
+            }
+            return total;
+        }
+    }
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(nanos)].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(count, totalNanos.sum(), maxNanos.get(), counts);
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    // Values below SUB_BUCKETS get a slot each; above that, slot = (exponent, top mantissa bits)
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int mantissa = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + mantissa * width + width - 1;
+    }
+}
@@ -0,0 +1,87 @@
+package com.simpledeathbans.metrics;
+
+/**
+ * Timed hot paths. Each keeps a call count and a latency histogram.
+ *
+ * Usage:
+ *   long start = Metric.start();
+ *   try { ... } finally { Metric.ALLOW_DAMAGE.record(start); }
+ *
+ * Calls on the server thread also feed the TickWatchdog's per-tick budget.
+ */
+public enum Metric {
+    // Damage hooks (timed only past their fast-path checks, i.e. for damage to players)
+    ALLOW_DAMAGE("damage.allow_damage"),
+    SOUL_LINK_HURT("mixin.soul_link_hurt"),
+    SHARED_HEALTH_HURT("mixin.shared_health_hurt"),
+
+    // Login ban check
+    LOGIN_CHECK("login.can_player_login"),
+
+    // Persistence
+    BAN_DATA_LOAD("io.ban_data.load"),
+    BAN_DATA_SAVE("io.ban_data.save"),
+    PLAYER_DATA_LOAD("io.player_data.load"),
+    PLAYER_DATA_SAVE("io.player_data.save"),
+    SOUL_LINK_LOAD("io.soul_links.load"),
+    SOUL_LINK_SAVE("io.soul_links.save"),
+    CONFIG_LOAD("io.config.load"),
+    CONFIG_SAVE("io.config.save"),
+    BAN_HISTORY_LOAD("io.ban_history.load"),
+    BAN_HISTORY_FLUSH("io.ban_history.flush"),
+
+    // Tick handlers
+    TICK_MERCY("tick.mercy"),
+    TICK_SOUL_LINK("tick.soul_link"),
+    TICK_RITUAL("tick.ritual"),
+    TICK_CONFIG_SYNC("tick.config_sync"),
+    TICK_EFFECTS("tick.effects"),
+    TICK_DEATHS("tick.deaths"),
+    TICK_HUNGER("tick.hunger"),
+    TICK_LEADERBOARD("tick.leaderboard"),
+
+    // Altar of Resurrection validation (every check, and cache misses that scan the pyramid)
+    ALTAR_CHECK("ritual.altar_check"),
+    ALTAR_SCAN("ritual.altar_scan");
+
+    private final String key;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    Metric(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Start timing a call; pass the result to record().
+     */
+    public static long start() {
+        TickWatchdog.enter();
+        return System.nanoTime();
+    }
+
+    /**
+     * Record one call that started at the given start() time.
+     */
+    public void record(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        histogram.record(elapsed);
+        TickWatchdog.exit(this, elapsed);
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    public static void resetAll() {
+        for (Metric metric : values()) {
+            metric.histogram.reset();
+        }
+        for (Counter counter : Counter.values()) {
+            counter.reset();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.simpledeathbans.metrics;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.config.ModConfig;
+import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.data.SoulLinkManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional OpenMetrics (Prometheus) exporter for the mod's metrics, off by default.
+ *
+ * - HTTP: serves GET /metrics on 127.0.0.1:metricsExporterPort (JDK HttpServer, one
+ *   virtual thread per request).
+ * - File drop: writes the same text to metricsFileDropPath every
+ *   metricsFileDropIntervalSeconds, for node-exporter's textfile collector. The file is
+ *   written next to the target and moved into place, so readers never see a partial file.
+ *
+ * Scrapes never touch the server thread: latency histograms and counters are lock-free
+ * LongAdders, and ban / soul link state is copied into an immutable snapshot by the server
+ * thread once a second (tick()).
+ */
+public final class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final int GAUGE_INTERVAL_TICKS = 20;
+
+    // Histogram bucket bounds exported to Prometheus (the internal histogram is finer)
+    private static final long[] BOUNDS_NANOS = {
+        1_000L, 5_000L, 10_000L, 50_000L, 100_000L, 500_000L,
+        1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L, 100_000_000L, 500_000_000L,
+        1_000_000_000L, 5_000_000_000L
+    };
+
+    private record Settings(boolean httpEnabled, int port, String fileDropPath, int fileDropIntervalSeconds) {
+        boolean anyEnabled() {
+            return httpEnabled || !fileDropPath.isEmpty();
+        }
+    }
+
+    /**
+     * Ban and soul link state, copied on the server thread.
+     */
+    private record Gauges(int activeBans, int pendingExpiries, long lastBanSaveNanos, Map<Integer, Integer> tiers,
+                          int soulGroups, int linkedPlayers, int waitingPool, int coolingPool,
+                          int cooldownQueue, int pendingRequests) {
+        static final Gauges EMPTY = new Gauges(0, 0, 0L, Map.of(), 0, 0, 0, 0, 0, 0);
+    }
+
+    private static volatile Settings settings = null;
+    private static HttpServer httpServer = null;
+    private static ExecutorService httpExecutor = null;
+    private static ScheduledExecutorService fileDropExecutor = null;
+    private static volatile Gauges gauges = Gauges.EMPTY;
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Start, restart or stop the exporter to match the config. Pass null to stop.
+     */
+    public static synchronized void configure(ModConfig config) {
+        Settings wanted = config == null ? null : new Settings(
+            config.metricsExporterEnabled,
+            config.metricsExporterPort,
+            config.metricsFileDropPath == null ? "" : config.metricsFileDropPath.trim(),
+            config.metricsFileDropIntervalSeconds);
+        if (Objects.equals(wanted, settings)) return;
+
+        shutdown();
+        if (wanted == null || !wanted.anyEnabled()) return;
+        settings = wanted;
+
+        if (wanted.httpEnabled()) {
+            startHttp(wanted.port());
+        }
+        if (!wanted.fileDropPath().isEmpty()) {
+            startFileDrop(Path.of(wanted.fileDropPath()), wanted.fileDropIntervalSeconds());
+        }
+    }
+
+    private static void startHttp(int port) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics", MetricsExporter::handle);
+            httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            httpServer.setExecutor(httpExecutor);
+            httpServer.start();
+            SimpleDeathBans.LOGGER.info("Metrics exporter listening on http://127.0.0.1:{}/metrics", port);
+        } catch (IOException e) {
+            SimpleDeathBans.LOGGER.error("Failed to start metrics exporter on port {}", port, e);
+            httpServer = null;
+            if (httpExecutor != null) {
+                httpExecutor.shutdownNow();
+                httpExecutor = null;
+            }
+        }
+    }
+
+    private static void startFileDrop(Path target, int intervalSeconds) {
+        fileDropExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("simpledeathbans-metrics-file").factory());
+        fileDropExecutor.scheduleWithFixedDelay(() -> writeFile(target), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        SimpleDeathBans.LOGGER.info("Writing metrics to {} every {}s", target.toAbsolutePath(), intervalSeconds);
+    }
+
+    public static synchronized void shutdown() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+        if (fileDropExecutor != null) {
+            fileDropExecutor.shutdownNow();
+            fileDropExecutor = null;
+        }
+        settings = null;
+        gauges = Gauges.EMPTY;
+    }
+
+    /**
+     * Refresh the state snapshot. Called every server tick; does work once a second and
+     * only while the exporter is running.
+     */
+    public static void tick(SimpleDeathBans mod, int tickCount) {
+        if (settings == null || tickCount % GAUGE_INTERVAL_TICKS != 0) return;
+        BanDataManager bans = mod.getBanDataManager();
+        SoulLinkManager links = mod.getSoulLinkManager();
+        gauges = new Gauges(
+            bans != null ? bans.getActiveBanCount() : 0,
+            bans != null ? bans.getPendingExpiryCount() : 0,
+            bans != null ? bans.getLastSaveNanos() : 0L,
+            bans != null ? bans.getTierHistogram() : Map.of(),
+            links != null ? links.getGroupCount() : 0,
+            links != null ? links.getLinkedPlayerCount() : 0,
+            links != null ? links.getWaitingPoolSize() : 0,
+            links != null ? links.getCoolingPoolSize() : 0,
+            links != null ? links.getCooldownQueueSize() : 0,
+            links != null ? links.getPendingRequestCount() : 0);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void writeFile(Path target) {
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(temp, render());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            SimpleDeathBans.LOGGER.warn("Failed to write metrics file {}", target, e);
+        }
+    }
+
+    /**
+     * Render every metric, counter and state gauge in OpenMetrics text format.
+     */
+    public static String render() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+
+        out.append("# TYPE simpledeathbans_duration_seconds histogram\n");
+        out.append("# UNIT simpledeathbans_duration_seconds seconds\n");
+        out.append("# HELP simpledeathbans_duration_seconds Time spent in mod hot paths.\n");
+        for (Metric metric : Metric.values()) {
+            LatencyHistogram.Snapshot snapshot = metric.snapshot();
+            String label = "path=\"" + metric.key() + "\"";
+            for (long bound : BOUNDS_NANOS) {
+                sample(out, "simpledeathbans_duration_seconds_bucket", label + ",le=\"" + seconds(bound) + "\"",
+                    snapshot.countAtMost(bound));
+            }
+            sample(out, "simpledeathbans_duration_seconds_bucket", label + ",le=\"+Inf\"", snapshot.count());
+            sample(out, "simpledeathbans_duration_seconds_count", label, snapshot.count());
+            out.append("simpledeathbans_duration_seconds_sum{").append(label).append("} ")
+                .append(seconds(snapshot.totalNanos())).append('\n');
+        }
+
+        out.append("# TYPE simpledeathbans_duration_max_seconds gauge\n");
+        out.append("# UNIT simpledeathbans_duration_max_seconds seconds\n");
+        out.append("# HELP simpledeathbans_duration_max_seconds Slowest call of each hot path since the last reset.\n");
+        for (Metric metric : Metric.values()) {
+            out.append("simpledeathbans_duration_max_seconds{path=\"").append(metric.key()).append("\"} ")
+                .append(seconds(metric.snapshot().maxNanos())).append('\n');
+        }
+
+        out.append("# TYPE simpledeathbans_events counter\n");
+        out.append("# HELP simpledeathbans_events Mod event counters.\n");
+        for (Counter counter : Counter.values()) {
+            sample(out, "simpledeathbans_events_total", "event=\"" + counter.key() + "\"", counter.get());
+        }
+
+        Gauges state = gauges;
+        gauge(out, "simpledeathbans_active_bans", "Bans still running.", state.activeBans());
+        gauge(out, "simpledeathbans_pending_ban_expiries", "Bans that ran out but are still stored.", state.pendingExpiries());
+        out.append("# TYPE simpledeathbans_ban_save_seconds gauge\n");
+        out.append("# UNIT simpledeathbans_ban_save_seconds seconds\n");
+        out.append("# HELP simpledeathbans_ban_save_seconds Duration of the last ban data save.\n");
+        out.append("simpledeathbans_ban_save_seconds ").append(seconds(state.lastBanSaveNanos())).append('\n');
+        out.append("# TYPE simpledeathbans_ban_tier_players gauge\n");
+        out.append("# HELP simpledeathbans_ban_tier_players Players per ban tier.\n");
+        for (Map.Entry<Integer, Integer> tier : state.tiers().entrySet()) {
+            sample(out, "simpledeathbans_ban_tier_players", "tier=\"" + tier.getKey() + "\"", tier.getValue());
+        }
+        gauge(out, "simpledeathbans_soul_groups", "Soul link groups (pairs and covens).", state.soulGroups());
+        gauge(out, "simpledeathbans_linked_players", "Players in a soul link group.", state.linkedPlayers());
+        gauge(out, "simpledeathbans_soul_link_waiting", "Online players waiting for a random partner.", state.waitingPool());
+        gauge(out, "simpledeathbans_soul_link_cooling", "Online unlinked players on cooldown.", state.coolingPool());
+        gauge(out, "simpledeathbans_soul_link_cooldown_queue", "Scheduled soul link cooldown expiries.", state.cooldownQueue());
+        gauge(out, "simpledeathbans_soul_link_requests", "Pending manual soul link requests.", state.pendingRequests());
+
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+}
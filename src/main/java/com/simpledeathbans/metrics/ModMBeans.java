@@ -0,0 +1,183 @@
+package com.simpledeathbans.metrics;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.data.SoulLinkManager;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * JMX MXBeans for the mod's live state and timings, under the "com.simpledeathbans" domain:
+ * - type=BanData: active bans, tier histogram, pending expiries, last save duration
+ * - type=SoulLinks: group count, waiting pool and cooldown map sizes
+ * - type=Metric,name=<key>: count and latency of each timed hot path (tick handlers included)
+ * - type=Counters: event counters
+ *
+ * The beans read the current managers on every call, so they report zero while no world
+ * is loaded instead of holding on to an old server's data.
+ */
+public final class ModMBeans {
+
+    private static final String DOMAIN = "com.simpledeathbans";
+
+    private static final List<ObjectName> registered = new ArrayList<>();
+
+    private ModMBeans() {
+    }
+
+    public interface BanDataMXBean {
+        int getActiveBanCount();
+        int getPendingExpiryCount();
+        Map<Integer, Integer> getTierHistogram();
+        double getLastSaveMillis();
+        long getLastSaveTime();
+    }
+
+    public interface SoulLinksMXBean {
+        int getGroupCount();
+        int getLinkedPlayerCount();
+        int getWaitingPoolSize();
+        int getCoolingPoolSize();
+        int getSeverCooldownCount();
+        int getRandomReassignCooldownCount();
+        int getCompassCooldownCount();
+        int getExPartnerCooldownCount();
+        int getCooldownQueueSize();
+        int getPendingRequestCount();
+    }
+
+    public interface MetricMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP99Millis();
+        double getMaxMillis();
+    }
+
+    public interface CountersMXBean {
+        Map<String, Long> getCounters();
+    }
+
+    /**
+     * Register every bean with the platform MBean server. Safe to call more than once.
+     */
+    public static synchronized void register() {
+        if (!registered.isEmpty()) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            add(server, "type=BanData", new BanData());
+            add(server, "type=SoulLinks", new SoulLinks());
+            add(server, "type=Counters", new Counters());
+            for (Metric metric : Metric.values()) {
+                add(server, "type=Metric,name=" + ObjectName.quote(metric.key()), new MetricBean(metric));
+            }
+            SimpleDeathBans.LOGGER.info("Registered {} JMX beans under {}", registered.size(), DOMAIN);
+        } catch (JMException | RuntimeException e) {
+            SimpleDeathBans.LOGGER.warn("Failed to register JMX beans", e);
+        }
+    }
+
+    public static synchronized void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                SimpleDeathBans.LOGGER.debug("Failed to unregister JMX bean {}", name, e);
+            }
+        }
+        registered.clear();
+    }
+
+    private static void add(MBeanServer server, String properties, Object bean) throws JMException {
+        ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(bean, name);
+        registered.add(name);
+    }
+
+    private static <M, R> R read(Function<SimpleDeathBans, M> manager, Function<M, R> getter, R fallback) {
+        SimpleDeathBans mod = SimpleDeathBans.getInstance();
+        if (mod == null) return fallback;
+        M value = manager.apply(mod);
+        return value != null ? getter.apply(value) : fallback;
+    }
+
+    private static int bans(Function<BanDataManager, Integer> getter) {
+        return read(SimpleDeathBans::getBanDataManager, getter, 0);
+    }
+
+    private static int links(Function<SoulLinkManager, Integer> getter) {
+        return read(SimpleDeathBans::getSoulLinkManager, getter, 0);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class BanData implements BanDataMXBean {
+        @Override public int getActiveBanCount() { return bans(BanDataManager::getActiveBanCount); }
+        @Override public int getPendingExpiryCount() { return bans(BanDataManager::getPendingExpiryCount); }
+        @Override public Map<Integer, Integer> getTierHistogram() {
+            return read(SimpleDeathBans::getBanDataManager, BanDataManager::getTierHistogram, Map.of());
+        }
+        @Override public double getLastSaveMillis() {
+            return millis(read(SimpleDeathBans::getBanDataManager, BanDataManager::getLastSaveNanos, 0L));
+        }
+        @Override public long getLastSaveTime() {
+            return read(SimpleDeathBans::getBanDataManager, BanDataManager::getLastSaveTime, 0L);
+        }
+    }
+
+    private static final class SoulLinks implements SoulLinksMXBean {
+        @Override public int getGroupCount() { return links(SoulLinkManager::getGroupCount); }
+        @Override public int getLinkedPlayerCount() { return links(SoulLinkManager::getLinkedPlayerCount); }
+        @Override public int getWaitingPoolSize() { return links(SoulLinkManager::getWaitingPoolSize); }
+        @Override public int getCoolingPoolSize() { return links(SoulLinkManager::getCoolingPoolSize); }
+        @Override public int getSeverCooldownCount() { return links(SoulLinkManager::getSeverCooldownCount); }
+        @Override public int getRandomReassignCooldownCount() { return links(SoulLinkManager::getRandomReassignCooldownCount); }
+        @Override public int getCompassCooldownCount() { return links(SoulLinkManager::getCompassCooldownCount); }
+        @Override public int getExPartnerCooldownCount() { return links(SoulLinkManager::getExPartnerCooldownCount); }
+        @Override public int getCooldownQueueSize() { return links(SoulLinkManager::getCooldownQueueSize); }
+        @Override public int getPendingRequestCount() { return links(SoulLinkManager::getPendingRequestCount); }
+    }
+
+    private static final class MetricBean implements MetricMXBean {
+        private final Metric metric;
+
+        MetricBean(Metric metric) {
+            this.metric = metric;
+        }
+
+        private double snapshotMillis(ToLongFunction<LatencyHistogram.Snapshot> value) {
+            return millis(value.applyAsLong(metric.snapshot()));
+        }
+
+        @Override public long getCount() { return metric.snapshot().count(); }
+        @Override public double getMeanMillis() { return millis((long) metric.snapshot().meanNanos()); }
+        @Override public double getP50Millis() { return snapshotMillis(s -> s.percentile(50)); }
+        @Override public double getP99Millis() { return snapshotMillis(s -> s.percentile(99)); }
+        @Override public double getMaxMillis() { return snapshotMillis(LatencyHistogram.Snapshot::maxNanos); }
+    }
+
+    private static final class Counters implements CountersMXBean {
+        @Override public Map<String, Long> getCounters() {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            for (Counter counter : Counter.values()) {
+                counters.put(counter.key(), counter.get());
+            }
+            return counters;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.simpledeathbans.metrics;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.config.ModConfig;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-tick budget for the mod's own work on the server thread.
+ *
+ * Every Metric timed on the server thread is added to the current tick. Nested timings
+ * (a save inside a tick handler, damage hooks inside a Death Pact) count towards their own
+ * operation but only the outermost one counts towards the tick total, so nothing is
+ * counted twice.
+ *
+ * At the start of each tick the previous tick is checked against tickBudgetMillis. When the
+ * mod went over, one structured warning names the slowest operation, the players involved,
+ * and the breakdown. Warnings for the same operation are rate-limited to one per
+ * WARN_INTERVAL_MS; the next one reports how many were suppressed.
+ */
+public final class TickWatchdog {
+
+    private static final long WARN_INTERVAL_MS = 60_000L;
+    private static final int BREAKDOWN_LIMIT = 5;
+
+    private static final Metric[] METRICS = Metric.values();
+
+    // Server-thread only (everything below is only touched when on serverThread)
+    private static volatile Thread serverThread = null;
+    private static int depth = 0;
+    private static long tickNanos = 0;
+    private static final long[] opNanos = new long[METRICS.length];
+    private static final int[] opCalls = new int[METRICS.length];
+    private static final int[] opPlayers = new int[METRICS.length];
+    private static final long[] lastWarned = new long[METRICS.length];
+    private static final int[] suppressed = new int[METRICS.length];
+
+    private TickWatchdog() {
+    }
+
+    static void enter() {
+        if (Thread.currentThread() == serverThread) {
+            depth++;
+        }
+    }
+
+    static void exit(Metric metric, long elapsedNanos) {
+        if (Thread.currentThread() != serverThread) return;
+        int i = metric.ordinal();
+        opNanos[i] += elapsedNanos;
+        opCalls[i]++;
+        if (--depth <= 0) {
+            depth = 0;
+            tickNanos += elapsedNanos;
+        }
+    }
+
+    /**
+     * Note how many players an operation handled this tick (e.g. a death cohort).
+     * Defaults to the online player count when never called.
+     */
+    public static void involve(Metric metric, int players) {
+        if (Thread.currentThread() != serverThread) return;
+        int i = metric.ordinal();
+        opPlayers[i] = Math.max(opPlayers[i], players);
+    }
+
+    /**
+     * Check the tick that just ended and start a new one. Called at START_SERVER_TICK so the
+     * previous tick's END_SERVER_TICK work is included.
+     */
+    public static void onTickStart(MinecraftServer server, ModConfig config) {
+        serverThread = Thread.currentThread();
+        depth = 0;
+        long total = tickNanos;
+        tickNanos = 0;
+        try {
+            if (config != null && config.tickBudgetMillis > 0 && total > config.tickBudgetMillis * 1_000_000L) {
+                warn(server, config.tickBudgetMillis, total);
+            }
+        } finally {
+            Arrays.fill(opNanos, 0L);
+            Arrays.fill(opCalls, 0);
+            Arrays.fill(opPlayers, 0);
+        }
+    }
+
+    private static void warn(MinecraftServer server, int budgetMillis, long totalNanos) {
+        List<Metric> ops = new ArrayList<>();
+        for (Metric metric : METRICS) {
+            if (opCalls[metric.ordinal()] > 0) ops.add(metric);
+        }
+        if (ops.isEmpty()) return;
+        ops.sort(Comparator.comparingLong((Metric m) -> opNanos[m.ordinal()]).reversed());
+
+        Metric worst = ops.get(0);
+        int w = worst.ordinal();
+        long now = System.currentTimeMillis();
+        if (now - lastWarned[w] < WARN_INTERVAL_MS) {
+            suppressed[w]++;
+            return;
+        }
+        lastWarned[w] = now;
+        int skipped = suppressed[w];
+        suppressed[w] = 0;
+
+        int online = server.getPlayerList().getPlayerCount();
+        StringBuilder breakdown = new StringBuilder();
+        for (int k = 0; k < Math.min(BREAKDOWN_LIMIT, ops.size()); k++) {
+            Metric op = ops.get(k);
+            if (k > 0) breakdown.append(", ");
+            breakdown.append(op.key()).append('=').append(millis(opNanos[op.ordinal()]))
+                .append("ms/").append(opCalls[op.ordinal()]);
+        }
+
+        SimpleDeathBans.LOGGER.warn(
+            "Slow tick: op={} op_ms={} calls={} players={} mod_ms={} budget_ms={} online={} suppressed={} breakdown=[{}]",
+            worst.key(), millis(opNanos[w]), opCalls[w], opPlayers[w] > 0 ? opPlayers[w] : online,
+            millis(totalNanos), budgetMillis, online, skipped, breakdown);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.simpledeathbans.mixin;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.ritual.ResurrectionRitualManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Block-change hook for the altar cache: invalidates cached altars whose pyramid
+ * contains a block that was just changed (placed, broken, exploded, pushed...).
+ */
+@Mixin(Level.class)
+public abstract class LevelMixin {
+
+    @Inject(method = "setBlock(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;II)Z", at = @At("RETURN"))
+    private void onSetBlock(BlockPos pos, BlockState state, int flags, int recursionLeft, CallbackInfoReturnable<Boolean> cir) {
+        if (!cir.getReturnValueZ() || !((Object) this instanceof ServerLevel world)) {
+            return;
+        }
+
+        SimpleDeathBans mod = SimpleDeathBans.getInstance();
+        if (mod == null) return;
+
+        ResurrectionRitualManager ritualManager = mod.getRitualManager();
+        if (ritualManager != null) {
+            ritualManager.getAltarCache().onBlockChanged(world, pos);
+        }
+    }
+}
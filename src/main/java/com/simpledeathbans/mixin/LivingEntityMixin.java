@@ -4,6 +4,8 @@ import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.config.ModConfig;
 import com.simpledeathbans.damage.SoulSeverDamageSource;
 import com.simpledeathbans.data.SoulLinkManager;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.util.EffectBatcher;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffectInstance;
@@ -25,6 +27,8 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -50,6 +54,11 @@ import java.util.UUID;
  * So when TotemSavesPartner=OFF:
  * - Player without totem dies (no totem to save them)
  * - Partner with totem receives soul sever, their totem saves them
+ * 
+ * COVENS (more than one other group member online) follow the same rules:
+ * - TotemSavesPartner=ON: one totem (the player's, else another member's) saves the whole coven
+ * - TotemSavesPartner=OFF: the player lives only with their own totem, the rest of the
+ *   coven receives soul sever and each member is saved only by their own totem
  */
 @Mixin(LivingEntity.class)
 public abstract class LivingEntityMixin {
@@ -65,13 +74,22 @@ public abstract class LivingEntityMixin {
         cancellable = true
     )
     private void onDamageForSoulLink(ServerLevel world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
-        LivingEntity self = (LivingEntity) (Object) this;
-        
-        // Only for server-side players
-        if (!(self instanceof ServerPlayer player)) {
+        // Only for server-side players (not gated on the propagation flag: single-player
+        // ban invulnerability below runs with it off)
+        if (!((Object) this instanceof ServerPlayer player)) {
             return;
         }
         
+        long start = Metric.start();
+        try {
+            handleSoulLinkDamage(player, world, source, amount, cir);
+        } finally {
+            Metric.SOUL_LINK_HURT.record(start);
+        }
+    }
+    
+    @Unique
+    private void handleSoulLinkDamage(ServerPlayer player, ServerLevel world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
         // SINGLE-PLAYER INVULNERABILITY: If player is frozen from a ban, make them invulnerable
         // This prevents mobs from killing them while they wait out their ban timer
         if (world.getServer().isSingleplayer()) {
@@ -126,8 +144,8 @@ public abstract class LivingEntityMixin {
         // SPECIAL CASE: Soul Sever damage (death pact from partner dying)
         // When TotemSavesPartner=OFF and partner died, this player receives soul sever damage.
         // If THIS player has a totem, they should use it to save themselves.
-        // Use both the flag-based check (reliable) and source-based check (fallback)
-        if (SoulSeverDamageSource.isSoulSeverTarget(playerId) || SoulSeverDamageSource.isSoulSever(source)) {
+        // Soul Sever damage is tagged by its damage source type
+        if (SoulSeverDamageSource.isSoulSever(source)) {
             boolean playerHasTotem = hasTotemOfUndying(player);
             
             SimpleDeathBans.LOGGER.info("Soul Link: {} received soul sever damage, hasTotem={}", 
@@ -160,9 +178,20 @@ public abstract class LivingEntityMixin {
             return;
         }
         
-        ServerPlayer partner = soulLinkManager.getPartner(playerId)
-            .map(uuid -> world.getServer().getPlayerList().getPlayer(uuid))
-            .orElse(null);
+        // COVEN: more than one other member online - resolved for the whole group at once
+        List<ServerPlayer> coven = new ArrayList<>();
+        for (ServerPlayer member : SoulLinkManager.getOnlineGroupMembers(player)) {
+            if (member.isAlive()) {
+                coven.add(member);
+            }
+        }
+        if (coven.size() > 1) {
+            handleCovenLethalDamage(player, coven, world, config, cir);
+            return;
+        }
+        
+        // Live partner binding - null if partner offline
+        ServerPlayer partner = SoulLinkManager.getOnlinePartner(player);
         
         if (partner == null || !partner.isAlive()) {
             return; // Partner offline or dead, vanilla behavior
@@ -258,15 +287,9 @@ public abstract class LivingEntityMixin {
                 
                 // KILL THE PARTNER - they have no totem and their soulbound partner took lethal damage
                 ServerLevel partnerWorld = (ServerLevel) partner.level();
-                UUID partnerUuid = partner.getUUID();
-                SoulSeverDamageSource.markSoulSeverTarget(partnerUuid);
                 partnerWorld.getServer().execute(() -> {
-                    try {
-                        DamageSource soulSeverDamage = SoulSeverDamageSource.create(partnerWorld, player);
-                        partner.hurtServer(partnerWorld, soulSeverDamage, Float.MAX_VALUE);
-                    } finally {
-                        SoulSeverDamageSource.clearSoulSeverTarget(partnerUuid);
-                    }
+                    DamageSource soulSeverDamage = SoulSeverDamageSource.create(partnerWorld, player);
+                    partner.hurtServer(partnerWorld, soulSeverDamage, Float.MAX_VALUE);
                 });
                 
                 SimpleDeathBans.LOGGER.info("Soul Link: {} totem saved only themselves (TotemSavesPartner=OFF), killing partner {}", 
@@ -335,6 +358,96 @@ public abstract class LivingEntityMixin {
         }
     }
     
+    /**
+     * Resolve lethal damage to a coven member (see class doc for the rules).
+     */
+    @Unique
+    private void handleCovenLethalDamage(ServerPlayer player, List<ServerPlayer> coven, ServerLevel world,
+                                         ModConfig config, CallbackInfoReturnable<Boolean> cir) {
+        String playerName = player.getName().getString();
+        boolean playerHasTotem = hasTotemOfUndying(player);
+        
+        // Whose totem saves the coven: the player's own, else (TotemSavesPartner=ON) the first holder's
+        ServerPlayer saver = playerHasTotem ? player : null;
+        if (saver == null && config.soulLinkTotemSavesPartner) {
+            for (ServerPlayer member : coven) {
+                if (hasTotemOfUndying(member)) {
+                    saver = member;
+                    break;
+                }
+            }
+        }
+        
+        // Nobody can save the player - everyone will die
+        if (saver == null) {
+            Component voidPullMsg = Component.literal("§k><§r ")
+                .append(Component.literal("Your coven feels the pull from the void!").withStyle(ChatFormatting.DARK_PURPLE))
+                .append(Component.literal(" §k><§r"));
+            player.sendSystemMessage(voidPullMsg);
+            for (ServerPlayer member : coven) {
+                member.sendSystemMessage(voidPullMsg);
+            }
+            
+            SimpleDeathBans.LOGGER.info("Soul Link: {} took lethal damage without a saving totem - coven of {} will die",
+                playerName, coven.size() + 1);
+            return; // Let vanilla handle the death, DeathEventHandler will do death pact
+        }
+        
+        consumeTotem(saver);
+        applyTotemEffects(player, world);
+        String saverName = saver.getName().getString();
+        
+        if (config.soulLinkTotemSavesPartner) {
+            // One totem saves the whole coven
+            for (ServerPlayer member : coven) {
+                applyTotemEffects(member, (ServerLevel) member.level());
+            }
+            
+            Component covenMsg = Component.literal("§k><§r ")
+                .append(Component.literal(saverName).withStyle(ChatFormatting.GOLD))
+                .append(Component.literal(" has saved your coven from the void with their totem!").withStyle(ChatFormatting.DARK_PURPLE))
+                .append(Component.literal(" §k><§r"));
+            player.sendSystemMessage(covenMsg);
+            for (ServerPlayer member : coven) {
+                member.sendSystemMessage(covenMsg);
+            }
+            
+            Component serverMsg = Component.literal("§k><§r ")
+                .append(Component.literal(saverName).withStyle(ChatFormatting.GOLD))
+                .append(Component.literal(" has saved their coven from the grasp of the void!").withStyle(ChatFormatting.DARK_PURPLE))
+                .append(Component.literal(" §k><§r"));
+            world.getServer().getPlayerList().broadcastSystemMessage(serverMsg, false);
+            
+            SimpleDeathBans.LOGGER.info("Soul Link: {} totem saved a coven of {} (TotemSavesPartner=ON)",
+                saverName, coven.size() + 1);
+        } else {
+            // Totem saves ONLY the holder, the rest of the coven receives soul sever
+            Component playerMsg = Component.literal("§k><§r ")
+                .append(Component.literal("Your totem has saved you from the void!").withStyle(ChatFormatting.DARK_PURPLE))
+                .append(Component.literal(" §k><§r"));
+            player.sendSystemMessage(playerMsg);
+            
+            Component serverMsg = Component.literal("§k><§r ")
+                .append(Component.literal(playerName).withStyle(ChatFormatting.GOLD))
+                .append(Component.literal(" has survived the void, but their coven is pulled in!").withStyle(ChatFormatting.DARK_PURPLE))
+                .append(Component.literal(" §k><§r"));
+            world.getServer().getPlayerList().broadcastSystemMessage(serverMsg, false);
+            
+            world.getServer().execute(() -> {
+                for (ServerPlayer member : coven) {
+                    ServerLevel memberWorld = (ServerLevel) member.level();
+                    DamageSource soulSeverDamage = SoulSeverDamageSource.create(memberWorld, player);
+                    member.hurtServer(memberWorld, soulSeverDamage, Float.MAX_VALUE);
+                }
+            });
+            
+            SimpleDeathBans.LOGGER.info("Soul Link: {} totem saved only themselves (TotemSavesPartner=OFF), severing a coven of {}",
+                playerName, coven.size());
+        }
+        
+        cir.setReturnValue(false); // Cancel damage for this player
+    }
+    
     /**
      * Check if player has a Totem of Undying in either hand.
      */
@@ -392,15 +505,7 @@ public abstract class LivingEntityMixin {
         double y = player.getY() + 1.0;
         double z = player.getZ();
         
-        // Spawn particles in a burst pattern
-        for (int i = 0; i < 50; i++) {
-            double offsetX = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double offsetY = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double offsetZ = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            
-            world.sendParticles(ParticleTypes.TOTEM_OF_UNDYING,
-                x + offsetX, y + offsetY, z + offsetZ,
-                1, 0, 0, 0, 0.5);
-        }
+        // One burst: the client scatters the particles around the player
+        EffectBatcher.burst(world, ParticleTypes.TOTEM_OF_UNDYING, x, y, z, 50, 0.5, 0.5, 0.5, 0.5);
     }
 }
@@ -2,6 +2,8 @@ package com.simpledeathbans.mixin;
 
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.metrics.Counter;
+import com.simpledeathbans.metrics.Metric;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.players.PlayerList;
 import net.minecraft.server.players.NameAndId;
@@ -9,6 +11,7 @@ import net.minecraft.network.chat.Component;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -45,6 +48,16 @@ public class PlayerManagerMixin {
      */
     @Inject(method = "canPlayerLogin", at = @At("HEAD"), cancellable = true)
     private void onCheckCanJoin(SocketAddress address, NameAndId configEntry, CallbackInfoReturnable<Component> cir) {
+        long start = Metric.start();
+        try {
+            checkBan(address, configEntry, cir);
+        } finally {
+            Metric.LOGIN_CHECK.record(start);
+        }
+    }
+    
+    @Unique
+    private void checkBan(SocketAddress address, NameAndId configEntry, CallbackInfoReturnable<Component> cir) {
         UUID playerId = configEntry.id();
         
         // CRITICAL: Skip ban enforcement in single-player to prevent world corruption
@@ -74,6 +87,7 @@ public class PlayerManagerMixin {
                 .append(Component.literal("§8Death results in temporary bans.\n"))
                 .append(Component.literal("§8Your ban tier increases with each death."));
             
+            Counter.LOGINS_REJECTED.increment();
             cir.setReturnValue(banMessage);
         }
     }
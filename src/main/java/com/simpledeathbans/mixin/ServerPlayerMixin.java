@@ -0,0 +1,27 @@
+package com.simpledeathbans.mixin;
+
+import com.simpledeathbans.data.SoulGroup;
+import com.simpledeathbans.util.SoulGroupHolder;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Adds the live soul group binding to ServerPlayer (see SoulGroupHolder).
+ */
+@Mixin(ServerPlayer.class)
+public class ServerPlayerMixin implements SoulGroupHolder {
+    
+    @Unique
+    private SoulGroup simpledeathbans$soulGroup;
+    
+    @Override
+    public SoulGroup simpledeathbans$getSoulGroup() {
+        return simpledeathbans$soulGroup;
+    }
+    
+    @Override
+    public void simpledeathbans$setSoulGroup(SoulGroup group) {
+        this.simpledeathbans$soulGroup = group;
+    }
+}
@@ -2,7 +2,11 @@ package com.simpledeathbans.mixin;
 
 import com.simpledeathbans.SimpleDeathBans;
 import com.simpledeathbans.config.ModConfig;
-import com.simpledeathbans.util.DamageShareTracker;
+import com.simpledeathbans.damage.DamagePropagationEngine;
+import com.simpledeathbans.damage.PropagatedDamageSource;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.util.EffectBatcher;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffectInstance;
@@ -60,20 +64,33 @@ public abstract class SharedHealthMixin {
         cancellable = true
     )
     private void onDamageForSharedHealth(ServerLevel world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
-        LivingEntity self = (LivingEntity) (Object) this;
+        // Fast path: no damage propagation active (also covers single-player)
+        if (!DamagePropagationEngine.isActive()) {
+            return;
+        }
         
         // Only for server-side players
-        if (!(self instanceof ServerPlayer player)) {
+        if (!((Object) this instanceof ServerPlayer player)) {
             return;
         }
         
+        long start = Metric.start();
+        try {
+            handleSharedHealthDamage(player, world, source, amount, cir);
+        } finally {
+            Metric.SHARED_HEALTH_HURT.record(start);
+        }
+    }
+    
+    @Unique
+    private void handleSharedHealthDamage(ServerPlayer player, ServerLevel world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
         // Skip in single-player
         if (world.getServer().isSingleplayer()) {
             return;
         }
         
-        // CRITICAL: Prevent recursion - check if we're already processing this player
-        if (DamageShareTracker.isProcessing(player.getUUID())) {
+        // CRITICAL: Prevent recursion - propagated damage (shared / Death Pact) never triggers a Death Pact
+        if (source instanceof PropagatedDamageSource) {
             return;
         }
         
@@ -90,7 +107,7 @@ public abstract class SharedHealthMixin {
         // Check if this damage would be lethal
         float currentHealth = player.getHealth();
         if (amount < currentHealth) {
-            return; // Not lethal, let SharedHealthHandler handle non-lethal sharing
+            return; // Not lethal, let DamagePropagationEngine handle non-lethal sharing
         }
         
         // === LETHAL DAMAGE DETECTED - DEATH PACT ACTIVATED ===
@@ -101,6 +118,9 @@ public abstract class SharedHealthMixin {
             return; // Only one player, vanilla behavior
         }
         
+        FlightEvents.DeathPact pact = new FlightEvents.DeathPact();
+        pact.begin();
+        
         // Find all totem holders
         List<ServerPlayer> totemHolders = new ArrayList<>();
         for (ServerPlayer p : allPlayers) {
@@ -149,6 +169,7 @@ public abstract class SharedHealthMixin {
                 
                 SimpleDeathBans.LOGGER.info("Shared Health: {} totem holder(s) saved all {} players", 
                     totemHolders.size(), allPlayers.size());
+                commitDeathPact(pact, triggerPlayerName, "ALL_SAVED", allPlayers.size(), totemHolders.size(), 0);
                 
                 cir.setReturnValue(false); // Cancel damage
                 return;
@@ -164,27 +185,12 @@ public abstract class SharedHealthMixin {
                 p.sendSystemMessage(voidPullMsg);
             }
             
-            // Mark all players as processing to prevent recursion
-            for (ServerPlayer p : allPlayers) {
-                DamageShareTracker.markProcessing(p.getUUID());
-            }
-            
-            try {
-                // Kill all OTHER players (the original player will die from the damage)
-                for (ServerPlayer p : allPlayers) {
-                    if (!p.getUUID().equals(player.getUUID())) {
-                        p.kill(world); // Death pact - everyone dies
-                    }
-                }
-            } finally {
-                // Clear processing flags
-                for (ServerPlayer p : allPlayers) {
-                    DamageShareTracker.clearProcessing(p.getUUID());
-                }
-            }
+            // Kill all OTHER players (the original player will die from the damage)
+            DamagePropagationEngine.applyDeathPact(allPlayers, player);
             
             SimpleDeathBans.LOGGER.info("Shared Health Death Pact: {} triggered, all {} players die (no totems)", 
                 triggerPlayerName, allPlayers.size());
+            commitDeathPact(pact, triggerPlayerName, "ALL_DIED", allPlayers.size(), 0, allPlayers.size());
             
             // Let the original damage proceed for the triggering player
             return;
@@ -227,27 +233,12 @@ public abstract class SharedHealthMixin {
                 
                 server.getPlayerList().broadcastSystemMessage(serverMsg, false);
                 
-                // Mark players as processing to prevent recursion
-                for (ServerPlayer p : willDie) {
-                    DamageShareTracker.markProcessing(p.getUUID());
-                }
-                
-                try {
-                    // Kill players without totems
-                    for (ServerPlayer p : willDie) {
-                        if (!p.getUUID().equals(player.getUUID())) {
-                            p.kill(world);
-                        }
-                    }
-                } finally {
-                    // Clear processing flags
-                    for (ServerPlayer p : willDie) {
-                        DamageShareTracker.clearProcessing(p.getUUID());
-                    }
-                }
+                // Kill players without totems
+                DamagePropagationEngine.applyDeathPact(willDie, player);
                 
                 SimpleDeathBans.LOGGER.info("Shared Health: {} totem holder(s) survived, {} players died", 
                     totemHolders.size(), willDie.size());
+                commitDeathPact(pact, triggerPlayerName, "HOLDERS_SURVIVED", allPlayers.size(), totemHolders.size(), willDie.size());
                 
                 // If the triggering player had a totem, cancel damage
                 if (hasTotemOfUndying(player) || totemHolders.stream().anyMatch(h -> h.getUUID().equals(player.getUUID()))) {
@@ -266,30 +257,28 @@ public abstract class SharedHealthMixin {
                 p.sendSystemMessage(voidPullMsg);
             }
             
-            // Mark all players as processing to prevent recursion
-            for (ServerPlayer p : allPlayers) {
-                DamageShareTracker.markProcessing(p.getUUID());
-            }
-            
-            try {
-                // Kill all OTHER players
-                for (ServerPlayer p : allPlayers) {
-                    if (!p.getUUID().equals(player.getUUID())) {
-                        p.kill(world);
-                    }
-                }
-            } finally {
-                // Clear processing flags
-                for (ServerPlayer p : allPlayers) {
-                    DamageShareTracker.clearProcessing(p.getUUID());
-                }
-            }
+            // Kill all OTHER players
+            DamagePropagationEngine.applyDeathPact(allPlayers, player);
             
             SimpleDeathBans.LOGGER.info("Shared Health Death Pact: {} triggered, all {} players die (no totems, TotemSavesAll=OFF)", 
                 triggerPlayerName, allPlayers.size());
+            commitDeathPact(pact, triggerPlayerName, "ALL_DIED", allPlayers.size(), 0, allPlayers.size());
         }
     }
     
+    @Unique
+    private static void commitDeathPact(FlightEvents.DeathPact event, String trigger, String outcome,
+                                        int players, int totemHolders, int victims) {
+        if (!event.shouldCommit()) return;
+        event.kind = "SHARED_HEALTH";
+        event.trigger = trigger;
+        event.outcome = outcome;
+        event.players = players;
+        event.totemHolders = totemHolders;
+        event.victims = victims;
+        event.commit();
+    }
+    
     /**
      * Check if player has a Totem of Undying in either hand.
      */
@@ -347,15 +336,7 @@ public abstract class SharedHealthMixin {
         double y = player.getY() + 1.0;
         double z = player.getZ();
         
-        // Spawn particles in a burst pattern
-        for (int i = 0; i < 50; i++) {
-            double offsetX = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double offsetY = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double offsetZ = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            
-            world.sendParticles(ParticleTypes.TOTEM_OF_UNDYING,
-                x + offsetX, y + offsetY, z + offsetZ,
-                1, 0, 0, 0, 0.5);
-        }
+        // One burst: the client scatters the particles around the player
+        EffectBatcher.burst(world, ParticleTypes.TOTEM_OF_UNDYING, x, y, z, 50, 0.5, 0.5, 0.5, 0.5);
     }
 }
@@ -0,0 +1,177 @@
+package com.simpledeathbans.network;
+
+import com.simpledeathbans.config.ModConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Registry of config fields synced by ConfigSyncPayload.
+ *
+ * Each field has a stable wire id (its bit in the payload's field bitset) and converts its
+ * value to and from an int (booleans as 0/1, enums by ordinal). Ids must never be
+ * renumbered or reused - new fields are appended with the next id, and peers that do not
+ * know an id simply skip its value.
+ */
+public final class ConfigField {
+
+    private static final List<ConfigField> BY_ID = new ArrayList<>();
+
+    public static final ConfigField ENABLE_DEATH_BANS = bool(0, "enableDeathBans",
+        c -> c.enableDeathBans, (c, v) -> c.enableDeathBans = v);
+    public static final ConfigField BASE_BAN_MINUTES = integer(1, "baseBanMinutes",
+        c -> c.baseBanMinutes, (c, v) -> c.baseBanMinutes = v);
+    public static final ConfigField BAN_MULTIPLIER_PERCENT = integer(2, "banMultiplierPercent",
+        c -> c.banMultiplierPercent, (c, v) -> c.banMultiplierPercent = v);
+    public static final ConfigField MAX_BAN_TIER = integer(3, "maxBanTier",
+        c -> c.maxBanTier, (c, v) -> c.maxBanTier = v);
+    public static final ConfigField EXPONENTIAL_BAN_MODE = bool(4, "exponentialBanMode",
+        c -> c.exponentialBanMode, (c, v) -> c.exponentialBanMode = v);
+    public static final ConfigField ENABLE_GHOST_ECHO = bool(5, "enableGhostEcho",
+        c -> c.enableGhostEcho, (c, v) -> c.enableGhostEcho = v);
+    public static final ConfigField ENABLE_SOUL_LINK = bool(6, "enableSoulLink",
+        c -> c.enableSoulLink, (c, v) -> c.enableSoulLink = v);
+    public static final ConfigField SOUL_LINK_DAMAGE_SHARE_PERCENT = integer(7, "soulLinkDamageSharePercent",
+        c -> c.soulLinkDamageSharePercent, (c, v) -> c.soulLinkDamageSharePercent = v);
+    public static final ConfigField SOUL_LINK_SHARE_HUNGER = bool(8, "soulLinkShareHunger",
+        c -> c.soulLinkShareHunger, (c, v) -> c.soulLinkShareHunger = v);
+    public static final ConfigField SOUL_LINK_RANDOM_PARTNER = bool(9, "soulLinkRandomPartner",
+        c -> c.soulLinkRandomPartner, (c, v) -> c.soulLinkRandomPartner = v);
+    public static final ConfigField SOUL_LINK_TOTEM_SAVES_PARTNER = bool(10, "soulLinkTotemSavesPartner",
+        c -> c.soulLinkTotemSavesPartner, (c, v) -> c.soulLinkTotemSavesPartner = v);
+    public static final ConfigField SOUL_LINK_SEVER_COOLDOWN_MINUTES = integer(11, "soulLinkSeverCooldownMinutes",
+        c -> c.soulLinkSeverCooldownMinutes, (c, v) -> c.soulLinkSeverCooldownMinutes = v);
+    public static final ConfigField SOUL_LINK_SEVER_BAN_TIER_INCREASE = integer(12, "soulLinkSeverBanTierIncrease",
+        c -> c.soulLinkSeverBanTierIncrease, (c, v) -> c.soulLinkSeverBanTierIncrease = v);
+    public static final ConfigField SOUL_LINK_EX_PARTNER_COOLDOWN_HOURS = integer(13, "soulLinkExPartnerCooldownHours",
+        c -> c.soulLinkExPartnerCooldownHours, (c, v) -> c.soulLinkExPartnerCooldownHours = v);
+    public static final ConfigField SOUL_LINK_RANDOM_REASSIGN_COOLDOWN_HOURS = integer(14, "soulLinkRandomReassignCooldownHours",
+        c -> c.soulLinkRandomReassignCooldownHours, (c, v) -> c.soulLinkRandomReassignCooldownHours = v);
+    public static final ConfigField SOUL_LINK_COMPASS_MAX_USES = integer(15, "soulLinkCompassMaxUses",
+        c -> c.soulLinkCompassMaxUses, (c, v) -> c.soulLinkCompassMaxUses = v);
+    public static final ConfigField SOUL_LINK_COMPASS_COOLDOWN_MINUTES = integer(16, "soulLinkCompassCooldownMinutes",
+        c -> c.soulLinkCompassCooldownMinutes, (c, v) -> c.soulLinkCompassCooldownMinutes = v);
+    public static final ConfigField ENABLE_SHARED_HEALTH = bool(17, "enableSharedHealth",
+        c -> c.enableSharedHealth, (c, v) -> c.enableSharedHealth = v);
+    public static final ConfigField SHARED_HEALTH_DAMAGE_PERCENT = integer(18, "sharedHealthDamagePercent",
+        c -> c.sharedHealthDamagePercent, (c, v) -> c.sharedHealthDamagePercent = v);
+    public static final ConfigField SHARED_HEALTH_SHARE_HUNGER = bool(19, "sharedHealthShareHunger",
+        c -> c.sharedHealthShareHunger, (c, v) -> c.sharedHealthShareHunger = v);
+    public static final ConfigField SHARED_HEALTH_TOTEM_SAVES_ALL = bool(20, "sharedHealthTotemSavesAll",
+        c -> c.sharedHealthTotemSavesAll, (c, v) -> c.sharedHealthTotemSavesAll = v);
+    public static final ConfigField ENABLE_MERCY_COOLDOWN = bool(21, "enableMercyCooldown",
+        c -> c.enableMercyCooldown, (c, v) -> c.enableMercyCooldown = v);
+    public static final ConfigField MERCY_PLAYTIME_HOURS = integer(22, "mercyPlaytimeHours",
+        c -> c.mercyPlaytimeHours, (c, v) -> c.mercyPlaytimeHours = v);
+    public static final ConfigField MERCY_MOVEMENT_BLOCKS = integer(23, "mercyMovementBlocks",
+        c -> c.mercyMovementBlocks, (c, v) -> c.mercyMovementBlocks = v);
+    public static final ConfigField MERCY_BLOCK_INTERACTIONS = integer(24, "mercyBlockInteractions",
+        c -> c.mercyBlockInteractions, (c, v) -> c.mercyBlockInteractions = v);
+    public static final ConfigField MERCY_CHECK_INTERVAL_MINUTES = integer(25, "mercyCheckIntervalMinutes",
+        c -> c.mercyCheckIntervalMinutes, (c, v) -> c.mercyCheckIntervalMinutes = v);
+    public static final ConfigField PVP_BAN_MULTIPLIER_PERCENT = integer(26, "pvpBanMultiplierPercent",
+        c -> c.pvpBanMultiplierPercent, (c, v) -> c.pvpBanMultiplierPercent = v);
+    public static final ConfigField PVE_BAN_MULTIPLIER_PERCENT = integer(27, "pveBanMultiplierPercent",
+        c -> c.pveBanMultiplierPercent, (c, v) -> c.pveBanMultiplierPercent = v);
+    public static final ConfigField ENABLE_RESURRECTION_ALTAR = bool(28, "enableResurrectionAltar",
+        c -> c.enableResurrectionAltar, (c, v) -> c.enableResurrectionAltar = v);
+    public static final ConfigField SINGLE_PLAYER_ENABLED = bool(29, "singlePlayerEnabled",
+        c -> c.singlePlayerEnabled, (c, v) -> c.singlePlayerEnabled = v);
+    public static final ConfigField RESURRECTION_RITUAL_SCOPE = enumeration(30, "resurrectionRitualScope",
+        ModConfig.RitualScope.class, c -> c.resurrectionRitualScope, (c, v) -> c.resurrectionRitualScope = v);
+    public static final ConfigField RESURRECTION_RITUAL_RADIUS = integer(31, "resurrectionRitualRadius",
+        c -> c.resurrectionRitualRadius, (c, v) -> c.resurrectionRitualRadius = v);
+    public static final ConfigField RESURRECTION_QUORUM_PERCENT = integer(32, "resurrectionQuorumPercent",
+        c -> c.resurrectionQuorumPercent, (c, v) -> c.resurrectionQuorumPercent = v);
+    public static final ConfigField RESURRECTION_QUORUM_COUNT = integer(33, "resurrectionQuorumCount",
+        c -> c.resurrectionQuorumCount, (c, v) -> c.resurrectionQuorumCount = v);
+    public static final ConfigField LEADERBOARD_SIDEBAR = enumeration(34, "leaderboardSidebar",
+        ModConfig.LeaderboardSidebar.class, c -> c.leaderboardSidebar, (c, v) -> c.leaderboardSidebar = v);
+    public static final ConfigField LEADERBOARD_SIDEBAR_REFRESH_SECONDS = integer(35, "leaderboardSidebarRefreshSeconds",
+        c -> c.leaderboardSidebarRefreshSeconds, (c, v) -> c.leaderboardSidebarRefreshSeconds = v);
+
+    private final int id;
+    private final String name;
+    private final ToIntFunction<ModConfig> getter;
+    private final ObjIntConsumer<ModConfig> setter;
+
+    private ConfigField(int id, String name, ToIntFunction<ModConfig> getter, ObjIntConsumer<ModConfig> setter) {
+        this.id = id;
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Current value of this field in the given config, as sent on the wire.
+     */
+    public int get(ModConfig config) {
+        return getter.applyAsInt(config);
+    }
+
+    /**
+     * Store a wire value into the given config.
+     */
+    public void set(ModConfig config, int value) {
+        setter.accept(config, value);
+    }
+
+    /**
+     * The field with the given wire id, or null if this version does not know it.
+     */
+    public static ConfigField byId(int id) {
+        return id >= 0 && id < BY_ID.size() ? BY_ID.get(id) : null;
+    }
+
+    /**
+     * All known fields, ordered by id.
+     */
+    public static List<ConfigField> all() {
+        return Collections.unmodifiableList(BY_ID);
+    }
+
+    public static int count() {
+        return BY_ID.size();
+    }
+
+    // === FIELD FACTORIES ===
+
+    private static ConfigField register(ConfigField field) {
+        if (field.id != BY_ID.size()) {
+            throw new IllegalStateException("Config field ids must be sequential: " + field.name);
+        }
+        BY_ID.add(field);
+        return field;
+    }
+
+    private static ConfigField bool(int id, String name, Predicate<ModConfig> getter, BiConsumer<ModConfig, Boolean> setter) {
+        return register(new ConfigField(id, name, c -> getter.test(c) ? 1 : 0, (c, v) -> setter.accept(c, v != 0)));
+    }
+
+    private static ConfigField integer(int id, String name, ToIntFunction<ModConfig> getter, ObjIntConsumer<ModConfig> setter) {
+        return register(new ConfigField(id, name, getter, setter));
+    }
+
+    private static <E extends Enum<E>> ConfigField enumeration(int id, String name, Class<E> type,
+                                                               Function<ModConfig, E> getter, BiConsumer<ModConfig, E> setter) {
+        E[] constants = type.getEnumConstants();
+        return register(new ConfigField(id, name, c -> getter.apply(c).ordinal(), (c, v) -> {
+            // Constants unknown to this version are ignored
+            if (v >= 0 && v < constants.length) setter.accept(c, constants[v]);
+        }));
+    }
+}
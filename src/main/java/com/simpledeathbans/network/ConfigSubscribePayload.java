@@ -0,0 +1,43 @@
+package com.simpledeathbans.network;
+
+import com.simpledeathbans.SimpleDeathBans;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+//? if >=1.21.11 {
+import net.minecraft.resources.Identifier;
+//?} else {
+/*import net.minecraft.resources.ResourceLocation;*/
+//?}
+
+/**
+ * Network payload sent from client to server when a config screen opens.
+ * The client then receives config pushes for a while (see ConfigSyncTracker).
+ */
+public record ConfigSubscribePayload(boolean subscribe) implements CustomPacketPayload {
+
+    //? if >=1.21.11 {
+    public static final Identifier PAYLOAD_ID = Identifier.fromNamespaceAndPath(SimpleDeathBans.MOD_ID, "config_subscribe");
+    //?} else {
+    /*public static final ResourceLocation PAYLOAD_ID = ResourceLocation.fromNamespaceAndPath(SimpleDeathBans.MOD_ID, "config_subscribe");*/
+    //?}
+    public static final Type<ConfigSubscribePayload> ID = new Type<>(PAYLOAD_ID);
+
+    public static final StreamCodec<FriendlyByteBuf, ConfigSubscribePayload> CODEC = StreamCodec.ofMember(
+        ConfigSubscribePayload::write,
+        ConfigSubscribePayload::read
+    );
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeBoolean(subscribe);
+    }
+
+    private static ConfigSubscribePayload read(FriendlyByteBuf buf) {
+        return new ConfigSubscribePayload(buf.readBoolean());
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return ID;
+    }
+}
@@ -1,5 +1,6 @@
 package com.simpledeathbans.network;
 
+import com.simpledeathbans.config.ModConfig;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
@@ -9,127 +10,143 @@ import net.minecraft.resources.Identifier;
 /*import net.minecraft.resources.ResourceLocation;*/
 //?}
 
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
 /**
- * Network payload for syncing config changes from client to server.
+ * Network payload for syncing config changes between client and server.
  * Server will validate operator permissions before applying.
+ *
+ * Wire format (delta-encoded, see ConfigField for the field ids):
+ * - VarLong revision: the server's config revision (server to client), or the revision
+ *   the client's edits are based on (client to server)
+ * - BitSet of the field ids carried
+ * - one VarInt value per set bit, in id order
+ *
+ * Only changed fields are sent. Every value is a VarInt, so fields unknown to the receiver
+ * (added in a newer version) are read and ignored instead of breaking the decode.
  */
-public record ConfigSyncPayload(
-    boolean enableDeathBans,
-    int baseBanMinutes,
-    int banMultiplierPercent,
-    int maxBanTier,
-    boolean exponentialBanMode,
-    boolean enableGhostEcho,
-    boolean enableSoulLink,
-    int soulLinkDamageSharePercent,
-    boolean soulLinkShareHunger,
-    boolean soulLinkRandomPartner,
-    boolean soulLinkTotemSavesPartner,
-    int soulLinkSeverCooldownMinutes,
-    int soulLinkSeverBanTierIncrease,
-    int soulLinkExPartnerCooldownHours,
-    int soulLinkRandomReassignCooldownHours,
-    int soulLinkRandomAssignCheckIntervalMinutes,
-    int soulLinkCompassMaxUses,
-    int soulLinkCompassCooldownMinutes,
-    boolean enableSharedHealth,
-    int sharedHealthDamagePercent,
-    boolean sharedHealthShareHunger,
-    boolean sharedHealthTotemSavesAll,
-    boolean enableMercyCooldown,
-    int mercyPlaytimeHours,
-    int mercyMovementBlocks,
-    int mercyBlockInteractions,
-    int mercyCheckIntervalMinutes,
-    int pvpBanMultiplierPercent,
-    int pveBanMultiplierPercent,
-    boolean enableResurrectionAltar,
-    boolean singlePlayerEnabled
-) implements CustomPacketPayload {
-    
+public record ConfigSyncPayload(long revision, SortedMap<Integer, Integer> values) implements CustomPacketPayload {
+
     //? if >=1.21.11 {
-    public static final CustomPacketPayload.Type<ConfigSyncPayload> ID = 
+    public static final CustomPacketPayload.Type<ConfigSyncPayload> ID =
         new CustomPacketPayload.Type<>(Identifier.fromNamespaceAndPath("simpledeathbans", "config_sync"));
     //?} else {
-    /*public static final CustomPacketPayload.Type<ConfigSyncPayload> ID = 
+    /*public static final CustomPacketPayload.Type<ConfigSyncPayload> ID =
         new CustomPacketPayload.Type<>(ResourceLocation.fromNamespaceAndPath("simpledeathbans", "config_sync"));*/
     //?}
-    
-    public static final StreamCodec<RegistryFriendlyByteBuf, ConfigSyncPayload> CODEC = 
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, ConfigSyncPayload> CODEC =
         new StreamCodec<>() {
             @Override
             public ConfigSyncPayload decode(RegistryFriendlyByteBuf buf) {
-                return new ConfigSyncPayload(
-                    buf.readBoolean(),    // enableDeathBans
-                    buf.readInt(),        // baseBanMinutes
-                    buf.readInt(),        // banMultiplierPercent
-                    buf.readInt(),        // maxBanTier
-                    buf.readBoolean(),    // exponentialBanMode
-                    buf.readBoolean(),    // enableGhostEcho
-                    buf.readBoolean(),    // enableSoulLink
-                    buf.readInt(),        // soulLinkDamageSharePercent
-                    buf.readBoolean(),    // soulLinkShareHunger
-                    buf.readBoolean(),    // soulLinkRandomPartner
-                    buf.readBoolean(),    // soulLinkTotemSavesPartner
-                    buf.readInt(),        // soulLinkSeverCooldownMinutes
-                    buf.readInt(),        // soulLinkSeverBanTierIncrease
-                    buf.readInt(),        // soulLinkExPartnerCooldownHours
-                    buf.readInt(),        // soulLinkRandomReassignCooldownHours
-                    buf.readInt(),        // soulLinkRandomAssignCheckIntervalMinutes
-                    buf.readInt(),        // soulLinkCompassMaxUses
-                    buf.readInt(),        // soulLinkCompassCooldownMinutes
-                    buf.readBoolean(),    // enableSharedHealth
-                    buf.readInt(),        // sharedHealthDamagePercent
-                    buf.readBoolean(),    // sharedHealthShareHunger
-                    buf.readBoolean(),    // sharedHealthTotemSavesAll
-                    buf.readBoolean(),    // enableMercyCooldown
-                    buf.readInt(),        // mercyPlaytimeHours
-                    buf.readInt(),        // mercyMovementBlocks
-                    buf.readInt(),        // mercyBlockInteractions
-                    buf.readInt(),        // mercyCheckIntervalMinutes
-                    buf.readInt(),        // pvpBanMultiplierPercent
-                    buf.readInt(),        // pveBanMultiplierPercent
-                    buf.readBoolean(),    // enableResurrectionAltar
-                    buf.readBoolean()     // singlePlayerEnabled
-                );
+                long revision = buf.readVarLong();
+                BitSet fields = buf.readBitSet();
+                SortedMap<Integer, Integer> values = new TreeMap<>();
+                for (int id = fields.nextSetBit(0); id >= 0; id = fields.nextSetBit(id + 1)) {
+                    values.put(id, buf.readVarInt());
+                }
+                return new ConfigSyncPayload(revision, values);
             }
-            
+
             @Override
             public void encode(RegistryFriendlyByteBuf buf, ConfigSyncPayload payload) {
-                buf.writeBoolean(payload.enableDeathBans);
-                buf.writeInt(payload.baseBanMinutes);
-                buf.writeInt(payload.banMultiplierPercent);
-                buf.writeInt(payload.maxBanTier);
-                buf.writeBoolean(payload.exponentialBanMode);
-                buf.writeBoolean(payload.enableGhostEcho);
-                buf.writeBoolean(payload.enableSoulLink);
-                buf.writeInt(payload.soulLinkDamageSharePercent);
-                buf.writeBoolean(payload.soulLinkShareHunger);
-                buf.writeBoolean(payload.soulLinkRandomPartner);
-                buf.writeBoolean(payload.soulLinkTotemSavesPartner);
-                buf.writeInt(payload.soulLinkSeverCooldownMinutes);
-                buf.writeInt(payload.soulLinkSeverBanTierIncrease);
-                buf.writeInt(payload.soulLinkExPartnerCooldownHours);
-                buf.writeInt(payload.soulLinkRandomReassignCooldownHours);
-                buf.writeInt(payload.soulLinkRandomAssignCheckIntervalMinutes);
-                buf.writeInt(payload.soulLinkCompassMaxUses);
-                buf.writeInt(payload.soulLinkCompassCooldownMinutes);
-                buf.writeBoolean(payload.enableSharedHealth);
-                buf.writeInt(payload.sharedHealthDamagePercent);
-                buf.writeBoolean(payload.sharedHealthShareHunger);
-                buf.writeBoolean(payload.sharedHealthTotemSavesAll);
-                buf.writeBoolean(payload.enableMercyCooldown);
-                buf.writeInt(payload.mercyPlaytimeHours);
-                buf.writeInt(payload.mercyMovementBlocks);
-                buf.writeInt(payload.mercyBlockInteractions);
-                buf.writeInt(payload.mercyCheckIntervalMinutes);
-                buf.writeInt(payload.pvpBanMultiplierPercent);
-                buf.writeInt(payload.pveBanMultiplierPercent);
-                buf.writeBoolean(payload.enableResurrectionAltar);
-                buf.writeBoolean(payload.singlePlayerEnabled);
+                BitSet fields = new BitSet();
+                payload.values.keySet().forEach(fields::set);
+                buf.writeVarLong(payload.revision);
+                buf.writeBitSet(fields);
+                for (int value : payload.values.values()) {
+                    buf.writeVarInt(value);
+                }
             }
         };
-    
+
+    public ConfigSyncPayload {
+        values = Collections.unmodifiableSortedMap(new TreeMap<>(values));
+    }
+
+    /**
+     * Every field of the given config.
+     */
+    public static ConfigSyncPayload full(ModConfig config, long revision) {
+        return changes(config, null, revision);
+    }
+
+    /**
+     * Fields of the given config that differ from a snapshot (all fields if the snapshot is null).
+     */
+    public static ConfigSyncPayload changes(ModConfig config, int[] base, long revision) {
+        SortedMap<Integer, Integer> values = new TreeMap<>();
+        for (ConfigField field : ConfigField.all()) {
+            int value = field.get(config);
+            if (base == null || base[field.id()] != value) {
+                values.put(field.id(), value);
+            }
+        }
+        return new ConfigSyncPayload(revision, values);
+    }
+
+    /**
+     * Wire values of every field, indexed by field id.
+     */
+    public static int[] snapshot(ModConfig config) {
+        int[] snapshot = new int[ConfigField.count()];
+        for (ConfigField field : ConfigField.all()) {
+            snapshot[field.id()] = field.get(config);
+        }
+        return snapshot;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public boolean has(ConfigField field) {
+        return values.containsKey(field.id());
+    }
+
+    /**
+     * Boolean value of a field, or the fallback if the field was not sent.
+     */
+    public boolean getBoolean(ConfigField field, boolean fallback) {
+        Integer value = values.get(field.id());
+        return value != null ? value != 0 : fallback;
+    }
+
+    /**
+     * Store every carried field known to this version into the config, except the skipped ones.
+     * @return the number of fields applied
+     */
+    public int applyTo(ModConfig config, ConfigField... skip) {
+        int applied = 0;
+        for (Map.Entry<Integer, Integer> entry : values.entrySet()) {
+            ConfigField field = ConfigField.byId(entry.getKey());
+            if (field == null || isSkipped(field, skip)) continue;
+            field.set(config, entry.getValue());
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Update a snapshot (see snapshot()) with the values carried by this payload.
+     */
+    public void recordInto(int[] snapshot) {
+        values.forEach((id, value) -> {
+            if (id < snapshot.length) snapshot[id] = value;
+        });
+    }
+
+    private static boolean isSkipped(ConfigField field, ConfigField[] skip) {
+        for (ConfigField skipped : skip) {
+            if (skipped == field) return true;
+        }
+        return false;
+    }
+
     @Override
     public CustomPacketPayload.Type<? extends CustomPacketPayload> type() {
         return ID;
@@ -0,0 +1,142 @@
+package com.simpledeathbans.network;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.config.ModConfig;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side of config sync: a config revision number, bumped on every change, and the
+ * config values each client is known to have.
+ *
+ * Only interested clients receive config pushes: online operators and clients that opened
+ * a config screen recently (ConfigSubscribePayload, valid for SUBSCRIPTION_TICKS). Everyone
+ * else gets nothing - they catch up with a single delta when they subscribe.
+ *
+ * Changes are coalesced: broadcast() only marks the config dirty, and tick() sends each
+ * target one payload with the fields it is missing, at most once per tick. Clients that
+ * are already up to date are skipped. A client's snapshot is dropped when it disconnects,
+ * so the next push it receives is a full one.
+ */
+public class ConfigSyncTracker {
+
+    // How long a config screen subscription lasts without being renewed (10 minutes)
+    private static final long SUBSCRIPTION_TICKS = 10 * 60 * 20;
+
+    private long revision = 0;
+    private boolean dirty = false;
+    private final Map<UUID, int[]> snapshots = new ConcurrentHashMap<>();
+
+    // Subscribed player -> tick the subscription expires
+    private final Map<UUID, Long> subscriptions = new ConcurrentHashMap<>();
+
+    // Players that need a push this tick even if nothing changed (just subscribed)
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * An operator's client sent config changes: after they are applied, that client
+     * already has the values it sent.
+     */
+    public void onClientUpdate(ServerPlayer player, ConfigSyncPayload payload) {
+        if (payload.revision() < revision) {
+            SimpleDeathBans.LOGGER.info("Config update from {} is based on revision {} (current {}) - merging the {} changed field(s)",
+                player.getName().getString(), payload.revision(), revision, payload.values().size());
+        }
+        int[] snapshot = snapshots.get(player.getUUID());
+        if (snapshot != null) {
+            payload.recordInto(snapshot);
+        }
+    }
+
+    /**
+     * A client opened (or closed) a config screen.
+     */
+    public void onSubscribe(ServerPlayer player, boolean subscribe, long now) {
+        if (subscribe) {
+            subscriptions.put(player.getUUID(), now + SUBSCRIPTION_TICKS);
+            pending.add(player.getUUID()); // Bring the screen up to date right away
+        } else {
+            subscriptions.remove(player.getUUID());
+        }
+    }
+
+    /**
+     * The config changed: bump the revision and push it to interested clients on the next tick.
+     */
+    public void broadcast() {
+        revision++;
+        dirty = true;
+    }
+
+    /**
+     * Called every server tick: send coalesced config pushes.
+     */
+    public void tick(MinecraftServer server, ModConfig config) {
+        if (!dirty && pending.isEmpty()) return;
+        long now = server.getTickCount();
+
+        Set<ServerPlayer> targets = new LinkedHashSet<>();
+        if (dirty) {
+            // Operators (few names, looked up directly instead of scanning every player)
+            for (String name : server.getPlayerList().getOps().getUserList()) {
+                ServerPlayer op = server.getPlayerList().getPlayerByName(name);
+                if (op != null) targets.add(op);
+            }
+            // Open config screens
+            subscriptions.entrySet().removeIf(entry -> entry.getValue() <= now);
+            for (UUID playerId : subscriptions.keySet()) {
+                ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+                if (player != null) targets.add(player);
+            }
+        }
+        for (UUID playerId : pending) {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+            if (player != null) targets.add(player);
+        }
+        dirty = false;
+        pending.clear();
+
+        int sent = 0;
+        for (ServerPlayer player : targets) {
+            if (send(player, config)) sent++;
+        }
+        SimpleDeathBans.LOGGER.debug("Config revision {} sent to {} client(s)", revision, sent);
+    }
+
+    /**
+     * Send one client the fields it is missing. Returns false if it was already up to date
+     * or does not have the mod.
+     */
+    private boolean send(ServerPlayer player, ModConfig config) {
+        if (!ServerPlayNetworking.canSend(player, ConfigSyncPayload.ID)) return false;
+
+        int[] snapshot = snapshots.get(player.getUUID());
+        ConfigSyncPayload payload = ConfigSyncPayload.changes(config, snapshot, revision);
+        if (payload.isEmpty()) return false; // Already up to date
+
+        ServerPlayNetworking.send(player, payload);
+        if (snapshot == null) {
+            snapshots.put(player.getUUID(), ConfigSyncPayload.snapshot(config));
+        } else {
+            payload.recordInto(snapshot);
+        }
+        return true;
+    }
+
+    public void onPlayerDisconnect(UUID playerId) {
+        snapshots.remove(playerId);
+        subscriptions.remove(playerId);
+        pending.remove(playerId);
+    }
+}
@@ -0,0 +1,162 @@
+package com.simpledeathbans.ritual;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of Altar of Resurrection validation results, keyed by (dimension, beacon position).
+ *
+ * The first check of a beacon scans its 164-block pyramid; the result (valid or not) is
+ * kept until a block inside the altar footprint changes. Footprints are indexed by chunk
+ * section, so the block-change hook (LevelMixin) only looks at altars registered in the
+ * section of the changed block and returns immediately when no altar is cached at all.
+ */
+public final class AltarCache {
+
+    /**
+     * Identifies an altar by dimension and beacon position.
+     */
+    public record AltarKey(ResourceKey<Level> dimension, BlockPos pos) {}
+
+    /**
+     * Full pyramid scan, run on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Validator {
+        boolean validate(ServerLevel world, BlockPos beaconPos);
+    }
+
+    // Pyramid reach below the beacon and around it (4 layers, bottom layer 9x9)
+    private static final int DEPTH = 4;
+    private static final int RADIUS = 4;
+
+    // Altar -> last validation result
+    private final Map<AltarKey, Boolean> results = new ConcurrentHashMap<>();
+
+    // Dimension -> chunk section -> altars whose footprint touches the section
+    private final Map<ResourceKey<Level>, Map<Long, Set<AltarKey>>> regions = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the beacon at the given position is a valid altar. O(1) unless the altar
+     * has not been checked yet or changed since the last check.
+     */
+    public boolean isValid(ServerLevel world, BlockPos beaconPos, Validator validator) {
+        AltarKey key = new AltarKey(world.dimension(), beaconPos.immutable());
+        Boolean cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean valid = validator.validate(world, beaconPos);
+        if (results.put(key, valid) == null) {
+            register(key);
+        }
+        return valid;
+    }
+
+    /**
+     * Every altar currently known to be valid.
+     */
+    public List<AltarKey> getValidAltars() {
+        List<AltarKey> valid = new ArrayList<>();
+        results.forEach((key, isValid) -> {
+            if (isValid) valid.add(key);
+        });
+        return valid;
+    }
+
+    /**
+     * Block-change hook: drop every cached altar whose footprint contains the changed block.
+     */
+    public void onBlockChanged(ServerLevel world, BlockPos pos) {
+        if (results.isEmpty()) return;
+
+        Map<Long, Set<AltarKey>> sections = regions.get(world.dimension());
+        if (sections == null) return;
+
+        Set<AltarKey> altars = sections.get(sectionKey(pos.getX(), pos.getY(), pos.getZ()));
+        if (altars == null) return;
+
+        for (AltarKey key : altars) {
+            if (contains(key.pos(), pos)) {
+                invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Forget a cached altar.
+     */
+    public void invalidate(AltarKey key) {
+        if (results.remove(key) == null) return;
+
+        Map<Long, Set<AltarKey>> sections = regions.get(key.dimension());
+        if (sections == null) return;
+        forEachSection(key.pos(), section -> {
+            Set<AltarKey> altars = sections.get(section);
+            if (altars != null) {
+                altars.remove(key);
+                if (altars.isEmpty()) {
+                    sections.remove(section);
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        results.clear();
+        regions.clear();
+    }
+
+    // === FOOTPRINT INDEX ===
+
+    private void register(AltarKey key) {
+        Map<Long, Set<AltarKey>> sections = regions.computeIfAbsent(key.dimension(), dimension -> new ConcurrentHashMap<>());
+        forEachSection(key.pos(), section ->
+            sections.computeIfAbsent(section, s -> ConcurrentHashMap.newKeySet()).add(key));
+    }
+
+    private static boolean contains(BlockPos beaconPos, BlockPos pos) {
+        return Math.abs(pos.getX() - beaconPos.getX()) <= RADIUS
+            && Math.abs(pos.getZ() - beaconPos.getZ()) <= RADIUS
+            && pos.getY() <= beaconPos.getY()
+            && pos.getY() >= beaconPos.getY() - DEPTH;
+    }
+
+    private interface SectionVisitor {
+        void visit(long section);
+    }
+
+    /**
+     * Visit each chunk section the footprint of the altar at beaconPos touches (at most 2x2x2).
+     */
+    private static void forEachSection(BlockPos beaconPos, SectionVisitor visitor) {
+        int minX = SectionPos.blockToSectionCoord(beaconPos.getX() - RADIUS);
+        int maxX = SectionPos.blockToSectionCoord(beaconPos.getX() + RADIUS);
+        int minY = SectionPos.blockToSectionCoord(beaconPos.getY() - DEPTH);
+        int maxY = SectionPos.blockToSectionCoord(beaconPos.getY());
+        int minZ = SectionPos.blockToSectionCoord(beaconPos.getZ() - RADIUS);
+        int maxZ = SectionPos.blockToSectionCoord(beaconPos.getZ() + RADIUS);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    visitor.visit(SectionPos.asLong(x, y, z));
+                }
+            }
+        }
+    }
+
+    private static long sectionKey(int blockX, int blockY, int blockZ) {
+        return SectionPos.asLong(SectionPos.blockToSectionCoord(blockX),
+            SectionPos.blockToSectionCoord(blockY), SectionPos.blockToSectionCoord(blockZ));
+    }
+}
@@ -1,13 +1,17 @@
 package com.simpledeathbans.ritual;
 
 import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.audit.AuditLog;
+import com.simpledeathbans.config.ModConfig;
 import com.simpledeathbans.data.BanDataManager;
+import com.simpledeathbans.metrics.FlightEvents;
+import com.simpledeathbans.metrics.Metric;
+import com.simpledeathbans.util.Dimensions;
+import com.simpledeathbans.util.EffectBatcher;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BeaconBlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.entity.EntityType;
-import net.minecraft.world.entity.LightningBolt;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
@@ -28,7 +32,13 @@ import java.util.*;
  * - Fully powered Beacon with complete Netherite base (4 layers, 164 blocks)
  * - Player must be sneaking and holding a Resurrection Totem
  * - Right-click the Beacon to initiate/commit to the ritual
- * - ALL online players must commit for the ritual to succeed
+ * - A quorum of the players in the ritual's scope must commit for the ritual to succeed
+ *   (everyone by default; see resurrectionQuorumPercent / resurrectionQuorumCount)
+ * 
+ * Each altar runs its own ritual, so several rituals can be in progress at once.
+ * Active rituals are kept in a registry indexed by altar and by committed player
+ * (a player can only be committed to one ritual at a time). Timeouts are driven by
+ * the server tick instead of being checked when someone next touches the altar.
  * 
  * Recipe for Resurrection Totem (3x3 shaped):
  * - Row 1: Totem of Undying | Nether Star | Totem of Undying
@@ -39,24 +49,113 @@ public class ResurrectionRitualManager {
     
     private final MinecraftServer server;
     
-    // Active ritual tracking
-    private BlockPos activeRitualBeacon = null;
-    private ServerLevel activeRitualWorld = null;
-    private final Set<UUID> committedPlayers = new HashSet<>();
-    private UUID initiatorUuid = null;
-    private long ritualStartTime = 0;
-    private static final long RITUAL_TIMEOUT_MS = 5 * 60 * 1000; // 5 minutes to complete
+    // Validated altars, invalidated by LevelMixin when a pyramid block changes
+    private final AltarCache altarCache = new AltarCache();
+    
+    // Active rituals by altar, and by every player committed to one
+    private final Map<AltarCache.AltarKey, Ritual> ritualsByAltar = new HashMap<>();
+    private final Map<UUID, Ritual> ritualsByParticipant = new HashMap<>();
+    
+    // Ritual deadlines, earliest first (entries of finished rituals are skipped when they come up)
+    private final PriorityQueue<Ritual> deadlines = new PriorityQueue<>(Comparator.comparingLong(ritual -> ritual.deadlineTick));
+    private static final long RITUAL_TIMEOUT_TICKS = 5 * 60 * 20; // 5 minutes to complete
+    
+    // Progress broadcasts and participant recounts happen at most once per second per ritual
+    private static final long PROGRESS_INTERVAL_TICKS = 20;
+    
+    /**
+     * One ritual in progress at one altar.
+     */
+    private static final class Ritual {
+        final AltarCache.AltarKey altar;
+        final ServerLevel world;
+        final UUID initiatorUuid;
+        final ModConfig.RitualScope scope;
+        final int radius;
+        final String teamName;
+        final long deadlineTick;
+        final Set<UUID> committedPlayers = new LinkedHashSet<>();
+        
+        // Participant count, refreshed at most once per PROGRESS_INTERVAL_TICKS
+        int participantCount;
+        long countedTick = Long.MIN_VALUE;
+        
+        // Commits not yet announced, coalesced into one progress message
+        final List<String> pendingCommits = new ArrayList<>();
+        long lastProgressTick = Long.MIN_VALUE;
+        
+        Ritual(AltarCache.AltarKey altar, ServerLevel world, ServerPlayer initiator,
+               ModConfig.RitualScope scope, int radius, long deadlineTick) {
+            this.altar = altar;
+            this.world = world;
+            this.initiatorUuid = initiator.getUUID();
+            this.scope = scope;
+            this.radius = radius;
+            this.teamName = initiator.getTeam() != null ? initiator.getTeam().getName() : null;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        BlockPos pos() {
+            return altar.pos();
+        }
+        
+        /**
+         * Whether the player is expected to take part in this ritual.
+         */
+        boolean inScope(ServerPlayer player) {
+            if (player.getUUID().equals(initiatorUuid)) return true;
+            return switch (scope) {
+                case ALL -> true;
+                case DIMENSION -> player.level() == world;
+                case NEARBY -> player.level() == world
+                    && player.blockPosition().distSqr(altar.pos()) <= (double) radius * radius;
+                case TEAM -> teamName != null && player.getTeam() != null
+                    && teamName.equals(player.getTeam().getName());
+            };
+        }
+        
+        /**
+         * Online players that must commit for the ritual to complete.
+         */
+        List<ServerPlayer> participants(MinecraftServer server) {
+            List<ServerPlayer> participants = new ArrayList<>();
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                if (committedPlayers.contains(player.getUUID()) || inScope(player)) {
+                    participants.add(player);
+                }
+            }
+            return participants;
+        }
+        
+        int countParticipants(MinecraftServer server) {
+            if (scope == ModConfig.RitualScope.ALL) {
+                return server.getPlayerList().getPlayerCount();
+            }
+            int count = 0;
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                if (committedPlayers.contains(player.getUUID()) || inScope(player)) count++;
+            }
+            return count;
+        }
+    }
     
     public ResurrectionRitualManager(MinecraftServer server) {
         this.server = server;
     }
     
     /**
-     * Checks if there is an active ritual in progress.
+     * Checks if there is an active ritual in progress at any altar.
      * @return true if a ritual has been initiated and is awaiting completion
      */
     public boolean isRitualActive() {
-        return activeRitualBeacon != null;
+        return !ritualsByAltar.isEmpty();
+    }
+    
+    /**
+     * Checks if a ritual is in progress at the given altar.
+     */
+    public boolean isRitualActiveAt(ServerLevel world, BlockPos beaconPos) {
+        return ritualsByAltar.containsKey(new AltarCache.AltarKey(world.dimension(), beaconPos));
     }
     
     /**
@@ -64,7 +163,8 @@ public class ResurrectionRitualManager {
      * @return true if the interaction was handled
      */
     public boolean onBeaconInteract(ServerPlayer player, ServerLevel world, BlockPos beaconPos) {
-        if (!SimpleDeathBans.getInstance().getConfig().enableResurrectionAltar) {
+        ModConfig config = SimpleDeathBans.getInstance().getConfig();
+        if (!config.enableResurrectionAltar) {
             player.sendSystemMessage(Component.literal("Resurrection rituals are disabled on this server.")
                 .withStyle(ChatFormatting.RED));
             return false;
@@ -87,67 +187,74 @@ public class ResurrectionRitualManager {
         
         // Check for banned players to resurrect
         BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
-        if (banManager == null || banManager.getAllBannedPlayers().isEmpty()) {
+        if (banManager == null || !banManager.hasActiveBans()) {
             player.sendSystemMessage(Component.literal("§eThere are no banned souls to resurrect.")
                 .withStyle(ChatFormatting.YELLOW));
             return false;
         }
         
-        // Check if there's an active ritual at a different location
-        if (activeRitualBeacon != null && (!beaconPos.equals(activeRitualBeacon) || world != activeRitualWorld)) {
-            player.sendSystemMessage(Component.literal("§cA ritual is already in progress at another altar!")
+        AltarCache.AltarKey altar = new AltarCache.AltarKey(world.dimension(), beaconPos.immutable());
+        
+        // A player can only be committed to one ritual at a time
+        Ritual current = ritualsByParticipant.get(player.getUUID());
+        if (current != null && !current.altar.equals(altar)) {
+            player.sendSystemMessage(Component.literal("§cYou are already committed to a ritual at another altar!")
                 .withStyle(ChatFormatting.RED));
             return false;
         }
         
-        // Check for ritual timeout
-        if (activeRitualBeacon != null && System.currentTimeMillis() - ritualStartTime > RITUAL_TIMEOUT_MS) {
-            cancelRitual("§c✦ The Resurrection Ritual has timed out. ✦");
-        }
-        
-        // If no active ritual, start one
-        if (activeRitualBeacon == null) {
-            return initiateRitual(player, world, beaconPos);
+        // If no active ritual at this altar, start one
+        Ritual ritual = ritualsByAltar.get(altar);
+        if (ritual == null) {
+            return initiateRitual(player, world, altar, config);
         }
         
         // If ritual is active, process commitment
-        return commitToRitual(player, world, beaconPos);
+        return commitToRitual(ritual, player);
     }
     
     /**
-     * Initiates a new resurrection ritual.
+     * Initiates a new resurrection ritual at the given altar.
      */
-    private boolean initiateRitual(ServerPlayer initiator, ServerLevel world, BlockPos beaconPos) {
-        activeRitualBeacon = beaconPos;
-        activeRitualWorld = world;
-        committedPlayers.clear();
-        committedPlayers.add(initiator.getUUID());
-        initiatorUuid = initiator.getUUID();
-        ritualStartTime = System.currentTimeMillis();
-        
-        int totalPlayers = server.getPlayerList().getPlayers().size();
+    private boolean initiateRitual(ServerPlayer initiator, ServerLevel world, AltarCache.AltarKey altar, ModConfig config) {
+        Ritual ritual = new Ritual(altar, world, initiator, config.resurrectionRitualScope,
+            config.resurrectionRitualRadius, server.getTickCount() + RITUAL_TIMEOUT_TICKS);
+        ritual.committedPlayers.add(initiator.getUUID());
+        ritualsByAltar.put(altar, ritual);
+        ritualsByParticipant.put(initiator.getUUID(), ritual);
+        deadlines.add(ritual);
+        
+        long now = server.getTickCount();
+        List<ServerPlayer> participants = ritual.participants(server);
+        ritual.participantCount = participants.size();
+        ritual.countedTick = now;
+        ritual.lastProgressTick = now;
+        int required = requiredCommits(ritual.participantCount, config);
         
         // Play dramatic sound
-        world.playSound(null, beaconPos, SoundEvents.BEACON_ACTIVATE, SoundSource.BLOCKS, 1.0f, 0.5f);
+        world.playSound(null, ritual.pos(), SoundEvents.BEACON_ACTIVATE, SoundSource.BLOCKS, 1.0f, 0.5f);
         
-        // Broadcast initiation message
+        // Announce initiation to everyone taking part
         String message = String.format("§d§l✦ %s has initiated the Altar of Resurrection! ✦", 
             initiator.getName().getString());
-        server.getPlayerList().broadcastSystemMessage(Component.literal(message), false);
+        sendToParticipants(participants, Component.literal(message));
         
-        String progressMessage = String.format("§e[%d/%d] players have committed. All players must commit to finalize.",
-            committedPlayers.size(), totalPlayers);
-        server.getPlayerList().broadcastSystemMessage(Component.literal(progressMessage), false);
+        String progressMessage = required >= participants.size()
+            ? String.format("§e[%d/%d] players have committed. All players must commit to finalize.",
+                ritual.committedPlayers.size(), required)
+            : String.format("§e[%d/%d] players have committed. %d of %d players must commit to finalize.",
+                ritual.committedPlayers.size(), required, required, participants.size());
+        sendToParticipants(participants, Component.literal(progressMessage));
         
-        server.getPlayerList().broadcastSystemMessage(Component.literal("§7(Sneak + right-click the beacon with a Resurrection Totem to commit)")
-            .withStyle(ChatFormatting.GRAY), false);
+        sendToParticipants(participants, Component.literal("§7(Sneak + right-click the beacon with a Resurrection Totem to commit)")
+            .withStyle(ChatFormatting.GRAY));
         
-        SimpleDeathBans.LOGGER.info("Resurrection ritual initiated by {} at {}", 
-            initiator.getName().getString(), beaconPos);
+        SimpleDeathBans.LOGGER.info("Resurrection ritual initiated by {} at {} ({} scope, {} participants)", 
+            initiator.getName().getString(), ritual.pos(), ritual.scope, participants.size());
         
-        // Check if single player (ritual completes immediately)
-        if (totalPlayers == 1) {
-            return completeRitual(world, beaconPos);
+        // Check if the initiator alone meets the quorum (ritual completes immediately)
+        if (ritual.committedPlayers.size() >= required) {
+            return completeRitual(ritual);
         }
         
         return true;
@@ -156,59 +263,111 @@ public class ResurrectionRitualManager {
     /**
      * Processes a player committing to an active ritual.
      */
-    private boolean commitToRitual(ServerPlayer player, ServerLevel world, BlockPos beaconPos) {
+    private boolean commitToRitual(Ritual ritual, ServerPlayer player) {
         UUID playerId = player.getUUID();
         
         // Check if already committed
-        if (committedPlayers.contains(playerId)) {
+        if (ritual.committedPlayers.contains(playerId)) {
             player.sendSystemMessage(Component.literal("§eYou have already committed to this ritual.")
                 .withStyle(ChatFormatting.YELLOW));
             return false;
         }
         
-        // Add commitment
-        committedPlayers.add(playerId);
+        // Only players within the ritual's scope can take part
+        if (!ritual.inScope(player)) {
+            player.sendSystemMessage(Component.literal("§cThis ritual is beyond your reach.")
+                .withStyle(ChatFormatting.RED));
+            return false;
+        }
         
-        int totalPlayers = server.getPlayerList().getPlayers().size();
+        // Add commitment
+        ritual.committedPlayers.add(playerId);
+        ritualsByParticipant.put(playerId, ritual);
+        ritual.pendingCommits.add(player.getName().getString());
         
         // Play commitment sound
-        world.playSound(null, beaconPos, SoundEvents.BEACON_POWER_SELECT, SoundSource.BLOCKS, 1.0f, 1.2f);
-        
-        // Broadcast progress
-        String progressMessage = String.format("§a%s has committed to the ritual! §e[%d/%d]",
-            player.getName().getString(), committedPlayers.size(), totalPlayers);
-        server.getPlayerList().broadcastSystemMessage(Component.literal(progressMessage), false);
-        
-        SimpleDeathBans.LOGGER.info("Player {} committed to ritual ({}/{})", 
-            player.getName().getString(), committedPlayers.size(), totalPlayers);
+        ritual.world.playSound(null, ritual.pos(), SoundEvents.BEACON_POWER_SELECT, SoundSource.BLOCKS, 1.0f, 1.2f);
         
         // Check if ritual can complete
-        if (committedPlayers.size() >= totalPlayers) {
-            return completeRitual(world, beaconPos);
+        long now = server.getTickCount();
+        if (quorumReached(ritual, now)) {
+            return completeRitual(ritual);
+        }
+        
+        // Announce progress now, or coalesce it into the next tick-driven update
+        if (now - ritual.lastProgressTick >= PROGRESS_INTERVAL_TICKS) {
+            flushProgress(ritual, now);
         }
         
         return true;
     }
     
+    /**
+     * Commitments needed out of the given number of participants.
+     */
+    private static int requiredCommits(int participants, ModConfig config) {
+        if (config.resurrectionQuorumCount > 0) {
+            return Math.max(1, Math.min(config.resurrectionQuorumCount, participants));
+        }
+        return Math.max(1, (participants * config.resurrectionQuorumPercent + 99) / 100);
+    }
+    
+    private int requiredCommits(Ritual ritual, long now) {
+        if (now - ritual.countedTick >= PROGRESS_INTERVAL_TICKS) {
+            ritual.participantCount = ritual.countParticipants(server);
+            ritual.countedTick = now;
+        }
+        return requiredCommits(ritual.participantCount, SimpleDeathBans.getInstance().getConfig());
+    }
+    
+    private boolean quorumReached(Ritual ritual, long now) {
+        return ritual.committedPlayers.size() >= requiredCommits(ritual, now);
+    }
+    
+    /**
+     * Sends one progress message covering every commit since the last one.
+     */
+    private void flushProgress(Ritual ritual, long now) {
+        List<String> names = ritual.pendingCommits;
+        if (names.isEmpty()) return;
+        
+        int committed = ritual.committedPlayers.size();
+        int required = requiredCommits(ritual, now);
+        String progressMessage = names.size() == 1
+            ? String.format("§a%s has committed to the ritual! §e[%d/%d]", names.get(0), committed, required)
+            : String.format("§a%s and %d others have committed to the ritual! §e[%d/%d]",
+                names.get(names.size() - 1), names.size() - 1, committed, required);
+        sendToParticipants(ritual.participants(server), Component.literal(progressMessage));
+        
+        SimpleDeathBans.LOGGER.info("{} player(s) committed to ritual at {} ({}/{})", 
+            names.size(), ritual.pos(), committed, required);
+        
+        names.clear();
+        ritual.lastProgressTick = now;
+    }
+    
     /**
      * Completes the ritual and resurrects a random banned player.
      */
-    private boolean completeRitual(ServerLevel world, BlockPos beaconPos) {
+    private boolean completeRitual(Ritual ritual) {
         BanDataManager banManager = SimpleDeathBans.getInstance().getBanDataManager();
         if (banManager == null) {
-            cancelRitual("§cRitual failed: Unable to access ban data.");
+            cancelRitual(ritual, "§cRitual failed: Unable to access ban data.");
             return false;
         }
         
         // Get a random banned player
         BanDataManager.BanEntry bannedPlayer = banManager.getRandomBannedPlayer();
         if (bannedPlayer == null) {
-            cancelRitual("§cRitual failed: No banned players found.");
+            cancelRitual(ritual, "§cRitual failed: No banned players found.");
             return false;
         }
         
+        ServerLevel world = ritual.world;
+        BlockPos beaconPos = ritual.pos();
+        
         // Consume ONE totem from the initiator only (the player who started the ritual)
-        ServerPlayer initiator = server.getPlayerList().getPlayer(initiatorUuid);
+        ServerPlayer initiator = server.getPlayerList().getPlayer(ritual.initiatorUuid);
         if (initiator != null) {
             // Find and consume the totem from their hand
             if (initiator.getMainHandItem().is(com.simpledeathbans.item.ModItems.RESURRECTION_TOTEM)) {
@@ -219,7 +378,7 @@ public class ResurrectionRitualManager {
         }
         
         // Play Totem of Undying activation effects on all committed players
-        for (UUID playerId : committedPlayers) {
+        for (UUID playerId : ritual.committedPlayers) {
             ServerPlayer player = server.getPlayerList().getPlayer(playerId);
             if (player != null) {
                 // Play visual effect on each player
@@ -254,52 +413,150 @@ public class ResurrectionRitualManager {
         server.getPlayerList().broadcastSystemMessage(Component.literal("§d§l════════════════════════════════"), false);
         server.getPlayerList().broadcastSystemMessage(Component.literal(""), false);
         
-        SimpleDeathBans.LOGGER.info("Resurrection ritual completed! {} has been resurrected.", bannedPlayer.playerName());
+        SimpleDeathBans.LOGGER.info("Resurrection ritual at {} completed! {} has been resurrected.", beaconPos, bannedPlayer.playerName());
+        auditRitual(ritual, "completed", null)
+            .with("resurrected_uuid", bannedPlayer.playerId())
+            .with("resurrected", bannedPlayer.playerName())
+            .with("tier", bannedPlayer.banTier())
+            .submit();
         
-        // Reset ritual state
-        resetRitual();
+        // Remove the ritual from the registry
+        removeRitual(ritual);
         
         return true;
     }
     
     /**
-     * Cancels the current ritual with a message.
+     * Cancels every active ritual with a message.
      */
     public void cancelRitual(String reason) {
-        if (activeRitualBeacon != null) {
-            server.getPlayerList().broadcastSystemMessage(Component.literal(reason), false);
-            SimpleDeathBans.LOGGER.info("Resurrection ritual cancelled: {}", reason);
+        for (Ritual ritual : new ArrayList<>(ritualsByAltar.values())) {
+            cancelRitual(ritual, reason);
         }
-        resetRitual();
     }
     
     /**
-     * Resets all ritual state.
+     * Cancels one ritual, telling everyone who was taking part.
      */
-    private void resetRitual() {
-        activeRitualBeacon = null;
-        activeRitualWorld = null;
-        committedPlayers.clear();
-        initiatorUuid = null;
-        ritualStartTime = 0;
+    private void cancelRitual(Ritual ritual, String reason) {
+        if (ritualsByAltar.get(ritual.altar) == ritual) {
+            sendToParticipants(ritual.participants(server), Component.literal(reason));
+            SimpleDeathBans.LOGGER.info("Resurrection ritual at {} cancelled: {}", ritual.pos(), reason);
+            auditRitual(ritual, "cancelled", reason).submit();
+        }
+        removeRitual(ritual);
+    }
+    
+    private AuditLog.Entry auditRitual(Ritual ritual, String result, String reason) {
+        BlockPos pos = ritual.pos();
+        return AuditLog.event("ritual")
+            .with("result", result)
+            .with("reason", reason != null ? ChatFormatting.stripFormatting(reason) : null)
+            .with("dimension", Dimensions.id(ritual.world.dimension()))
+            .with("x", pos.getX())
+            .with("y", pos.getY())
+            .with("z", pos.getZ())
+            .with("initiator", ritual.initiatorUuid)
+            .with("scope", ritual.scope)
+            .with("committed", ritual.committedPlayers);
     }
     
     /**
-     * Called when a player disconnects - may cancel ritual if they were committed.
+     * Removes a ritual from the registry. Its deadline entry is dropped lazily by tick().
+     */
+    private void removeRitual(Ritual ritual) {
+        ritualsByAltar.remove(ritual.altar, ritual);
+        for (UUID playerId : ritual.committedPlayers) {
+            ritualsByParticipant.remove(playerId, ritual);
+        }
+    }
+    
+    /**
+     * Called every server tick: times out rituals whose deadline has passed, sends
+     * coalesced progress updates, and completes rituals whose quorum was reached
+     * because participants left.
+     */
+    public void tick(MinecraftServer server) {
+        long now = server.getTickCount();
+        while (!deadlines.isEmpty() && deadlines.peek().deadlineTick <= now) {
+            Ritual ritual = deadlines.poll();
+            if (ritualsByAltar.get(ritual.altar) == ritual) {
+                cancelRitual(ritual, "§c✦ The Resurrection Ritual has timed out. ✦");
+            }
+        }
+        
+        if (ritualsByAltar.isEmpty()) return;
+        for (Ritual ritual : new ArrayList<>(ritualsByAltar.values())) {
+            if (now - ritual.lastProgressTick < PROGRESS_INTERVAL_TICKS) continue;
+            if (quorumReached(ritual, now)) {
+                completeRitual(ritual);
+            } else {
+                flushProgress(ritual, now);
+            }
+        }
+    }
+    
+    /**
+     * Called when a player disconnects - cancels the ritual they were committed to.
      */
     public void onPlayerDisconnect(UUID playerId) {
-        if (activeRitualBeacon != null && committedPlayers.contains(playerId)) {
+        Ritual ritual = ritualsByParticipant.get(playerId);
+        if (ritual != null) {
             ServerPlayer player = server.getPlayerList().getPlayer(playerId);
             String playerName = player != null ? player.getName().getString() : "A player";
-            cancelRitual(String.format("§c✦ %s disconnected. The ritual has been cancelled. ✦", playerName));
+            cancelRitual(ritual, String.format("§c✦ %s disconnected. The ritual has been cancelled. ✦", playerName));
+        }
+    }
+    
+    private static void sendToParticipants(List<ServerPlayer> participants, Component message) {
+        for (ServerPlayer player : participants) {
+            player.sendSystemMessage(message);
         }
     }
     
+    public AltarCache getAltarCache() {
+        return altarCache;
+    }
+    
     /**
      * Checks if the beacon at the given position is fully powered with a netherite base.
-     * A fully powered beacon requires 4 layers: 3×3, 5×5, 7×7, 9×9 = 164 blocks total.
+     * Served from the altar cache; the pyramid is only scanned on a miss.
      */
     public boolean isFullyPoweredNetheriteBeacon(ServerLevel world, BlockPos beaconPos) {
+        FlightEvents.AltarValidation event = new FlightEvents.AltarValidation();
+        event.begin();
+        long start = Metric.start();
+        boolean valid = false;
+        try {
+            valid = altarCache.isValid(world, beaconPos, ResurrectionRitualManager::scanNetheriteBeacon);
+            return valid;
+        } finally {
+            Metric.ALTAR_CHECK.record(start);
+            if (event.shouldCommit()) {
+                event.dimension = Dimensions.id(world.dimension());
+                event.x = beaconPos.getX();
+                event.y = beaconPos.getY();
+                event.z = beaconPos.getZ();
+                event.valid = valid;
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Scans the pyramid below a beacon.
+     * A fully powered beacon requires 4 layers: 3×3, 5×5, 7×7, 9×9 = 164 blocks total.
+     */
+    private static boolean scanNetheriteBeacon(ServerLevel world, BlockPos beaconPos) {
+        long start = Metric.start();
+        try {
+            return scanPyramid(world, beaconPos);
+        } finally {
+            Metric.ALTAR_SCAN.record(start);
+        }
+    }
+    
+    private static boolean scanPyramid(ServerLevel world, BlockPos beaconPos) {
         // First check if beacon block entity exists and has max level
         BlockEntity blockEntity = world.getBlockEntity(beaconPos);
         if (!(blockEntity instanceof BeaconBlockEntity beacon)) {
@@ -354,17 +611,11 @@ public class ResurrectionRitualManager {
     }
     
     /**
-     * Spawns a cosmetic lightning bolt at the given position.
+     * Queues a cosmetic lightning bolt at the given position.
      */
     private void spawnLightning(ServerLevel world, BlockPos pos) {
-        //? if >=26.2 {
-        LightningBolt lightning = new LightningBolt(net.minecraft.world.entity.EntityTypes.LIGHTNING_BOLT, world);
-        //?} else {
-        /*LightningBolt lightning = new LightningBolt(EntityType.LIGHTNING_BOLT, world);*/
-        //?}
-        lightning.setPos(Vec3.atBottomCenterOf(pos));
-        lightning.setVisualOnly(true); // Won't cause fire or damage
-        world.addFreshEntity(lightning);
+        Vec3 center = Vec3.atBottomCenterOf(pos);
+        EffectBatcher.lightning(world, center.x, center.y, center.z);
     }
     
     /**
@@ -377,51 +628,32 @@ public class ResurrectionRitualManager {
         double y = player.getY() + 1.0; // Center on player body
         double z = player.getZ();
         
-        // Spawn many totem particles in a burst around the player
+        // One burst each: the client scatters the particles around the player
         // TOTEM_OF_UNDYING particles create the golden swirl effect
-        for (int i = 0; i < 100; i++) {
-            double offsetX = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double offsetY = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double offsetZ = (world.getRandom().nextDouble() - 0.5) * 2.0;
-            double velocityX = (world.getRandom().nextDouble() - 0.5) * 0.5;
-            double velocityY = world.getRandom().nextDouble() * 0.5;
-            double velocityZ = (world.getRandom().nextDouble() - 0.5) * 0.5;
-            
-            world.sendParticles(ParticleTypes.TOTEM_OF_UNDYING, 
-                x + offsetX, y + offsetY, z + offsetZ, 
-                1, velocityX, velocityY, velocityZ, 0.5);
-        }
+        EffectBatcher.burst(world, ParticleTypes.TOTEM_OF_UNDYING, x, y, z, 100, 0.5, 0.5, 0.5, 0.5);
         
         // Also spawn some enchant particles for extra effect
-        for (int i = 0; i < 30; i++) {
-            double offsetX = (world.getRandom().nextDouble() - 0.5) * 1.5;
-            double offsetY = world.getRandom().nextDouble() * 2.0;
-            double offsetZ = (world.getRandom().nextDouble() - 0.5) * 1.5;
-            
-            world.sendParticles(ParticleTypes.ENCHANT, 
-                x + offsetX, y + offsetY, z + offsetZ, 
-                1, 0, 0.1, 0, 0.5);
-        }
+        EffectBatcher.burst(world, ParticleTypes.ENCHANT, x, y + 1.0, z, 30, 0.4, 0.5, 0.4, 0.5);
     }
     
     /**
-     * Checks if there's an active ritual.
+     * Checks if there's an active ritual at any altar.
      */
     public boolean hasActiveRitual() {
-        return activeRitualBeacon != null;
+        return !ritualsByAltar.isEmpty();
     }
     
     /**
-     * Gets the number of committed players.
+     * Gets the number of players committed across all active rituals.
      */
     public int getCommittedCount() {
-        return committedPlayers.size();
+        return ritualsByParticipant.size();
     }
     
     // Legacy method for backwards compatibility - now delegates to beacon check
+    // (the beacon block is part of the cached footprint, so this is a cache read too)
     public boolean isValidAltar(ServerLevel world, BlockPos pos) {
-        return world.getBlockState(pos).getBlock() == Blocks.BEACON 
-            && isFullyPoweredNetheriteBeacon(world, pos);
+        return isFullyPoweredNetheriteBeacon(world, pos);
     }
     
     // Legacy method - now uses consensus system
@@ -0,0 +1,36 @@
+package com.simpledeathbans.util;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * Version-independent access to dimension ids (ResourceKey.location() was renamed to
+ * identifier() in 1.21.11).
+ */
+public final class Dimensions {
+
+    private Dimensions() {
+    }
+
+    /**
+     * The full id of a dimension, e.g. "minecraft:the_nether".
+     */
+    public static String id(ResourceKey<Level> dimension) {
+        //? if >=1.21.11 {
+        return dimension.identifier().toString();
+        //?} else {
+        /*return dimension.location().toString();*/
+        //?}
+    }
+
+    /**
+     * The path of a dimension id, e.g. "the_nether".
+     */
+    public static String path(ResourceKey<Level> dimension) {
+        //? if >=1.21.11 {
+        return dimension.identifier().getPath();
+        //?} else {
+        /*return dimension.location().getPath();*/
+        //?}
+    }
+}
@@ -0,0 +1,138 @@
+package com.simpledeathbans.util;
+
+import com.simpledeathbans.SimpleDeathBans;
+import com.simpledeathbans.metrics.Counter;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LightningBolt;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Batches cosmetic effects (particle bursts and visual-only lightning) and emits them
+ * once per server tick.
+ *
+ * - A particle burst is a single sendParticles call using count and spread, so the
+ *   client scatters the particles itself (one packet per viewer instead of one per particle).
+ * - Bursts of the same particle at the same block are merged into one larger burst.
+ * - Lightning at the same block is spawned once.
+ * - Each tick emits at most PARTICLE_BUDGET particles and LIGHTNING_BUDGET bolts; anything
+ *   over budget is dropped, since these effects are purely cosmetic.
+ *
+ * Only call from the server thread. flush() is driven by END_SERVER_TICK.
+ */
+public final class EffectBatcher {
+
+    // Per-tick caps so mass events (coven deaths, big rituals) cannot flood the network
+    private static final int PARTICLE_BUDGET = 2048;
+    private static final int LIGHTNING_BUDGET = 16;
+
+    // Largest single merged burst
+    private static final int MAX_BURST_COUNT = 512;
+
+    private record BurstKey(ServerLevel world, ParticleOptions particle, BlockPos pos) {}
+
+    private static final class Burst {
+        final double x, y, z;
+        final double spreadX, spreadY, spreadZ;
+        final double speed;
+        int count;
+
+        Burst(double x, double y, double z, int count, double spreadX, double spreadY, double spreadZ, double speed) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.count = count;
+            this.spreadX = spreadX;
+            this.spreadY = spreadY;
+            this.spreadZ = spreadZ;
+            this.speed = speed;
+        }
+    }
+
+    private record LightningKey(ServerLevel world, BlockPos pos) {}
+
+    private static final Map<BurstKey, Burst> bursts = new LinkedHashMap<>();
+    private static final Map<LightningKey, Vec3> lightning = new LinkedHashMap<>();
+
+    private EffectBatcher() {
+    }
+
+    /**
+     * Queue a burst of particles centered on (x, y, z). spread is the standard deviation of
+     * each particle's offset per axis, speed the particle speed.
+     */
+    public static void burst(ServerLevel world, ParticleOptions particle, double x, double y, double z,
+                             int count, double spreadX, double spreadY, double spreadZ, double speed) {
+        if (count <= 0) return;
+        BurstKey key = new BurstKey(world, particle, BlockPos.containing(x, y, z));
+        Burst existing = bursts.get(key);
+        if (existing != null) {
+            existing.count = Math.min(MAX_BURST_COUNT, existing.count + count);
+        } else {
+            bursts.put(key, new Burst(x, y, z, Math.min(MAX_BURST_COUNT, count), spreadX, spreadY, spreadZ, speed));
+        }
+    }
+
+    /**
+     * Queue a visual-only lightning bolt (no damage, no fire) at the given position.
+     */
+    public static void lightning(ServerLevel world, double x, double y, double z) {
+        lightning.putIfAbsent(new LightningKey(world, BlockPos.containing(x, y, z)), new Vec3(x, y, z));
+    }
+
+    /**
+     * Emit queued effects within this tick's budget and drop the rest.
+     */
+    public static void flush(MinecraftServer server) {
+        if (bursts.isEmpty() && lightning.isEmpty()) return;
+
+        int particleBudget = PARTICLE_BUDGET;
+        int dropped = 0;
+        for (Iterator<Map.Entry<BurstKey, Burst>> it = bursts.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<BurstKey, Burst> entry = it.next();
+            it.remove();
+            Burst burst = entry.getValue();
+            int count = Math.min(burst.count, particleBudget);
+            dropped += burst.count - count;
+            if (count == 0) continue;
+            particleBudget -= count;
+            entry.getKey().world().sendParticles(entry.getKey().particle(), burst.x, burst.y, burst.z,
+                count, burst.spreadX, burst.spreadY, burst.spreadZ, burst.speed);
+        }
+
+        int lightningBudget = LIGHTNING_BUDGET;
+        for (Iterator<Map.Entry<LightningKey, Vec3>> it = lightning.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<LightningKey, Vec3> entry = it.next();
+            it.remove();
+            if (lightningBudget == 0) {
+                dropped++;
+                continue;
+            }
+            lightningBudget--;
+            spawnLightning(entry.getKey().world(), entry.getValue());
+        }
+
+        if (dropped > 0) {
+            Counter.EFFECTS_DROPPED.add(dropped);
+            SimpleDeathBans.LOGGER.debug("Effect budget reached, dropped {} cosmetic effects this tick", dropped);
+        }
+    }
+
+    private static void spawnLightning(ServerLevel world, Vec3 pos) {
+        //? if >=26.2 {
+        LightningBolt bolt = new LightningBolt(net.minecraft.world.entity.EntityTypes.LIGHTNING_BOLT, world);
+        //?} else {
+        /*LightningBolt bolt = new LightningBolt(EntityType.LIGHTNING_BOLT, world);*/
+        //?}
+        bolt.setPos(pos);
+        bolt.setVisualOnly(true); // Won't cause fire or damage
+        world.addFreshEntity(bolt);
+    }
+}
@@ -0,0 +1,191 @@
+package com.simpledeathbans.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted skip list where every link also stores how many entries it skips, so positions
+ * are as cheap to find as values:
+ *
+ * - insert / remove: O(log n)
+ * - range(fromRank, count): O(log n + count), e.g. one page of a listing
+ * - rankOf / countBefore: O(log n)
+ *
+ * Entries are ordered (and matched on remove) by the comparator, which must be consistent
+ * with the entries' identity (e.g. break ties by UUID). Not thread-safe.
+ */
+public final class RankedSkipList<T> {
+
+    private static final int MAX_LEVEL = 32;
+    private static final float LEVEL_PROBABILITY = 0.25f;
+
+    private static final class Node<T> {
+        final T value;
+        final Node<T>[] next;
+        // span[i]: number of entries advanced by following next[i]
+        final int[] span;
+
+        @SuppressWarnings("unchecked")
+        Node(T value, int levels) {
+            this.value = value;
+            this.next = (Node<T>[]) new Node[levels];
+            this.span = new int[levels];
+        }
+    }
+
+    private final Comparator<? super T> order;
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private int level = 1;
+    private int size = 0;
+
+    public RankedSkipList(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(T value) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] update = (Node<T>[]) new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node<T> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && order.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int levels = randomLevel();
+        if (levels > level) {
+            for (int i = level; i < levels; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = levels;
+        }
+
+        Node<T> node = new Node<>(value, levels);
+        for (int i = 0; i < levels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        // Links above the new node now skip one more entry
+        for (int i = levels; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Remove the entry that compares equal to the given value.
+     */
+    public boolean remove(T value) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] update = (Node<T>[]) new Node[MAX_LEVEL];
+        Node<T> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && order.compare(x.next[i].value, value) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node<T> target = x.next[0];
+        if (target == null || order.compare(target.value, value) != 0) return false;
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Number of entries that sort strictly before the given value (which need not be in
+     * the list). Useful as a range bound with a probe value.
+     */
+    public int countBefore(T value) {
+        int rank = 0;
+        Node<T> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && order.compare(x.next[i].value, value) < 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * 1-based rank of the entry equal to the given value, or 0 if it is not in the list.
+     */
+    public int rankOf(T value) {
+        int rank = 0;
+        Node<T> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && order.compare(x.next[i].value, value) <= 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && order.compare(x.value, value) == 0) return rank;
+        }
+        return 0;
+    }
+
+    /**
+     * Up to count entries starting at the given 0-based rank.
+     */
+    public List<T> range(int fromRank, int count) {
+        List<T> values = new ArrayList<>(Math.max(0, Math.min(count, size - fromRank)));
+        if (fromRank < 0 || fromRank >= size || count <= 0) return values;
+
+        // Walk down to the node at 1-based rank fromRank + 1
+        int traversed = 0;
+        Node<T> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= fromRank + 1) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        for (; x != null && values.size() < count; x = x.next[0]) {
+            values.add(x.value);
+        }
+        return values;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    private static int randomLevel() {
+        int levels = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (levels < MAX_LEVEL && random.nextFloat() < LEVEL_PROBABILITY) {
+            levels++;
+        }
+        return levels;
+    }
+}
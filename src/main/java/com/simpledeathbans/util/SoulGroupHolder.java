@@ -0,0 +1,18 @@
+package com.simpledeathbans.util;
+
+import com.simpledeathbans.data.SoulGroup;
+
+/**
+ * Live soul group binding stored directly on each online ServerPlayer.
+ * Implemented by ServerPlayerMixin and maintained by SoulLinkManager on join, leave,
+ * respawn, link and sever, so hot paths reach the player's group with a single field read.
+ */
+public interface SoulGroupHolder {
+    
+    /**
+     * The soul group of this player, or null if unlinked.
+     */
+    SoulGroup simpledeathbans$getSoulGroup();
+    
+    void simpledeathbans$setSoulGroup(SoulGroup group);
+}
@@ -1,6 +1,7 @@
 plugins {
     id("dev.kikugie.stonecutter")
     id("fabric-loom") version "1.15.5" apply false
+    id("me.champeau.jmh") version "0.7.3" apply false
 }
 
 stonecutter active "26.2" /* [SC] DO NOT EDIT */